@@ -33,13 +33,19 @@ import static org.burningwave.core.assembler.StaticComponentContainer.Paths;
 import static org.burningwave.core.assembler.StaticComponentContainer.Streams;
 
 import java.lang.invoke.MethodHandle;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -48,6 +54,7 @@ import org.burningwave.core.io.FileSystemItem;
 import org.burningwave.core.io.IterableZipContainer;
 
 public class Cache implements Component {
+	public final UniqueContents uniqueContents;
 	public final PathForResources<ByteBuffer> pathForContents;
 	public final PathForResources<FileSystemItem> pathForFileSystemItems;
 	public final PathForResources<IterableZipContainer> pathForZipFiles;
@@ -58,10 +65,12 @@ public class Cache implements Component {
 	public final PathForResources<Field> uniqueKeyForField;
 	public final PathForResources<Collection<Method>> uniqueKeyForMethods;
 	public final ObjectForObject<Method, MethodHandle> uniqueKeyForMethodHandle;
+	public final ObjectForNames<ClassLoader> classLoaderForNotFoundClassNames;
 	
 	private Cache() {
 		logInfo("Building cache");
-		pathForContents = new PathForResources<>(1L, Streams::shareContent);
+		uniqueContents = new UniqueContents();
+		pathForContents = new PathForResources<>(1L, Streams::shareContent, uniqueContents::share);
 		pathForFileSystemItems = new PathForResources<>(1L, fileSystemItem -> fileSystemItem);
 		pathForZipFiles = new PathForResources<>(1L, zipFileContainer -> zipFileContainer);
 		classLoaderForFields = new ObjectAndPathForResources<>(1L, fields -> fields);
@@ -71,6 +80,7 @@ public class Cache implements Component {
 		uniqueKeyForField = new PathForResources<>(1L, field -> field);
 		uniqueKeyForMethods = new PathForResources<>(1L, methods -> methods);
 		uniqueKeyForMethodHandle = new ObjectForObject<>();
+		classLoaderForNotFoundClassNames = new ObjectForNames<>(4096);
 	}
 	
 	public static Cache create() {
@@ -158,13 +168,21 @@ public class Cache implements Component {
 	public static class PathForResources<R> implements Component  {
 
 		Map<Long, Map<String, Map<String, R>>> resources;	
+		Map<String, Object> locksForPaths;
 		Long partitionStartLevel;
 		Function<R, R> sharer;
+		Function<R, R> deduplicator;
 		
 		private PathForResources(Long partitionStartLevel, Function<R, R> sharer) {
+			this(partitionStartLevel, sharer, resource -> resource);
+		}
+		
+		private PathForResources(Long partitionStartLevel, Function<R, R> sharer, Function<R, R> deduplicator) {
 			this.partitionStartLevel = partitionStartLevel;
 			this.sharer = sharer;
-			resources = new HashMap<>();
+			this.deduplicator = deduplicator;
+			resources = new ConcurrentHashMap<>();
+			locksForPaths = new ConcurrentHashMap<>();
 		}
 		
 		Map<String, R> retrievePartition(Map<String, Map<String, R>> partion, Long partitionIndex, String path) {
@@ -173,27 +191,20 @@ public class Cache implements Component {
 				partitionKey = path.substring(0, path.lastIndexOf("/"));
 				partitionKey = partitionKey.substring(partitionKey.lastIndexOf("/") + 1);
 			}
-			Map<String, R> innerPartion = partion.get(partitionKey);
-			if (innerPartion == null) {
-				synchronized (Classes.getId(partion, partitionKey)) {
-					innerPartion = partion.get(partitionKey);
-					if (innerPartion == null) {
-						partion.put(partitionKey, innerPartion = new ConcurrentHashMap<>());
-					}
-				}
-			}
-			return innerPartion;
+			return partion.computeIfAbsent(partitionKey, key -> new ConcurrentHashMap<>());
 		}
 		
+		//The supplier is called under a lock of the path and not of the partition because it can upload the resources of other
+		//paths: so the resource of a path is created only once and no resource is built and then discarded
 		R getOrUploadIfAbsent(Map<String, R> loadedResources, String path, Supplier<R> resourceSupplier) {
 			R resource = loadedResources.get(path);
-			if (resource == null) {
-				synchronized (Classes.getId(loadedResources, path)) {
+			if (resource == null && resourceSupplier != null) {
+				synchronized (getLockFor(path)) {
 					resource = loadedResources.get(path);
-					if (resource == null && resourceSupplier != null) {
+					if (resource == null) {
 						resource = resourceSupplier.get();
 						if (resource != null) {
-							loadedResources.put(path, resource = sharer.apply(resource));
+							loadedResources.put(path, resource = deduplicator.apply(sharer.apply(resource)));
 						}
 					}
 				}
@@ -205,11 +216,11 @@ public class Cache implements Component {
 		
 		public R upload(Map<String, R> loadedResources, String path, Supplier<R> resourceSupplier) {
 			R resource = null;
-			synchronized (Classes.getId(loadedResources,path)) {
-				if (resourceSupplier != null) {
+			if (resourceSupplier != null) {
+				synchronized (getLockFor(path)) {
 					resource = resourceSupplier.get();
 					if (resource != null) {
-						loadedResources.put(path, resource = sharer.apply(resource));
+						loadedResources.put(path, resource = deduplicator.apply(sharer.apply(resource)));
 					}
 				}
 			}
@@ -218,17 +229,14 @@ public class Cache implements Component {
 				resource;
 		}
 		
+		//The locks are kept until the cache is cleared, so that a thread waiting on a lock can never run together with one that
+		//has created a new lock for the same path
+		Object getLockFor(String path) {
+			return locksForPaths.computeIfAbsent(path, key -> new Object());
+		}
+		
 		Map<String, Map<String, R>> retrievePartition(Map<Long, Map<String, Map<String, R>>> resourcesPartitioned, Long partitionIndex) {
-			Map<String, Map<String, R>> resources = resourcesPartitioned.get(partitionIndex);
-			if (resources == null) {
-				synchronized (Classes.getId(resourcesPartitioned, partitionIndex)) {
-					resources = resourcesPartitioned.get(partitionIndex);
-					if (resources == null) {
-						resourcesPartitioned.put(partitionIndex, resources = new ConcurrentHashMap<>());
-					}
-				}
-			}
-			return resources;
+			return resourcesPartitioned.computeIfAbsent(partitionIndex, key -> new ConcurrentHashMap<>());
 		}
 		
 		public R upload(String path, Supplier<R> resourceSupplier) {
@@ -259,7 +267,9 @@ public class Cache implements Component {
 			Long partitionIndex = occurences > partitionStartLevel? occurences : partitionStartLevel;
 			Map<String, Map<String, R>> partion = retrievePartition(resources, partitionIndex);
 			Map<String, R> nestedPartition = retrievePartition(partion, partitionIndex, path);
-			return nestedPartition.remove(path);
+			synchronized (getLockFor(path)) {
+				return nestedPartition.remove(path);
+			}
 		}
 		
 		public int getLoadedResourcesCount() {
@@ -278,10 +288,197 @@ public class Cache implements Component {
 		
 		public void clear() {
 			resources.clear();
+			locksForPaths.clear();
+		}
+	}
+	
+	//Names not found for an object: a name that becomes available is removed for all the objects, so also for the children of the
+	//object that defines it, while the other names are kept. The names are versioned by stripes of their hash, so that a name that
+	//becomes available while it is being searched is not added
+	public static class ObjectForNames<T> implements Component {
+		private final static int STRIPES_COUNT = 64;
+		private Map<T, Map<String, Boolean>> resources;
+		private long[] versionsOfStripes;
+		private Object[] stripes;
+		private int maxNamesForObject;
+		
+		public ObjectForNames(int maxNamesForObject) {
+			this.resources = Collections.synchronizedMap(new WeakHashMap<>());
+			this.versionsOfStripes = new long[STRIPES_COUNT];
+			this.stripes = new Object[STRIPES_COUNT];
+			for (int i = 0; i < stripes.length; i++) {
+				stripes[i] = new Object();
+			}
+			this.maxNamesForObject = maxNamesForObject;
+		}
+		
+		private int getStripeIndex(String name) {
+			int hash = name.hashCode();
+			return (hash ^ (hash >>> 16)) & (STRIPES_COUNT - 1);
+		}
+		
+		//Must be called before searching the name, so that a name that becomes available concurrently to the search is not added
+		public long getVersion(String name) {
+			int stripeIndex = getStripeIndex(name);
+			synchronized (stripes[stripeIndex]) {
+				return versionsOfStripes[stripeIndex];
+			}
+		}
+		
+		public void invalidate(String name) {
+			int stripeIndex = getStripeIndex(name);
+			synchronized (stripes[stripeIndex]) {
+				versionsOfStripes[stripeIndex]++;
+				Collection<Map<String, Boolean>> namesOfObjects;
+				synchronized (resources) {
+					namesOfObjects = new ArrayList<>(resources.values());
+				}
+				for (Map<String, Boolean> names : namesOfObjects) {
+					synchronized (names) {
+						names.remove(name);
+					}
+				}
+			}
+		}
+		
+		public boolean contains(T object, String name) {
+			Map<String, Boolean> names = resources.get(object);
+			if (names != null) {
+				synchronized (names) {
+					return names.get(name) != null;
+				}
+			}
+			return false;
+		}
+		
+		public void add(T object, String name, long version) {
+			int stripeIndex = getStripeIndex(name);
+			synchronized (stripes[stripeIndex]) {
+				if (versionsOfStripes[stripeIndex] != version) {
+					return;
+				}
+				Map<String, Boolean> names;
+				synchronized (resources) {
+					names = resources.get(object);
+					if (names == null) {
+						names = new LinkedHashMap<String, Boolean>(16, 0.75f, true) {
+							private static final long serialVersionUID = 4206513632012356307L;
+
+							@Override
+							protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+								return size() > maxNamesForObject;
+							}
+						};
+						resources.put(object, names);
+					}
+				}
+				synchronized (names) {
+					names.put(name, Boolean.TRUE);
+				}
+			}
+		}
+		
+		public Map<String, Boolean> remove(T object) {
+			return resources.remove(object);
+		}
+		
+		public void clear() {
+			resources.clear();
+		}
+	}
+	
+	public static class UniqueContents implements Component {
+		//The contents are distributed by hash among several independently locked stripes, so that threads sharing
+		//different contents don't contend for the same monitor
+		private final static int STRIPES_COUNT = 16;
+		private Stripe[] stripes;
+		
+		private UniqueContents() {
+			this.stripes = new Stripe[STRIPES_COUNT];
+			for (int i = 0; i < stripes.length; i++) {
+				stripes[i] = new Stripe();
+			}
+		}
+		
+		private Stripe getStripe(long hash) {
+			return stripes[(int)(hash ^ (hash >>> 32)) & (STRIPES_COUNT - 1)];
+		}
+		
+		//Returns the still reachable buffer previously shared with the same content or, if absent, the one passed as parameter
+		public ByteBuffer share(ByteBuffer content) {
+			ByteBuffer candidate = Streams.shareContent(content);
+			Long hash = Streams.computeHash(candidate);
+			Stripe stripe = getStripe(hash);
+			synchronized (stripe) {
+				stripe.removeReleasedContents();
+				Collection<ContentReference> contentsWithSameHash = stripe.contents.computeIfAbsent(hash, key -> new ArrayList<>(1));
+				for (ContentReference contentReference : contentsWithSameHash) {
+					ByteBuffer sharedContent = contentReference.get();
+					if (sharedContent != null && Streams.shareContent(sharedContent).equals(candidate)) {
+						return sharedContent;
+					}
+				}
+				contentsWithSameHash.add(new ContentReference(hash, content, stripe.releasedContents));
+				return content;
+			}
+		}
+		
+		public int getSharedContentsCount() {
+			int count = 0;
+			for (Stripe stripe : stripes) {
+				synchronized (stripe) {
+					stripe.removeReleasedContents();
+					for (Collection<ContentReference> contentsWithSameHash : stripe.contents.values()) {
+						count += contentsWithSameHash.size();
+					}
+				}
+			}
+			return count;
+		}
+		
+		public void clear() {
+			for (Stripe stripe : stripes) {
+				synchronized (stripe) {
+					stripe.contents.clear();
+				}
+			}
+		}
+		
+		private static class Stripe {
+			private final Map<Long, Collection<ContentReference>> contents;
+			private final ReferenceQueue<ByteBuffer> releasedContents;
+			
+			private Stripe() {
+				this.contents = new HashMap<>();
+				this.releasedContents = new ReferenceQueue<>();
+			}
+			
+			private void removeReleasedContents() {
+				ContentReference contentReference;
+				while ((contentReference = (ContentReference)releasedContents.poll()) != null) {
+					Collection<ContentReference> contentsWithSameHash = contents.get(contentReference.hash);
+					if (contentsWithSameHash != null) {
+						contentsWithSameHash.remove(contentReference);
+						if (contentsWithSameHash.isEmpty()) {
+							contents.remove(contentReference.hash);
+						}
+					}
+				}
+			}
+		}
+		
+		private static class ContentReference extends WeakReference<ByteBuffer> {
+			private final Long hash;
+			
+			private ContentReference(Long hash, ByteBuffer content, ReferenceQueue<ByteBuffer> queue) {
+				super(content, queue);
+				this.hash = hash;
+			}
 		}
 	}
 	
 	public void clear() {
+		uniqueContents.clear();
 		pathForContents.clear();
 		pathForFileSystemItems.clear();
 		pathForZipFiles.clear();
@@ -292,6 +489,7 @@ public class Cache implements Component {
 		uniqueKeyForField.clear();
 		uniqueKeyForMethods.clear();
 		uniqueKeyForMethodHandle.clear();
+		classLoaderForNotFoundClassNames.clear();
 	}
 	
 	@Override
@@ -44,11 +44,13 @@ import java.util.stream.Collectors;
 
 import org.burningwave.core.Component;
 import org.burningwave.core.classes.ByteCodeHunter;
+import org.burningwave.core.classes.CacheRetentionPolicy;
 import org.burningwave.core.classes.ClassFactory;
 import org.burningwave.core.classes.ClassHunter;
 import org.burningwave.core.classes.ClassPathHunter;
 import org.burningwave.core.classes.FunctionalInterfaceFactory;
 import org.burningwave.core.classes.JavaMemoryCompiler;
+import org.burningwave.core.classes.SharedClassIndex;
 import org.burningwave.core.classes.SourceCodeHandler;
 import org.burningwave.core.concurrent.ConcurrentHelper;
 import org.burningwave.core.io.FileScanConfigAbst;
@@ -233,7 +235,7 @@ public class ComponentContainer implements ComponentSupplier {
 	@Override
 	public ClassHunter getClassHunter() {
 		return getOrCreate(ClassHunter.class, () -> {
-			return ClassHunter.create(
+			ClassHunter classHunter = ClassHunter.create(
 				() -> getByteCodeHunter(),
 				() -> getClassHunter(),
 				getFileSystemScanner(),
@@ -244,32 +246,40 @@ public class ComponentContainer implements ComponentSupplier {
 					FileScanConfigAbst.CHECK_FILE_OPTIONS_DEFAULT_VALUE
 				)
 			);
+			classHunter.useSharedClassIndex(retrieveSharedClassIndex());
+			classHunter.setCacheRetentionPolicy(CacheRetentionPolicy.create(ClassHunter.CACHE_RETENTION_POLICY_CONFIG_KEY_PREFIX, this::getConfigProperty));
+			return classHunter;
 		});
 	}
 
 	
 	@Override
 	public ClassPathHunter getClassPathHunter() {
-		return getOrCreate(ClassPathHunter.class, () -> 
-			ClassPathHunter.create(
+		return getOrCreate(ClassPathHunter.class, () -> {
+			ClassPathHunter classPathHunter = ClassPathHunter.create(
 				() -> getByteCodeHunter(),
 				() -> getClassHunter(),
 				getFileSystemScanner(),
 				getPathHelper()
-			)
-		);
+			);
+			classPathHunter.setCacheRetentionPolicy(CacheRetentionPolicy.create(ClassPathHunter.CACHE_RETENTION_POLICY_CONFIG_KEY_PREFIX, this::getConfigProperty));
+			return classPathHunter;
+		});
 	}
 	
 	@Override
 	public ByteCodeHunter getByteCodeHunter() {
-		return getOrCreate(ByteCodeHunter.class, () -> 
-			ByteCodeHunter.create(
+		return getOrCreate(ByteCodeHunter.class, () -> {
+			ByteCodeHunter byteCodeHunter = ByteCodeHunter.create(
 				() -> getByteCodeHunter(),
 				() -> getClassHunter(),
 				getFileSystemScanner(),
 				getPathHelper()
-			)
-		);
+			);
+			byteCodeHunter.useSharedClassIndex(retrieveSharedClassIndex());
+			byteCodeHunter.setCacheRetentionPolicy(CacheRetentionPolicy.create(ByteCodeHunter.CACHE_RETENTION_POLICY_CONFIG_KEY_PREFIX, this::getConfigProperty));
+			return byteCodeHunter;
+		});
 	}
 
 	@Override
@@ -341,6 +351,15 @@ public class ComponentContainer implements ComponentSupplier {
 		);
 	}
 	
+	//The shared class index is used only if its directory has been configured
+	private SharedClassIndex retrieveSharedClassIndex() {
+		String directory = getConfigProperty(SharedClassIndex.DIRECTORY_CONFIG_KEY);
+		if (directory == null || directory.trim().isEmpty()) {
+			return null;
+		}
+		return getOrCreate(SharedClassIndex.class, () -> SharedClassIndex.create(directory.trim()));
+	}
+	
 	private ClassLoader retrieveClassLoader(String configKey, Map<String, String> defaultValues) {
 		Object object = config.get(configKey);
 		if (object instanceof ClassLoader) {
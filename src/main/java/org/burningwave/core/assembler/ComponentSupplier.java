@@ -33,6 +33,7 @@ import java.util.function.Supplier;
 import org.burningwave.core.Component;
 import org.burningwave.core.classes.ByteCodeHunter;
 import org.burningwave.core.classes.ClassFactory;
+import org.burningwave.core.classes.ClassHierarchy;
 import org.burningwave.core.classes.ClassHunter;
 import org.burningwave.core.classes.ClassPathHunter;
 import org.burningwave.core.classes.FunctionalInterfaceFactory;
@@ -65,6 +66,14 @@ public interface ComponentSupplier extends Component {
 	public SourceCodeHandler getSourceCodeHandler();
 	
 	public ClassHunter getClassHunter();
+	
+	public default ClassHierarchy getClassHierarchy() {
+		return getOrCreate(ClassHierarchy.class, () ->
+			ClassHierarchy.create(
+				() -> getByteCodeHunter()
+			)
+		);
+	}
 
 	public ClassPathHunter getClassPathHunter();
 	
@@ -88,6 +97,7 @@ public interface ComponentSupplier extends Component {
 	
 	public default void clearCache() {
 		clearHuntersCache();
+		getJavaMemoryCompiler().clearCache();
 	}
 	
 }
\ No newline at end of file
@@ -37,6 +37,7 @@ import org.burningwave.core.io.FileSystemScanner.Scan;
 import org.burningwave.core.io.PathHelper;
 
 public class ByteCodeHunter extends ClassPathScannerWithCachingSupport<JavaClass, SearchContext<JavaClass>, ByteCodeHunter.SearchResult> {
+	public final static String CACHE_RETENTION_POLICY_CONFIG_KEY_PREFIX = "byte-code-hunter.cache";
 	
 	private ByteCodeHunter(
 		Supplier<ByteCodeHunter> byteCodeHunterSupplier,
@@ -74,11 +75,24 @@ public class ByteCodeHunter extends ClassPathScannerWithCachingSupport<JavaClass
 	
 	@Override
 	<S extends SearchConfigAbst<S>> ClassCriteria.TestContext testCachedItem(SearchContext<JavaClass> context, String path, String key, JavaClass javaClass) {
+		if (context.getSearchConfig().isExcludedByClassHierarchy(javaClass.getName())) {
+			return context.getSearchConfig().getClassCriteria().testAndReturnFalseIfNullOrFalseByDefault(null);
+		}
 		return context.getSearchConfig().getClassCriteria().hasNoPredicate() ?
 			context.getSearchConfig().getClassCriteria().testAndReturnTrueIfNullOrTrueByDefault(null) :				
 			super.testCriteria(context, javaClass);
 	}
 	
+	@Override
+	boolean supportsSharedClassIndex() {
+		return true;
+	}
+	
+	@Override
+	Map<String, JavaClass> toCachedItems(SearchContext<JavaClass> context, Map<String, JavaClass> javaClasses) {
+		return javaClasses;
+	}
+	
 	@Override
 	void retrieveItemFromFileInputStream(
 		SearchContext<JavaClass> context, 
@@ -0,0 +1,126 @@
+/*
+ * This file is part of Burningwave Core.
+ *
+ * Author: Roberto Gentili
+ *
+ * Hosted at: https://github.com/burningwave/core
+ *
+ * --
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Roberto Gentili
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO
+ * EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.burningwave.core.classes;
+
+import java.lang.ref.Reference;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.function.Function;
+
+
+//Bounds of the cache of the hunters: the paths evicted from the cache are scanned again when searched
+public class CacheRetentionPolicy {
+	public final static String MAX_PATHS_CONFIG_KEY_SUFFIX = ".max-paths";
+	public final static String MAX_ITEMS_CONFIG_KEY_SUFFIX = ".max-items";
+	public final static String TIME_TO_IDLE_CONFIG_KEY_SUFFIX = ".time-to-idle";
+	public final static String VALUES_REFERENCE_CONFIG_KEY_SUFFIX = ".values-reference";
+	
+	public static enum ValuesReference {
+		STRONG, SOFT, WEAK;
+	}
+	
+	int maxPaths;
+	long maxItems;
+	long timeToIdle;
+	ValuesReference valuesReference;
+	
+	private CacheRetentionPolicy() {
+		valuesReference = ValuesReference.STRONG;
+	}
+	
+	public static CacheRetentionPolicy create() {
+		return new CacheRetentionPolicy();
+	}
+	
+	//Returns null if none of the properties with the prefix has been set
+	public static CacheRetentionPolicy create(String configKeyPrefix, Function<String, String> configPropertySupplier) {
+		String maxPaths = configPropertySupplier.apply(configKeyPrefix + MAX_PATHS_CONFIG_KEY_SUFFIX);
+		String maxItems = configPropertySupplier.apply(configKeyPrefix + MAX_ITEMS_CONFIG_KEY_SUFFIX);
+		String timeToIdle = configPropertySupplier.apply(configKeyPrefix + TIME_TO_IDLE_CONFIG_KEY_SUFFIX);
+		String valuesReference = configPropertySupplier.apply(configKeyPrefix + VALUES_REFERENCE_CONFIG_KEY_SUFFIX);
+		if (maxPaths == null && maxItems == null && timeToIdle == null && valuesReference == null) {
+			return null;
+		}
+		CacheRetentionPolicy retentionPolicy = create();
+		if (maxPaths != null) {
+			retentionPolicy.maxPaths(Integer.valueOf(maxPaths.trim()));
+		}
+		if (maxItems != null) {
+			retentionPolicy.maxItems(Long.valueOf(maxItems.trim()));
+		}
+		if (timeToIdle != null) {
+			retentionPolicy.timeToIdle(Long.valueOf(timeToIdle.trim()));
+		}
+		if (valuesReference != null) {
+			retentionPolicy.valuesReference(ValuesReference.valueOf(valuesReference.trim().toUpperCase()));
+		}
+		return retentionPolicy;
+	}
+	
+	//A value less than or equal to zero means no limit
+	public CacheRetentionPolicy maxPaths(int value) {
+		this.maxPaths = value;
+		return this;
+	}
+	
+	//The path that exceeds the limit on its own is kept until another path is cached
+	public CacheRetentionPolicy maxItems(long value) {
+		this.maxItems = value;
+		return this;
+	}
+	
+	//Milliseconds after the last access: a value less than or equal to zero means no limit
+	public CacheRetentionPolicy timeToIdle(long value) {
+		this.timeToIdle = value;
+		return this;
+	}
+	
+	public CacheRetentionPolicy valuesReference(ValuesReference valuesReference) {
+		this.valuesReference = valuesReference;
+		return this;
+	}
+	
+	public CacheRetentionPolicy softValues() {
+		return valuesReference(ValuesReference.SOFT);
+	}
+	
+	public CacheRetentionPolicy weakValues() {
+		return valuesReference(ValuesReference.WEAK);
+	}
+	
+	<T> Reference<T> createReference(T value) {
+		return valuesReference == ValuesReference.WEAK ?
+			new WeakReference<>(value) :
+			new SoftReference<>(value);
+	}
+	
+	boolean isIdle(long lastAccessTime, long currentTime) {
+		return timeToIdle > 0 && currentTime - lastAccessTime > timeToIdle;
+	}
+}
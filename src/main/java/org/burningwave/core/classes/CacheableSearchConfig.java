@@ -31,6 +31,7 @@ package org.burningwave.core.classes;
 import java.util.Collection;
 
 public class CacheableSearchConfig extends SearchConfigAbst<CacheableSearchConfig> {
+	Object resultKey;
 	
 	@SafeVarargs
 	CacheableSearchConfig(Collection<String>... pathsColl) {
@@ -40,9 +41,21 @@ public class CacheableSearchConfig extends SearchConfigAbst<CacheableSearchConfi
 	@Override
 	public CacheableSearchConfig createCopy() {
 		CacheableSearchConfig copy = super.createCopy();
+		copy.resultKey = this.resultKey;
 		return copy;
 	}
 	
+	//The result of the searches with the same key on the same paths is cached until one of the paths is scanned again:
+	//the key must identify the criteria
+	public CacheableSearchConfig cacheResultBy(Object key) {
+		this.resultKey = key;
+		return this;
+	}
+	
+	Object getResultKey() {
+		return resultKey;
+	}
+	
 	public SearchConfig withoutUsingCache() {
 		return copyTo(SearchConfig.withoutUsingCache());
 	}
@@ -38,7 +38,6 @@ import java.lang.reflect.Member;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiPredicate;
 import java.util.function.Function;
@@ -47,12 +46,13 @@ import java.util.stream.Collectors;
 
 import org.burningwave.core.Component;
 import org.burningwave.core.Criteria;
-import org.burningwave.core.function.PentaPredicate;
+import org.burningwave.core.function.QuadPredicate;
 
 @SuppressWarnings("unchecked")
 public class ClassCriteria extends CriteriaWithClassElementsSupplyingSupport<Class<?>, ClassCriteria, ClassCriteria.TestContext> implements Component {
-	Map<String, MemberCriteria<?, ?, ?>> memberCriterias;
-	PentaPredicate<ClassCriteria, TestContext, MemberCriteria<?, ?, ?>, String, Class<?>> membersPredicate;
+	//The member criterias passed to byMembers, which are the keys of the members found, mapped to the copies used by this criteria
+	Map<MemberCriteria<?, ?, ?>, MemberCriteria<?, ?, ?>> memberCriterias;
+	QuadPredicate<ClassCriteria, TestContext, MemberCriteria<?, ?, ?>, Class<?>> membersPredicate;
 	private boolean collectMembers;
 	
 	private ClassCriteria() {
@@ -175,13 +175,12 @@ public class ClassCriteria extends CriteriaWithClassElementsSupplyingSupport<Cla
 	}
 	
 	public <M extends Member> ClassCriteria byMembers(MemberCriteria<?, ?, ?> memberCriteria) {
-		final String key = UUID.randomUUID().toString();
-		this.memberCriterias.put(key, memberCriteria);		
+		this.memberCriterias.put(memberCriteria, memberCriteria);
 		this.predicate = concat(
 			this.predicate,
 			(context, cls) -> {
 				ClassCriteria criteria = context.getCriteria();
-				return criteria.membersPredicate.test(criteria, context, memberCriteria, key, cls);
+				return criteria.membersPredicate.test(criteria, context, memberCriteria, cls);
 			}
 		);
 		return this;
@@ -196,24 +195,33 @@ public class ClassCriteria extends CriteriaWithClassElementsSupplyingSupport<Cla
 		ClassCriteria criteria,
 		TestContext context,
 		MemberCriteria<?, ?, ?> memberCriteria,
-		String key, 
 		Class<?> cls
 	) {
-		return Members.match(criteria.memberCriterias.get(key), cls);
+		return Members.match(criteria.memberCriterias.get(memberCriteria), cls);
 	}
 	
 	private boolean testAndCollectMembers( 
 		ClassCriteria criteria,
 		TestContext context,
 		MemberCriteria<?, ?, ?> memberCriteria,
-		String key, 
 		Class<?> cls
 	) {
-		Collection<Member> members = (Collection<Member>)Members.findAll(criteria.memberCriterias.get(key), cls);
+		Collection<Member> members = (Collection<Member>)Members.findAll(criteria.memberCriterias.get(memberCriteria), cls);
 		context.addMembersFound(memberCriteria, members);
 		return !members.isEmpty();
 	}
 	
+	Map<MemberCriteria<?, ?, ?>, Collection<Member>> findMembers(Class<?> cls) {
+		Map<MemberCriteria<?, ?, ?>, Collection<Member>> membersFound = new HashMap<>();
+		for (Map.Entry<MemberCriteria<?, ?, ?>, MemberCriteria<?, ?, ?>> memberCriteria : memberCriterias.entrySet()) {
+			membersFound.put(
+				memberCriteria.getKey(),
+				(Collection<Member>)Members.findAll(memberCriteria.getValue(), cls)
+			);
+		}
+		return membersFound;
+	}
+	
 	public ClassCriteria createCopy() {
 		ClassCriteria copy = super.createCopy();
 		this.memberCriterias.entrySet().stream().collect(
@@ -29,14 +29,20 @@
 package org.burningwave.core.classes;
 
 import static org.burningwave.core.assembler.StaticComponentContainer.ClassLoaders;
+import static org.burningwave.core.assembler.StaticComponentContainer.Classes;
 import static org.burningwave.core.assembler.StaticComponentContainer.Constructors;
+import static org.burningwave.core.assembler.StaticComponentContainer.Streams;
 import static org.burningwave.core.assembler.StaticComponentContainer.Throwables;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -120,6 +126,17 @@ public class ClassFactory implements Component {
 		);
 	}
 	
+	Map<String, ByteBuffer> build(Collection<String> mainClassPaths, Collection<String> extraClassPaths, ClassLoader classLoader, UnitSourceGenerator... unitsCode) {
+		Collection<String> units = Arrays.asList(unitsCode).stream().map(unitCode -> unitCode.make()).collect(Collectors.toList());
+		logInfo("Try to compile: \n\n{}\n",String.join("\n", units));
+		return javaMemoryCompiler.compile(
+			units,
+			mainClassPaths, 
+			extraClassPaths,
+			classLoader
+		);
+	}
+	
 	public Map<String, ByteBuffer> build(Collection<String> mainClassPaths, Collection<String> extraClassPaths, String... unitsCode) {
 		logInfo("Try to compile: \n\n{}\n",String.join("\n", unitsCode));
 		return javaMemoryCompiler.compile(
@@ -129,6 +146,24 @@ public class ClassFactory implements Component {
 		);
 	}
 	
+	public Map<String, ByteBuffer> buildInParallel(Collection<String> mainClassPaths, Collection<String> extraClassPaths, UnitSourceGenerator... unitsCode) {
+		return buildInParallel(mainClassPaths, extraClassPaths, Arrays.asList(unitsCode).stream().map(unitCode -> unitCode.make()).collect(Collectors.toList()));
+	}
+	
+	public Map<String, ByteBuffer> buildInParallel(Collection<String> mainClassPaths, Collection<String> extraClassPaths, Collection<String> unitsCode) {
+		return buildInParallel(mainClassPaths, extraClassPaths, unitsCode, Runtime.getRuntime().availableProcessors());
+	}
+	
+	public Map<String, ByteBuffer> buildInParallel(Collection<String> mainClassPaths, Collection<String> extraClassPaths, Collection<String> unitsCode, int maxParallelTasks) {
+		logInfo("Try to compile in parallel {} units", unitsCode.size());
+		return javaMemoryCompiler.compileInParallel(
+			unitsCode,
+			mainClassPaths, 
+			extraClassPaths,
+			maxParallelTasks
+		);
+	}
+	
 	public ClassRetriever buildAndLoadOrUpload(
 		Collection<String> compilationClassPaths,
 		Collection<String> compilationClassPathsForNotFoundClasses,
@@ -187,7 +222,7 @@ public class ClassFactory implements Component {
 				try {
 					classes.put(className, classLoader.loadClass(className));
 				} catch (Throwable exc) {
-					Map<String, ByteBuffer> compiledByteCodes = build(compilationClassPaths, compilationClassPathsForNotFoundClasses, unitsCode);
+					Map<String, ByteBuffer> compiledByteCodes = build(compilationClassPaths, compilationClassPathsForNotFoundClasses, classLoader, unitsCode);
 					return (clsName, additionalByteCodes) -> {
 						try {
 							Map<String, ByteBuffer> finalByteCodes = compiledByteCodes;
@@ -280,6 +315,13 @@ public class ClassFactory implements Component {
 		return retrievedBytecodes;
 	}
 	
+	//Entry point for the builds repeated on units that change over time: unlike buildAndLoadOrUploadTo, which compiles all the units
+	//whenever one of their classes is not found by the class loader, the builder passes to javac only the changed units and their
+	//dependents, and the byte codes it returns can be loaded through ClassLoaders.loadOrUploadByteCode
+	public IncrementalBuilder createIncrementalBuilder(Collection<String> mainClassPaths, Collection<String> extraClassPaths) {
+		return IncrementalBuilder.create(this, mainClassPaths, extraClassPaths);
+	}
+	
 	public PojoSubTypeRetriever createPojoSubTypeRetriever(PojoSourceGenerator sourceGenerator) {
 		return PojoSubTypeRetriever.create(this, sourceGenerator);
 	}
@@ -460,6 +502,141 @@ public class ClassFactory implements Component {
 			
 	}
 	
+	//Keeps the bytecode of the units built and recompiles only the units whose source has changed and the ones that refer, directly or
+	//through other units, to the classes of these: the references are retrieved from the constant pools of the compiled classes and,
+	//since javac inlines the compile-time constants, from the type names declared by the changed units that appear in the sources
+	public static class IncrementalBuilder implements Component {
+		private ClassFactory classFactory;
+		private Collection<String> mainClassPaths;
+		private Collection<String> extraClassPaths;
+		private Map<String, Unit> units;
+		private Collection<String> lastRecompiledUnits;
+		
+		private IncrementalBuilder(ClassFactory classFactory, Collection<String> mainClassPaths, Collection<String> extraClassPaths) {
+			this.classFactory = classFactory;
+			this.mainClassPaths = mainClassPaths;
+			this.extraClassPaths = extraClassPaths;
+			this.units = new HashMap<>();
+			this.lastRecompiledUnits = new ArrayList<>();
+		}
+		
+		public static IncrementalBuilder create(ClassFactory classFactory, Collection<String> mainClassPaths, Collection<String> extraClassPaths) {
+			return new IncrementalBuilder(classFactory, mainClassPaths, extraClassPaths);
+		}
+		
+		public Map<String, ByteBuffer> build(UnitSourceGenerator... unitsCode) {
+			return build(Arrays.asList(unitsCode).stream().map(unitCode -> unitCode.make()).collect(Collectors.toList()));
+		}
+		
+		public synchronized Map<String, ByteBuffer> build(Collection<String> unitsCode) {
+			Map<String, String> sourceForUnitName = new LinkedHashMap<>();
+			for (String unitCode : unitsCode) {
+				sourceForUnitName.put(classFactory.sourceCodeHandler.extractClassName(unitCode), unitCode);
+			}
+			Set<String> unitsToBeRecompiled = new HashSet<>();
+			Set<String> changedClassNames = new HashSet<>();
+			Set<String> changedTypeSimpleNames = new HashSet<>();
+			for (Map.Entry<String, String> unitNameAndSource : sourceForUnitName.entrySet()) {
+				Unit unit = units.get(unitNameAndSource.getKey());
+				if (unit == null || !unit.source.equals(unitNameAndSource.getValue())) {
+					unitsToBeRecompiled.add(unitNameAndSource.getKey());
+					changedClassNames.add(unitNameAndSource.getKey());
+					changedTypeSimpleNames.addAll(classFactory.sourceCodeHandler.extractDeclaredTypeSimpleNames(unitNameAndSource.getValue()));
+					Optional.ofNullable(unit).ifPresent(oldUnit -> addChangedNames(oldUnit, changedClassNames, changedTypeSimpleNames));
+				}
+			}
+			//The units missing from this build are dropped and the ones that refer to them are recompiled
+			Iterator<Map.Entry<String, Unit>> unitsIterator = units.entrySet().iterator();
+			while (unitsIterator.hasNext()) {
+				Map.Entry<String, Unit> unitNameAndUnit = unitsIterator.next();
+				if (!sourceForUnitName.containsKey(unitNameAndUnit.getKey())) {
+					addChangedNames(unitNameAndUnit.getValue(), changedClassNames, changedTypeSimpleNames);
+					unitsIterator.remove();
+				}
+			}
+			boolean dependentsFound = !changedClassNames.isEmpty();
+			while (dependentsFound) {
+				dependentsFound = false;
+				for (String unitName : sourceForUnitName.keySet()) {
+					Unit unit = units.get(unitName);
+					if (!unitsToBeRecompiled.contains(unitName) && (
+						unit.referencedClassNames.stream().anyMatch(changedClassNames::contains) ||
+						unit.words.stream().anyMatch(changedTypeSimpleNames::contains)
+					)) {
+						unitsToBeRecompiled.add(unitName);
+						addChangedNames(unit, changedClassNames, changedTypeSimpleNames);
+						dependentsFound = true;
+					}
+				}
+			}
+			if (!unitsToBeRecompiled.isEmpty()) {
+				recompile(sourceForUnitName, unitsToBeRecompiled);
+			}
+			lastRecompiledUnits = unitsToBeRecompiled;
+			Map<String, ByteBuffer> byteCodes = new HashMap<>();
+			for (String unitName : sourceForUnitName.keySet()) {
+				units.get(unitName).byteCodes.forEach((className, byteCode) -> byteCodes.put(className, Streams.shareContent(byteCode)));
+			}
+			return byteCodes;
+		}
+		
+		private void addChangedNames(Unit unit, Set<String> changedClassNames, Set<String> changedTypeSimpleNames) {
+			changedClassNames.addAll(unit.byteCodes.keySet());
+			changedTypeSimpleNames.addAll(classFactory.sourceCodeHandler.extractDeclaredTypeSimpleNames(unit.source));
+		}
+		
+		private void recompile(Map<String, String> sourceForUnitName, Collection<String> unitsToBeRecompiled) {
+			List<String> sources = new ArrayList<>();
+			Map<String, String> unitNameForTopLevelClassName = new HashMap<>();
+			for (String unitName : unitsToBeRecompiled) {
+				String source = sourceForUnitName.get(unitName);
+				sources.add(source);
+				String packagePrefix = unitName.contains(".") ? unitName.substring(0, unitName.lastIndexOf(".") + 1) : "";
+				for (String typeName : classFactory.sourceCodeHandler.extractDeclaredTypeSimpleNames(source)) {
+					unitNameForTopLevelClassName.putIfAbsent(packagePrefix + typeName, unitName);
+				}
+			}
+			Map<String, ByteBuffer> compiledByteCodes = classFactory.build(mainClassPaths, extraClassPaths, sources);
+			Map<String, Unit> recompiledUnits = new HashMap<>();
+			for (String unitName : unitsToBeRecompiled) {
+				recompiledUnits.put(unitName, new Unit(sourceForUnitName.get(unitName)));
+			}
+			compiledByteCodes.forEach((className, byteCode) -> {
+				String topLevelClassName = className.contains("$") ? className.substring(0, className.indexOf("$")) : className;
+				Unit unit = recompiledUnits.get(Optional.ofNullable(unitNameForTopLevelClassName.get(topLevelClassName)).orElse(topLevelClassName));
+				if (unit != null) {
+					unit.byteCodes.put(className, byteCode);
+					unit.referencedClassNames.addAll(Classes.retrieveReferencedClassNames(byteCode));
+				}
+			});
+			units.putAll(recompiledUnits);
+		}
+		
+		public Collection<String> getLastRecompiledUnits() {
+			return new HashSet<>(lastRecompiledUnits);
+		}
+		
+		@Override
+		public void close() {
+			units.clear();
+			classFactory = null;
+		}
+		
+		private static class Unit {
+			private final String source;
+			private final Map<String, ByteBuffer> byteCodes;
+			private final Set<String> referencedClassNames;
+			private final Set<String> words;
+			
+			private Unit(String source) {
+				this.source = source;
+				this.byteCodes = new HashMap<>();
+				this.referencedClassNames = new HashSet<>();
+				this.words = new HashSet<>(Arrays.asList(source.split("[^\\w$]+")));
+			}
+		}
+	}
+	
 	@FunctionalInterface
 	public static interface ClassRetriever {
 		
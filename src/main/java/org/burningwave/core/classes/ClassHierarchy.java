@@ -0,0 +1,254 @@
+/*
+ * This file is part of Burningwave Core.
+ *
+ * Author: Roberto Gentili
+ *
+ * Hosted at: https://github.com/burningwave/core
+ *
+ * --
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Roberto Gentili
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO
+ * EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.burningwave.core.classes;
+
+import static org.burningwave.core.assembler.StaticComponentContainer.Classes;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+import org.burningwave.core.Component;
+
+
+//Graph of the relations among the classes built from the headers of the class files: the classes are identified by int ids
+//and the supertypes and the subtypes of each class are stored in arrays of ids
+public class ClassHierarchy implements Component {
+	private final static int[] NO_TYPES = new int[0];
+	private Supplier<ByteCodeHunter> byteCodeHunterSupplier;
+	private Map<String, Integer> ids;
+	private String[] names;
+	private int[][] superTypes;
+	private int[][] subTypes;
+	private int[] subTypesCount;
+	//Classes whose supertypes are known because their class files have been read
+	private BitSet registeredClasses;
+	private int classesCount;
+	private ReadWriteLock lock;
+	
+	private ClassHierarchy(Supplier<ByteCodeHunter> byteCodeHunterSupplier) {
+		this.byteCodeHunterSupplier = byteCodeHunterSupplier;
+		this.lock = new ReentrantReadWriteLock();
+		init();
+	}
+	
+	public static ClassHierarchy create(Supplier<ByteCodeHunter> byteCodeHunterSupplier) {
+		return new ClassHierarchy(byteCodeHunterSupplier);
+	}
+	
+	private void init() {
+		ids = new HashMap<>();
+		names = new String[1024];
+		superTypes = new int[1024][];
+		subTypes = new int[1024][];
+		subTypesCount = new int[1024];
+		registeredClasses = new BitSet();
+		classesCount = 0;
+	}
+	
+	public ClassHierarchy loadPaths(Collection<String> paths) {
+		try (ByteCodeHunter.SearchResult result = byteCodeHunterSupplier.get().findBy(
+			SearchConfig.forPaths(paths)
+		)) {
+			register(result.getClasses());
+		}
+		return this;
+	}
+	
+	public void register(Collection<JavaClass> javaClasses) {
+		lock.writeLock().lock();
+		try {
+			for (JavaClass javaClass : javaClasses) {
+				register(javaClass.getName(), Classes.retrieveSuperTypeNames(javaClass.getByteCode()));
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+	
+	private void register(String className, Collection<String> superTypeNames) {
+		int id = getOrCreateId(className);
+		//The class file may have changed since the last registration: the old edges are replaced by the new ones
+		for (int superTypeId : superTypes[id]) {
+			removeSubType(superTypeId, id);
+		}
+		int[] superTypesOfClass = new int[superTypeNames.size()];
+		int i = 0;
+		for (String superTypeName : superTypeNames) {
+			int superTypeId = getOrCreateId(superTypeName);
+			superTypesOfClass[i++] = superTypeId;
+			addSubType(superTypeId, id);
+		}
+		superTypes[id] = superTypesOfClass;
+		registeredClasses.set(id);
+	}
+	
+	private int getOrCreateId(String className) {
+		Integer id = ids.get(className);
+		if (id == null) {
+			if (classesCount == names.length) {
+				int newLength = names.length * 2;
+				names = Arrays.copyOf(names, newLength);
+				superTypes = Arrays.copyOf(superTypes, newLength);
+				subTypes = Arrays.copyOf(subTypes, newLength);
+				subTypesCount = Arrays.copyOf(subTypesCount, newLength);
+			}
+			id = classesCount++;
+			names[id] = className;
+			superTypes[id] = NO_TYPES;
+			subTypes[id] = NO_TYPES;
+			ids.put(className, id);
+		}
+		return id;
+	}
+	
+	private void addSubType(int id, int subTypeId) {
+		int[] subTypesOfClass = subTypes[id];
+		if (subTypesCount[id] == subTypesOfClass.length) {
+			subTypes[id] = subTypesOfClass = Arrays.copyOf(subTypesOfClass, Math.max(4, subTypesOfClass.length * 2));
+		}
+		subTypesOfClass[subTypesCount[id]++] = subTypeId;
+	}
+	
+	private void removeSubType(int id, int subTypeId) {
+		int[] subTypesOfClass = subTypes[id];
+		for (int i = 0; i < subTypesCount[id]; i++) {
+			if (subTypesOfClass[i] == subTypeId) {
+				subTypesOfClass[i] = subTypesOfClass[--subTypesCount[id]];
+				return;
+			}
+		}
+	}
+	
+	public Collection<String> getAllSubtypeNames(String className) {
+		lock.readLock().lock();
+		try {
+			Integer id = ids.get(className);
+			return id != null ? toNames(visit(id, subTypes, subTypesCount)) : new LinkedHashSet<>();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	public Collection<String> getAllSuperTypeNames(String className) {
+		lock.readLock().lock();
+		try {
+			Integer id = ids.get(className);
+			return id != null ? toNames(visit(id, superTypes, null)) : new LinkedHashSet<>();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	public boolean isSubtypeOf(String className, String superTypeName) {
+		lock.readLock().lock();
+		try {
+			Integer id = ids.get(className);
+			Integer superTypeId = ids.get(superTypeName);
+			return id != null && superTypeId != null && visit(id, superTypes, null).get(superTypeId);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	//Returns false only if the class is certainly neither one of the types nor one of their subtypes, that is when all its
+	//supertypes are known: used to exclude the classes from the searches without loading them
+	public boolean mayBeSubtypeOf(String className, Collection<String> superTypeNames) {
+		if (superTypeNames.contains(className)) {
+			return true;
+		}
+		lock.readLock().lock();
+		try {
+			Integer id = ids.get(className);
+			if (id == null || !registeredClasses.get(id)) {
+				return true;
+			}
+			BitSet superTypesOfClass = visit(id, superTypes, null);
+			for (int superTypeId = superTypesOfClass.nextSetBit(0); superTypeId >= 0; superTypeId = superTypesOfClass.nextSetBit(superTypeId + 1)) {
+				if (superTypeNames.contains(names[superTypeId]) ||
+					(!registeredClasses.get(superTypeId) && !names[superTypeId].equals(Object.class.getName()))
+				) {
+					return true;
+				}
+			}
+			return false;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	private BitSet visit(int id, int[][] adjacencyLists, int[] adjacencyListsSizes) {
+		BitSet visited = new BitSet();
+		Deque<Integer> toBeVisited = new ArrayDeque<>();
+		toBeVisited.push(id);
+		while (!toBeVisited.isEmpty()) {
+			int currentId = toBeVisited.pop();
+			int[] adjacencyList = adjacencyLists[currentId];
+			int size = adjacencyListsSizes != null ? adjacencyListsSizes[currentId] : adjacencyList.length;
+			for (int i = 0; i < size; i++) {
+				if (!visited.get(adjacencyList[i])) {
+					visited.set(adjacencyList[i]);
+					toBeVisited.push(adjacencyList[i]);
+				}
+			}
+		}
+		return visited;
+	}
+	
+	private Collection<String> toNames(BitSet classIds) {
+		Collection<String> classNames = new LinkedHashSet<>();
+		for (int id = classIds.nextSetBit(0); id >= 0; id = classIds.nextSetBit(id + 1)) {
+			classNames.add(names[id]);
+		}
+		return classNames;
+	}
+	
+	public void clear() {
+		lock.writeLock().lock();
+		try {
+			init();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+	
+	@Override
+	public void close() {
+		clear();
+		byteCodeHunterSupplier = null;
+	}
+}
@@ -29,12 +29,20 @@
 package org.burningwave.core.classes;
 
 import java.lang.reflect.Member;
+import java.util.AbstractMap;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.AbstractSet;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -47,13 +55,15 @@ import org.burningwave.core.reflection.PropertyAccessor;
 
 
 public class ClassHunter extends ClassPathScannerWithCachingSupport<Class<?>, ClassHunter.SearchContext, ClassHunter.SearchResult> {
+	public final static String CACHE_RETENTION_POLICY_CONFIG_KEY_PREFIX = "class-hunter.cache";
 	public final static String PARENT_CLASS_LOADER_FOR_PATH_SCANNER_CLASS_LOADER_CONFIG_KEY = "class-hunter.path-scanner-class-loader.parent";
 	public final static String PATH_SCANNER_CLASS_LOADER_BYTE_CODE_HUNTER_SEARCH_CONFIG_CHECK_FILE_OPTIONS_CONFIG_KEY = "class-hunter.path-scanner-class-loader.byte-code-hunter.search-config.check-file-options";
 	public final static Map<String, String> DEFAULT_CONFIG_VALUES = new LinkedHashMap<>();
 	
 	Supplier<PathScannerClassLoader> pathScannerClassLoaderSupplier;
 	
-	PathScannerClassLoader pathScannerClassLoader;
+	volatile PathScannerClassLoader pathScannerClassLoader;
+	AtomicLong evictedClassesCount;
 	
 	ClassHunter(
 		Supplier<ByteCodeHunter> byteCodeHunterSupplier,
@@ -77,6 +87,7 @@ public class ClassHunter extends ClassPathScannerWithCachingSupport<Class<?>, Cl
 			parentClassLoader, pathHelper, byteCodeHunterSupplier, pathScannerClassLoaderByteCodeHunterSearchConfigCheckFileOptions
 		);
 		this.pathScannerClassLoader = pathScannerClassLoaderSupplier.get();
+		this.evictedClassesCount = new AtomicLong();
 	}
 	
 	static {
@@ -98,26 +109,32 @@ public class ClassHunter extends ClassPathScannerWithCachingSupport<Class<?>, Cl
 	}
 	
 	@Override
-	public CacheScanner<Class<?>, SearchResult> loadInCache(CacheableSearchConfig searchConfig) {
-		searchConfig.getClassCriteria().collectMembers(true);
-		return super.loadInCache(searchConfig);
-	}
-	
-	@Override
-	public ClassHunter.SearchResult findBy(SearchConfig searchConfig) {
-		searchConfig.getClassCriteria().collectMembers(true);
-		return super.findBy(searchConfig);
+	<S extends SearchConfigAbst<S>> ClassCriteria.TestContext testCachedItem(ClassHunter.SearchContext context, String path, String key, Class<?> cls) {
+		if (context.getSearchConfig().isExcludedByClassHierarchy(cls.getName())) {
+			return context.getSearchConfig().getClassCriteria().testAndReturnFalseIfNullOrFalseByDefault(null);
+		}
+		return context.testCriteria(context.retrieveClass(cls));
 	}
 	
 	@Override
-	public ClassHunter.SearchResult findBy(CacheableSearchConfig searchConfig) {
-		searchConfig.getClassCriteria().collectMembers(true);
-		return super.findBy(searchConfig);
+	boolean supportsSharedClassIndex() {
+		return true;
 	}
 	
 	@Override
-	<S extends SearchConfigAbst<S>> ClassCriteria.TestContext testCachedItem(ClassHunter.SearchContext context, String path, String key, Class<?> cls) {
-		return context.testCriteria(context.retrieveClass(cls));
+	Map<String, Class<?>> toCachedItems(ClassHunter.SearchContext context, Map<String, JavaClass> javaClasses) {
+		//All the byte codes of the path are added before loading so that the classes can refer to each other
+		for (JavaClass javaClass : javaClasses.values()) {
+			context.addByteCodeClassesToClassLoader(javaClass.getName(), javaClass.getByteCode());
+		}
+		Map<String, Class<?>> itemsForPath = new HashMap<>();
+		for (Entry<String, JavaClass> javaClass : javaClasses.entrySet()) {
+			Class<?> cls = context.loadClass(javaClass.getValue().getName());
+			if (cls != null) {
+				itemsForPath.put(javaClass.getKey(), cls);
+			}
+		}
+		return itemsForPath;
 	}
 	
 	@Override
@@ -167,28 +184,95 @@ public class ClassHunter extends ClassPathScannerWithCachingSupport<Class<?>, Cl
 		}
 		
 		void addItemFound(String path, String key, Class<?> item, Map<MemberCriteria<?, ?, ?>, Collection<Member>> membersForCriteria) {
-			super.addItemFound(path, key, item);
-			this.membersFound.put(item, membersForCriteria);
-			membersForCriteria.forEach((criteria, memberList) -> {
-				Collection<Member> coll = membersFoundFlatMap.get(criteria);
-				if (coll == null) {								
-					coll = new CopyOnWriteArrayList<>();
-					membersFoundFlatMap.put(criteria, coll);
-				}
-				coll.addAll(memberList);
-			});	
+			//Members are collected during the search only if requested through ClassCriteria.collectMembers
+			if (super.addItemFound(path, key, item) && membersForCriteria != null) {
+				addAllMembersFound(item, membersForCriteria);
+			}
 		}
 		
 		void addAllMembersFound(Class<?> cls, Map<MemberCriteria<?, ?, ?>, Collection<Member>> membersFound) {
-			this.membersFound.put(cls, membersFound);
-			this.membersFoundFlatMap.putAll(membersFound);
+			if (cls != null && membersFound != null && this.membersFound.putIfAbsent(cls, membersFound) == null) {
+				addToMembersFoundFlatMap(membersFound);
+			}
+		}
+		
+		private void addToMembersFoundFlatMap(Map<MemberCriteria<?, ?, ?>, Collection<Member>> membersFound) {
+			membersFound.forEach((criteria, memberList) -> {
+				if (criteria != null && memberList != null) {
+					membersFoundFlatMap.computeIfAbsent(criteria, key -> new ConcurrentLinkedQueue<>()).addAll(memberList);
+				}
+			});
 		}
 		
+		Map<MemberCriteria<?, ?, ?>, Collection<Member>> getMembersFound(Class<?> cls) {
+			if (cls == null) {
+				return null;
+			}
+			Map<MemberCriteria<?, ?, ?>, Collection<Member>> membersFoundForClass = membersFound.get(cls);
+			if (membersFoundForClass == null) {
+				Map<MemberCriteria<?, ?, ?>, Collection<Member>> newMembersFoundForClass = 
+					getSearchConfig().getClassCriteria().findMembers(cls);
+				if (newMembersFoundForClass == null) {
+					return null;
+				}
+				membersFoundForClass = membersFound.putIfAbsent(cls, newMembersFoundForClass);
+				if (membersFoundForClass == null) {
+					membersFoundForClass = newMembersFoundForClass;
+					addToMembersFoundFlatMap(membersFoundForClass);
+				}
+			}
+			return membersFoundForClass;
+		}
+		
+		//The members of each class are computed only when the class is accessed through the returned map
 		Map<Class<?>, Map<MemberCriteria<?, ?, ?>, Collection<Member>>> getMembersFound() {
-			return membersFound;
+			return new AbstractMap<Class<?>, Map<MemberCriteria<?, ?, ?>, Collection<Member>>>() {
+				
+				@Override
+				public Map<MemberCriteria<?, ?, ?>, Collection<Member>> get(Object cls) {
+					return containsKey(cls) ? getMembersFound((Class<?>)cls) : null;
+				}
+				
+				@Override
+				public boolean containsKey(Object cls) {
+					return getItemsFound().contains(cls);
+				}
+				
+				@Override
+				public Set<Entry<Class<?>, Map<MemberCriteria<?, ?, ?>, Collection<Member>>>> entrySet() {
+					return new AbstractSet<Entry<Class<?>, Map<MemberCriteria<?, ?, ?>, Collection<Member>>>>() {
+						
+						@Override
+						public Iterator<Entry<Class<?>, Map<MemberCriteria<?, ?, ?>, Collection<Member>>>> iterator() {
+							Iterator<Class<?>> classes = getItemsFound().iterator();
+							return new Iterator<Entry<Class<?>, Map<MemberCriteria<?, ?, ?>, Collection<Member>>>>() {
+								
+								@Override
+								public boolean hasNext() {
+									return classes.hasNext();
+								}
+								
+								@Override
+								public Entry<Class<?>, Map<MemberCriteria<?, ?, ?>, Collection<Member>>> next() {
+									Class<?> cls = classes.next();
+									return new SimpleImmutableEntry<>(cls, getMembersFound(cls));
+								}
+							};
+						}
+						
+						@Override
+						public int size() {
+							return getItemsFound().size();
+						}
+					};
+				}
+			};
 		}
 		
 		public Map<MemberCriteria<?, ?, ?>, Collection<Member>> getMembersFoundFlatMap() {
+			for (Class<?> cls : getItemsFound()) {
+				getMembersFound(cls);
+			}
 			return membersFoundFlatMap;
 		}
 		
@@ -215,6 +299,10 @@ public class ClassHunter extends ClassPathScannerWithCachingSupport<Class<?>, Cl
 			return ((SearchContext)this.context).getMembersFoundFlatMap();
 		}
 		
+		public Map<MemberCriteria<?, ?, ?>, Collection<Member>> getMembersFoundBy(Class<?> cls) {
+			return ((SearchContext)this.context).getMembersFound(cls);
+		}
+		
 		public Collection<Class<?>> getClasses() {
 			return context.getItemsFound();
 		}
@@ -259,11 +347,47 @@ public class ClassHunter extends ClassPathScannerWithCachingSupport<Class<?>, Cl
 		}
 	}
 	
+	@Override
+	boolean evict(String path, CachedItems<Class<?>> cachedItems) {
+		if (super.evict(path, cachedItems)) {
+			evictedClassesCount.addAndGet(cachedItems.size);
+			return true;
+		}
+		return false;
+	}
+	
+	//The evicted classes stay loaded until their class loader is discarded: when they outnumber the cached classes a new
+	//class loader is used and the paths cached with the previous one, except the path just cached, are evicted
+	@Override
+	void applyCacheRetentionPolicy(String pathToBeKept) {
+		super.applyCacheRetentionPolicy(pathToBeKept);
+		if (evictedClassesCount.get() > getCachedItemsCount()) {
+			renewPathScannerClassLoader(pathToBeKept);
+		}
+	}
+	
+	synchronized void renewPathScannerClassLoader(String pathToBeKept) {
+		if (evictedClassesCount.get() <= getCachedItemsCount()) {
+			return;
+		}
+		PathScannerClassLoader oldPathScannerClassLoader = pathScannerClassLoader;
+		pathScannerClassLoader = pathScannerClassLoaderSupplier.get();
+		for (Entry<String, CachedItems<Class<?>>> cachedPath : cache.entrySet()) {
+			if (!cachedPath.getKey().equals(pathToBeKept)) {
+				evict(cachedPath.getKey(), cachedPath.getValue());
+			}
+		}
+		evictedClassesCount.set(0);
+		//The previous class loader is not closed because the classes already returned by the searches can still use it
+		oldPathScannerClassLoader.unregister();
+	}
+	
 	@Override
 	public void clearCache() {
 		super.clearCache();
 		pathScannerClassLoader.close();
 		pathScannerClassLoader = pathScannerClassLoaderSupplier.get();
+		evictedClassesCount.set(0);
 	}
 	
 	@Override
@@ -28,10 +28,7 @@
  */
 package org.burningwave.core.classes;
 
-import static org.burningwave.core.assembler.StaticComponentContainer.Classes;
-
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -47,6 +44,8 @@ import org.burningwave.core.io.IterableZipContainer;
 import org.burningwave.core.io.PathHelper;
 
 public class ClassPathHunter extends ClassPathScannerWithCachingSupport<Collection<Class<?>>, ClassPathHunter.SearchContext, ClassPathHunter.SearchResult> {
+	public final static String CACHE_RETENTION_POLICY_CONFIG_KEY_PREFIX = "class-path-hunter.cache";
+	
 	private ClassPathHunter(
 		Supplier<ByteCodeHunter> byteCodeHunterSupplier,
 		Supplier<ClassHunter> classHunterSupplier,
@@ -148,22 +147,35 @@ public class ClassPathHunter extends ClassPathScannerWithCachingSupport<Collecti
 
 		
 		void addItemFound(String basePathAsString, String classPathAsFile, Class<?> testedClass) {
-			Map<String, Collection<Class<?>>> testedClassesForClassPathMap = retrieveCollectionForPath(
-				itemsFoundMap,
-				HashMap::new,
-				basePathAsString
-			);
-			Collection<Class<?>> testedClassesForClassPath = testedClassesForClassPathMap.get(classPathAsFile);
+			//The maps of the items found are concurrent, so they don't accept null keys or values
+			if (classPathAsFile == null || testedClass == null) {
+				return;
+			}
+			//The same class path can be found under several base paths: its classes are merged in the flat map
+			Collection<Class<?>> testedClassesForClassPath = itemsFoundFlatMap.get(classPathAsFile);
+			boolean classPathFound = false;
 			if (testedClassesForClassPath == null) {
-				synchronized (Classes.getId(testedClassesForClassPathMap, classPathAsFile)) {
-					testedClassesForClassPath = testedClassesForClassPathMap.get(classPathAsFile);
-					if (testedClassesForClassPath == null) {
-						testedClassesForClassPathMap.put(classPathAsFile, testedClassesForClassPath = ConcurrentHashMap.newKeySet());
-					}
+				if (!reserveItemFoundSlot()) {
+					return;
+				}
+				Collection<Class<?>> newTestedClassesForClassPath = ConcurrentHashMap.newKeySet();
+				testedClassesForClassPath = itemsFoundFlatMap.putIfAbsent(classPathAsFile, newTestedClassesForClassPath);
+				if (testedClassesForClassPath == null) {
+					testedClassesForClassPath = newTestedClassesForClassPath;
+					classPathFound = true;
+				} else {
+					releaseItemFoundSlot();
 				}
 			}
 			testedClassesForClassPath.add(testedClass);
-			itemsFoundFlatMap.putAll(testedClassesForClassPathMap);
+			retrieveCollectionForPath(
+				itemsFoundMap,
+				ConcurrentHashMap::new,
+				basePathAsString
+			).computeIfAbsent(classPathAsFile, key -> ConcurrentHashMap.newKeySet()).add(testedClass);
+			if (classPathFound) {
+				notifyItemFound(classPathAsFile, testedClassesForClassPath);
+			}
 		}
 		
 		@Override
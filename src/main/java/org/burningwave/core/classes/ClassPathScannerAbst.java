@@ -29,9 +29,16 @@
 package org.burningwave.core.classes;
 
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 import org.burningwave.core.Component;
@@ -84,15 +91,23 @@ abstract class ClassPathScannerAbst<I, C extends SearchContext<I>, R extends Sea
 	
 	//Not cached search
 	public R findBy(SearchConfig searchConfig) {
+		return findBy(searchConfig, null);
+	}
+	
+	public R findBy(SearchConfig searchConfig, BiConsumer<String, I> itemFoundListener) {
 		searchConfig = searchConfig.createCopy();
 		final ClassFileScanConfig scanConfigCopy = searchConfig.getClassFileScanConfiguration();
 		C context = createContext(searchConfig);
+		context.itemFoundListener = itemFoundListener;
 		searchConfig.init(context.pathScannerClassLoader);
+		boolean scanPathsInOrder = searchConfig.getLimit() > 0;
 		context.executeSearch(() -> {
 			fileSystemScanner.scan(
 				scanConfigCopy.toScanConfiguration(
 					getFileSystemEntryTransformer(context),
 					getZipEntryTransformer(context)
+				).scanPathsInOrder(
+					scanPathsInOrder
 				)
 			);
 		});
@@ -103,6 +118,44 @@ abstract class ClassPathScannerAbst<I, C extends SearchContext<I>, R extends Sea
 		return resultSupplier.apply(context);
 	}
 	
+	//Not cached batch search: the union of the paths is scanned once and each class file is parsed once for all the configurations
+	public List<R> findBy(Collection<? extends SearchConfigAbst<?>> searchConfigs) {
+		Map<C, Predicate<Scan.ItemContext>> contexts = new LinkedHashMap<>();
+		Collection<ClassFileScanConfig> scanConfigs = new ArrayList<>();
+		boolean scanPathsInOrder = false;
+		for (SearchConfigAbst<?> originalSearchConfig : searchConfigs) {
+			SearchConfigAbst<?> searchConfig = originalSearchConfig.createCopy();
+			scanPathsInOrder |= searchConfig.getLimit() > 0;
+			C context = createContext(searchConfig);
+			searchConfig.init(context.pathScannerClassLoader);
+			ClassFileScanConfig scanConfig = searchConfig.getClassFileScanConfiguration();
+			contexts.put(context, scanConfig.toScannedItemPredicate());
+			scanConfigs.add(scanConfig);
+		}
+		List<R> results = new ArrayList<>();
+		if (contexts.isEmpty()) {
+			return results;
+		}
+		Scan.Configuration scanConfiguration = ClassFileScanConfig.toScanConfiguration(
+			scanConfigs,
+			getFileSystemEntryTransformer(contexts),
+			getZipEntryTransformer(contexts)
+		).scanPathsInOrder(
+			scanPathsInOrder
+		);
+		SearchContext.executeSearch(contexts.keySet(), () -> {
+			fileSystemScanner.scan(scanConfiguration);
+		});
+		for (C context : contexts.keySet()) {
+			Collection<String> skippedClassesNames = context.getSkippedClassNames();
+			if (!skippedClassesNames.isEmpty()) {
+				logWarn("Skipped classes count: {}", skippedClassesNames.size());
+			}
+			results.add(resultSupplier.apply(context));
+		}
+		return results;
+	}
+	
 	@SuppressWarnings("resource")
 	C createContext(SearchConfigAbst<?> searchConfig) {
 		PathScannerClassLoader sharedClassLoader = getClassHunter().pathScannerClassLoader;
@@ -129,12 +182,19 @@ abstract class ClassPathScannerAbst<I, C extends SearchContext<I>, R extends Sea
 		C context
 	) {
 		return (scannedItemContext) -> {
+			if (stopScanIfItemsFoundLimitReached(context, scannedItemContext)) {
+				return;
+			}
 			JavaClass javaClass = JavaClass.create(scannedItemContext.getScannedItem().toByteBuffer());
-			ClassCriteria.TestContext criteriaTestContext = testCriteria(context, javaClass);
+			ClassCriteria.TestContext criteriaTestContext = testClassHierarchyAndCriteria(context, javaClass);
 			if (criteriaTestContext.getResult()) {
 				retrieveItemFromFileInputStream(
 					context, criteriaTestContext, scannedItemContext, javaClass
 				);
+				context.addJavaClassFound(
+					scannedItemContext.getBasePathAsString(), scannedItemContext.getScannedItem().getAbsolutePath(), javaClass
+				);
+				stopScanIfItemsFoundLimitReached(context, scannedItemContext);
 			}
 		};
 	}
@@ -144,16 +204,104 @@ abstract class ClassPathScannerAbst<I, C extends SearchContext<I>, R extends Sea
 		C context
 	) {
 		return (scannedItemContext) -> {
+			if (stopScanIfItemsFoundLimitReached(context, scannedItemContext)) {
+				return;
+			}
 			JavaClass javaClass = JavaClass.create(scannedItemContext.getScannedItem().toByteBuffer());
-			ClassCriteria.TestContext criteriaTestContext = testCriteria(context, javaClass);
+			ClassCriteria.TestContext criteriaTestContext = testClassHierarchyAndCriteria(context, javaClass);
 			if (criteriaTestContext.getResult()) {
 				retrieveItemFromZipEntry(
 					context, criteriaTestContext, scannedItemContext, javaClass
 				);
+				context.addJavaClassFound(
+					scannedItemContext.getBasePathAsString(), scannedItemContext.getScannedItem().getAbsolutePath(), javaClass
+				);
+				stopScanIfItemsFoundLimitReached(context, scannedItemContext);
 			}
 		};
 	}
 	
+	Consumer<Scan.ItemContext> getFileSystemEntryTransformer(
+		Map<C, Predicate<Scan.ItemContext>> contexts
+	) {
+		return (scannedItemContext) -> {
+			if (stopScanIfItemsFoundLimitReached(contexts.keySet(), scannedItemContext)) {
+				return;
+			}
+			JavaClass javaClass = null;
+			for (Entry<C, Predicate<Scan.ItemContext>> contextAndScannedItemPredicate : contexts.entrySet()) {
+				C context = contextAndScannedItemPredicate.getKey();
+				if (context.isItemsFoundLimitReached() || !contextAndScannedItemPredicate.getValue().test(scannedItemContext)) {
+					continue;
+				}
+				if (javaClass == null) {
+					javaClass = JavaClass.create(scannedItemContext.getScannedItem().toByteBuffer());
+				}
+				ClassCriteria.TestContext criteriaTestContext = testClassHierarchyAndCriteria(context, javaClass);
+				if (criteriaTestContext.getResult()) {
+					retrieveItemFromFileInputStream(
+						context, criteriaTestContext, scannedItemContext, javaClass
+					);
+				}
+			}
+			stopScanIfItemsFoundLimitReached(contexts.keySet(), scannedItemContext);
+		};
+	}
+	
+	
+	Consumer<Scan.ItemContext> getZipEntryTransformer(
+		Map<C, Predicate<Scan.ItemContext>> contexts
+	) {
+		return (scannedItemContext) -> {
+			if (stopScanIfItemsFoundLimitReached(contexts.keySet(), scannedItemContext)) {
+				return;
+			}
+			JavaClass javaClass = null;
+			for (Entry<C, Predicate<Scan.ItemContext>> contextAndScannedItemPredicate : contexts.entrySet()) {
+				C context = contextAndScannedItemPredicate.getKey();
+				if (context.isItemsFoundLimitReached() || !contextAndScannedItemPredicate.getValue().test(scannedItemContext)) {
+					continue;
+				}
+				if (javaClass == null) {
+					javaClass = JavaClass.create(scannedItemContext.getScannedItem().toByteBuffer());
+				}
+				ClassCriteria.TestContext criteriaTestContext = testClassHierarchyAndCriteria(context, javaClass);
+				if (criteriaTestContext.getResult()) {
+					retrieveItemFromZipEntry(
+						context, criteriaTestContext, scannedItemContext, javaClass
+					);
+				}
+			}
+			stopScanIfItemsFoundLimitReached(contexts.keySet(), scannedItemContext);
+		};
+	}
+	
+	//The scan is stopped only when every search has reached its limit
+	boolean stopScanIfItemsFoundLimitReached(Collection<C> contexts, Scan.ItemContext scannedItemContext) {
+		for (C context : contexts) {
+			if (!context.isItemsFoundLimitReached()) {
+				return false;
+			}
+		}
+		scannedItemContext.getMainContext().setDirective(Scan.Directive.STOP_ITERATION);
+		return true;
+	}
+	
+	boolean stopScanIfItemsFoundLimitReached(C context, Scan.ItemContext scannedItemContext) {
+		if (context.isItemsFoundLimitReached()) {
+			scannedItemContext.getMainContext().setDirective(Scan.Directive.STOP_ITERATION);
+			return true;
+		}
+		return false;
+	}
+	
+	ClassCriteria.TestContext testClassHierarchyAndCriteria(C context, JavaClass javaClass) {
+		if (context.getSearchConfig().isExcludedByClassHierarchy(javaClass.getName())) {
+			return context.getSearchConfig().getClassCriteria().testAndReturnFalseIfNullOrFalseByDefault(null);
+		}
+		return testCriteria(context, javaClass);
+	}
+	
 	<S extends SearchConfigAbst<S>> ClassCriteria.TestContext testCriteria(C context, JavaClass javaClass) {
 		return context.testCriteria(context.loadClass(javaClass.getName()));
 	}
@@ -28,28 +28,65 @@
  */
 package org.burningwave.core.classes;
 
+import static org.burningwave.core.assembler.StaticComponentContainer.FileSystemHelper;
 import static org.burningwave.core.assembler.StaticComponentContainer.Paths;
+import static org.burningwave.core.assembler.StaticComponentContainer.Streams;
+import static org.burningwave.core.assembler.StaticComponentContainer.Throwables;
 
 import java.io.File;
+import java.lang.ref.Reference;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 import org.burningwave.core.classes.SearchContext.InitContext;
 import org.burningwave.core.io.ClassFileScanConfig;
+import org.burningwave.core.io.FileSystemItem;
 import org.burningwave.core.io.FileSystemScanner;
+import org.burningwave.core.io.FileSystemScanner.Scan;
+import org.burningwave.core.io.FileSystemWatcher;
 import org.burningwave.core.io.PathHelper;
 import org.burningwave.core.io.PathHelper.ComparePathsResult;
 
 
 abstract class ClassPathScannerWithCachingSupport<I, C extends SearchContext<I>, R extends SearchResult<I>> extends ClassPathScannerAbst<I, C, R> {
-	Map<String, Map<String, I>> cache;
+	Map<String, CachedItems<I>> cache;
+	Map<String, CompletableFuture<Map<String, I>>> pathsInLoading;
+	Map<String, Long> cachedPathsFingerprints;
+	Collection<String> changedPaths;
+	Map<Long, String> cachedArchivesForLength;
+	Map<List<Object>, Map<String, Map<String, I>>> cachedResults;
+	AtomicLong cacheVersion;
+	FileSystemWatcher cachedFoldersWatcher;
+	SharedClassIndex sharedClassIndex;
+	CacheRetentionPolicy cacheRetentionPolicy;
+	Map<String, CachedItems<I>> accessOrderedCachedPaths;
+	ScheduledExecutorService idlePathsEvicter;
+	AtomicLong cachedItemsCount;
+	LongAdder evictedPathsCount;
 
 	ClassPathScannerWithCachingSupport(
 		Supplier<ByteCodeHunter> byteCodeHunterSupplier,
@@ -66,7 +103,16 @@ abstract class ClassPathScannerWithCachingSupport<I, C extends SearchContext<I>,
 			contextSupplier,
 			resultSupplier
 		);
-		this.cache = new HashMap<>();
+		this.cache = new ConcurrentHashMap<>();
+		this.pathsInLoading = new ConcurrentHashMap<>();
+		this.cachedPathsFingerprints = new ConcurrentHashMap<>();
+		this.changedPaths = ConcurrentHashMap.newKeySet();
+		this.cachedArchivesForLength = new ConcurrentHashMap<>();
+		this.cachedResults = new ConcurrentHashMap<>();
+		this.cacheVersion = new AtomicLong();
+		this.accessOrderedCachedPaths = new LinkedHashMap<>(16, 0.75f, true);
+		this.cachedItemsCount = new AtomicLong();
+		this.evictedPathsCount = new LongAdder();
 	}
 	
 	public CacheScanner<I, R> loadInCache(CacheableSearchConfig searchConfig) {
@@ -83,12 +129,62 @@ abstract class ClassPathScannerWithCachingSupport<I, C extends SearchContext<I>,
 			findBy(srcCfg == null? searchConfig : srcCfg);
 	}
 	
+	//The paths are loaded in background: the searches on the paths that are being loaded wait only for the loading of those paths
+	public CacheLoading<I, R> loadInCacheAsync(CacheableSearchConfig searchConfig) {
+		Map<String, CompletableFuture<Map<String, I>>> pathsLoaders = new LinkedHashMap<>();
+		Map<String, CompletableFuture<Map<String, I>>> pathsToBeLoaded = new LinkedHashMap<>();
+		for (String path : searchConfig.getClassFileScanConfiguration().getPaths()) {
+			CompletableFuture<Map<String, I>> loader = new CompletableFuture<>();
+			CompletableFuture<Map<String, I>> existingLoader = pathsInLoading.putIfAbsent(path, loader);
+			if (existingLoader == null) {
+				Map<String, I> itemsForPath = getCachedItems(path, searchConfig.checkForChangesOfCachedPaths);
+				if (itemsForPath != null) {
+					pathsInLoading.remove(path, loader);
+					loader.complete(itemsForPath);
+				} else {
+					pathsToBeLoaded.put(path, loader);
+				}
+				pathsLoaders.put(path, loader);
+			} else {
+				pathsLoaders.put(path, existingLoader);
+			}
+		}
+		for (Entry<String, CompletableFuture<Map<String, I>>> loader : pathsToBeLoaded.entrySet()) {
+			CompletableFuture.runAsync(() -> {
+				String path = loader.getKey();
+				CacheableSearchConfig searchConfigForPath = SearchConfig.forPaths(
+					Arrays.asList(path)
+				).checkFileOptions(
+					searchConfig.getClassFileScanConfiguration().getCheckFileOptions()
+				);
+				try (C context = createContext(searchConfigForPath)) {
+					searchConfigForPath.init(context.pathScannerClassLoader);
+					loadInCache(context, Arrays.asList(path));
+					Map<String, I> itemsForPath = getItemsFromCache(path);
+					pathsInLoading.remove(path, loader.getValue());
+					loader.getValue().complete(itemsForPath != null ? itemsForPath : new HashMap<>());
+				} catch (Throwable exc) {
+					pathsInLoading.remove(path, loader.getValue());
+					loader.getValue().completeExceptionally(exc);
+				}
+			});
+		}
+		return new CacheLoading<>(pathsLoaders, (srcCfg) -> 
+			findBy(srcCfg == null? searchConfig : srcCfg)
+		);
+	}
+	
 	//Cached search
 	public R findBy(CacheableSearchConfig searchConfig) {
+		return findBy(searchConfig, null);
+	}
+	
+	public R findBy(CacheableSearchConfig searchConfig, BiConsumer<String, I> itemFoundListener) {
 		searchConfig = searchConfig.createCopy();
 		C context = createContext(
 			searchConfig
 		);
+		context.itemFoundListener = itemFoundListener;
 		searchConfig.init(context.pathScannerClassLoader);
 		context.executeSearch(() ->
 			scan(context)
@@ -101,54 +197,485 @@ abstract class ClassPathScannerWithCachingSupport<I, C extends SearchContext<I>,
 	}
 	
 	
-	@SuppressWarnings("unchecked")
+	//The paths not yet cached are scanned once for all the searches without being loaded in cache, then each cacheable search is
+	//executed on its cached paths as a single search: the cacheable searches without criteria load their paths in cache instead
+	@Override
+	public List<R> findBy(Collection<? extends SearchConfigAbst<?>> searchConfigs) {
+		List<C> contexts = new ArrayList<>();
+		Map<C, Collection<String>> cacheableContexts = new LinkedHashMap<>();
+		Map<C, Predicate<Scan.ItemContext>> contextsForSharedScan = new LinkedHashMap<>();
+		Collection<ClassFileScanConfig> scanConfigs = new ArrayList<>();
+		boolean scanPathsInOrder = false;
+		for (SearchConfigAbst<?> originalSearchConfig : searchConfigs) {
+			SearchConfigAbst<?> searchConfig = originalSearchConfig.createCopy();
+			C context = createContext(searchConfig);
+			searchConfig.init(context.pathScannerClassLoader);
+			contexts.add(context);
+			ClassFileScanConfig scanConfig = searchConfig.getClassFileScanConfiguration();
+			if (searchConfig instanceof CacheableSearchConfig) {
+				CacheableSearchConfig cacheableSearchConfig = (CacheableSearchConfig)searchConfig;
+				Collection<String> notCachedPaths = new LinkedHashSet<>();
+				cacheableContexts.put(context, notCachedPaths);
+				List<Object> resultKey = getResultKey(context);
+				if ((cacheableSearchConfig.getClassCriteria().hasNoPredicate() && cacheableSearchConfig.classHierarchy == null) ||
+					(resultKey != null && cachedResults.containsKey(resultKey))
+				) {
+					continue;
+				}
+				for (String path : scanConfig.getPaths()) {
+					if (!pathsInLoading.containsKey(path) && getCachedItems(path, cacheableSearchConfig.checkForChangesOfCachedPaths) == null) {
+						notCachedPaths.add(path);
+					}
+				}
+				if (notCachedPaths.isEmpty()) {
+					continue;
+				}
+				scanConfig = scanConfig.createCopy().setPaths(notCachedPaths);
+			}
+			scanPathsInOrder |= searchConfig.getLimit() > 0;
+			contextsForSharedScan.put(context, scanConfig.toScannedItemPredicate());
+			scanConfigs.add(scanConfig);
+		}
+		List<R> results = new ArrayList<>();
+		if (contexts.isEmpty()) {
+			return results;
+		}
+		Scan.Configuration scanConfiguration = !scanConfigs.isEmpty() ?
+			ClassFileScanConfig.toScanConfiguration(
+				scanConfigs,
+				getFileSystemEntryTransformer(contextsForSharedScan),
+				getZipEntryTransformer(contextsForSharedScan)
+			).scanPathsInOrder(
+				scanPathsInOrder
+			) : null;
+		SearchContext.executeSearch(contexts, () -> {
+			if (scanConfiguration != null) {
+				fileSystemScanner.scan(scanConfiguration);
+			}
+			for (Entry<C, Collection<String>> cacheableContext : cacheableContexts.entrySet()) {
+				scan(cacheableContext.getKey(), cacheableContext.getValue());
+			}
+		});
+		for (C context : contexts) {
+			Collection<String> skippedClassesNames = context.getSkippedClassNames();
+			if (!skippedClassesNames.isEmpty()) {
+				logWarn("Skipped classes count: {}", skippedClassesNames.size());
+			}
+			results.add(resultSupplier.apply(context));
+		}
+		return results;
+	}
+	
 	void scan(C context) {
+		scan(context, Collections.emptySet());
+	}
+	
+	//The scanned paths are the not cached ones already searched by a scan shared with other searches
+	void scan(C context, Collection<String> scannedPaths) {
+		List<Object> resultKey = getResultKey(context);
+		if (resultKey != null && addCachedResult(context, resultKey)) {
+			return;
+		}
+		long cacheVersion = this.cacheVersion.get();
 		Collection<String> pathsNotScanned = scanCache(context);
+		pathsNotScanned.removeAll(scannedPaths);
 		if (!pathsNotScanned.isEmpty()) {
-			if (context.getSearchConfig().getClassCriteria().hasNoPredicate()) {
-				synchronized (cache) {
-					pathsNotScanned = scanCache(context);
-					if (!pathsNotScanned.isEmpty()) {
-						for (String path : pathsNotScanned) {
-							Map<String, I> classesForPath = cache.get(path);
-							if (classesForPath != null && !classesForPath.isEmpty()) {
-								context.addAllItemsFound(path,classesForPath);
-								pathsNotScanned.remove(path);
-							}
-						}
-						if (!pathsNotScanned.isEmpty()) {
-							loadInCache(context, pathsNotScanned);
-						}
-					}
-				}
+			pathsNotScanned = scanPathsInLoading(context, pathsNotScanned);
+		}
+		if (pathsNotScanned.isEmpty()) {
+			if (resultKey != null && scannedPaths.isEmpty()) {
+				cacheResult(context, resultKey, cacheVersion);
+			}
+		} else {
+			//Searches with a limit could stop before scanning completely a path and searches filtered by the class hierarchy skip
+			//classes, so they never load the cache
+			CacheableSearchConfig searchConfig = context.getSearchConfig();
+			if (searchConfig.getClassCriteria().hasNoPredicate() && searchConfig.getLimit() <= 0 && searchConfig.classHierarchy == null) {
+				loadInCacheAndWait(context, pathsNotScanned);
 			} else {
 				fileSystemScanner.scan(
 					context.classFileScanConfiguration.createCopy().setPaths(pathsNotScanned).toScanConfiguration(
 						getFileSystemEntryTransformer(context),
 						getZipEntryTransformer(context)
-					)				
+					).scanPathsInOrder(
+						searchConfig.getLimit() > 0
+					)
 				);
 			}
 		}
 	}
 	
+	//Waits for the paths that are being loaded by other threads and then searches their items: returns the paths still to be scanned
+	Collection<String> scanPathsInLoading(C context, Collection<String> paths) {
+		Collection<String> pathsNotScanned = new LinkedHashSet<>();
+		CacheableSearchConfig searchConfig = context.getSearchConfig();
+		boolean testCachedItems = !searchConfig.getClassCriteria().hasNoPredicate() || searchConfig.classHierarchy != null;
+		for (String path : paths) {
+			CompletableFuture<Map<String, I>> loader = pathsInLoading.get(path);
+			Map<String, I> itemsForPath = null;
+			if (loader != null && !context.isItemsFoundLimitReached()) {
+				try {
+					itemsForPath = loader.join();
+				} catch (CompletionException exc) {
+					logWarn("Could not load {} in cache: {}", path, exc.getCause().toString());
+				}
+			}
+			if (itemsForPath == null) {
+				pathsNotScanned.add(path);
+			} else if (!itemsForPath.isEmpty()) {
+				if (testCachedItems) {
+					Map<String, Map<String, I>> cachedItemsToBeTested = new LinkedHashMap<>();
+					cachedItemsToBeTested.put(path, itemsForPath);
+					iterateAndTestCachedItems(context, cachedItemsToBeTested);
+				} else {
+					context.addAllItemsFound(path, itemsForPath);
+				}
+			}
+		}
+		return pathsNotScanned;
+	}
+	
+	void loadInCacheAndWait(C context, Collection<String> paths) {
+		Map<String, CompletableFuture<Map<String, I>>> pathsToBeLoaded = new LinkedHashMap<>();
+		Map<String, CompletableFuture<Map<String, I>>> pathsLoadedByOthers = new LinkedHashMap<>();
+		for (String path : paths) {
+			CompletableFuture<Map<String, I>> loader = new CompletableFuture<>();
+			CompletableFuture<Map<String, I>> existingLoader = pathsInLoading.putIfAbsent(path, loader);
+			if (existingLoader == null) {
+				Map<String, I> itemsForPath = getCachedItems(path, context.getSearchConfig().checkForChangesOfCachedPaths);
+				if (itemsForPath == null) {
+					itemsForPath = loadInCacheFromSharedClassIndex(context, path);
+				}
+				if (itemsForPath != null) {
+					//Loaded by another thread between the cache scan and the registration of the loader or attached from the shared index
+					pathsInLoading.remove(path, loader);
+					loader.complete(itemsForPath);
+					pathsLoadedByOthers.put(path, loader);
+				} else {
+					pathsToBeLoaded.put(path, loader);
+				}
+			} else {
+				pathsLoadedByOthers.put(path, existingLoader);
+			}
+		}
+		if (!pathsToBeLoaded.isEmpty()) {
+			try {
+				loadInCache(context, pathsToBeLoaded.keySet());
+			} catch (Throwable exc) {
+				for (Entry<String, CompletableFuture<Map<String, I>>> loader : pathsToBeLoaded.entrySet()) {
+					pathsInLoading.remove(loader.getKey(), loader.getValue());
+					loader.getValue().completeExceptionally(exc);
+				}
+				throw exc;
+			}
+			for (Entry<String, CompletableFuture<Map<String, I>>> loader : pathsToBeLoaded.entrySet()) {
+				Map<String, I> itemsForPath = getItemsFromCache(loader.getKey());
+				pathsInLoading.remove(loader.getKey(), loader.getValue());
+				loader.getValue().complete(itemsForPath != null ? itemsForPath : new HashMap<>());
+			}
+		}
+		for (Entry<String, CompletableFuture<Map<String, I>>> loader : pathsLoadedByOthers.entrySet()) {
+			Map<String, I> itemsForPath;
+			try {
+				itemsForPath = loader.getValue().join();
+			} catch (CompletionException exc) {
+				throw Throwables.toRuntimeException(exc.getCause());
+			}
+			if (!itemsForPath.isEmpty()) {
+				context.addAllItemsFound(loader.getKey(), itemsForPath);
+			}
+		}
+	}
+	
+	//Results are cached only for searches that use the shared class loader and that collect all the items found
+	List<Object> getResultKey(C context) {
+		CacheableSearchConfig searchConfig = context.getSearchConfig();
+		if (searchConfig.getResultKey() == null || !searchConfig.useSharedClassLoaderAsMain || searchConfig.getLimit() > 0) {
+			return null;
+		}
+		return Arrays.asList(searchConfig.getResultKey(), new HashSet<>(searchConfig.getClassFileScanConfiguration().getPaths()));
+	}
+	
+	//The results are dropped by removeCachedResults whenever one of their paths is rescanned or evicted: the changes of the
+	//watched paths are notified by the watcher while the fingerprints of the other ones are checked only if requested
+	boolean addCachedResult(C context, List<Object> resultKey) {
+		Map<String, Map<String, I>> itemsFound = cachedResults.get(resultKey);
+		if (itemsFound == null) {
+			return false;
+		}
+		boolean checkForChanges = context.getSearchConfig().checkForChangesOfCachedPaths;
+		FileSystemWatcher cachedFoldersWatcher = this.cachedFoldersWatcher;
+		for (String path : context.getSearchConfig().getClassFileScanConfiguration().getPaths()) {
+			if (!changedPaths.contains(path) && checkForChanges && (cachedFoldersWatcher == null || !cachedFoldersWatcher.isWatched(path))) {
+				Long fingerprint = cachedPathsFingerprints.get(path);
+				if (fingerprint == null || fingerprint != FileSystemHelper.computeFingerprint(path)) {
+					changedPaths.add(path);
+				}
+			}
+			if (changedPaths.contains(path)) {
+				cachedResults.remove(resultKey, itemsFound);
+				return false;
+			}
+		}
+		for (Entry<String, Map<String, I>> itemsForPath : itemsFound.entrySet()) {
+			context.addAllItemsFound(itemsForPath.getKey(), itemsForPath.getValue());
+		}
+		return true;
+	}
+	
+	void cacheResult(C context, List<Object> resultKey, long cacheVersion) {
+		Map<String, Map<String, I>> itemsFound = new HashMap<>();
+		for (String path : context.getSearchConfig().getClassFileScanConfiguration().getPaths()) {
+			Map<String, I> itemsForPath = context.getItemsFound(path);
+			if (itemsForPath != null) {
+				itemsFound.put(path, new HashMap<>(itemsForPath));
+			}
+		}
+		cachedResults.put(resultKey, itemsFound);
+		//A path scanned again in the meantime could have made the result stale
+		if (this.cacheVersion.get() != cacheVersion) {
+			cachedResults.remove(resultKey, itemsFound);
+		}
+	}
+	
+	void removeCachedResults(String path) {
+		cacheVersion.incrementAndGet();
+		cachedResults.keySet().removeIf(resultKey -> ((Collection<?>)resultKey.get(1)).contains(path));
+	}
+	
+	Map<String, I> loadInCacheFromSharedClassIndex(C context, String path) {
+		SharedClassIndex sharedClassIndex = this.sharedClassIndex;
+		if (sharedClassIndex == null || !supportsSharedClassIndex()) {
+			return null;
+		}
+		long fingerprint = FileSystemHelper.computeFingerprint(path);
+		Map<String, JavaClass> javaClasses = sharedClassIndex.attach(path, fingerprint);
+		if (javaClasses == null) {
+			return null;
+		}
+		Map<String, I> itemsForPath = toCachedItems(context, javaClasses);
+		changedPaths.remove(path);
+		putInCache(path, fingerprint, itemsForPath);
+		return itemsForPath;
+	}
+	
+	boolean supportsSharedClassIndex() {
+		return false;
+	}
+	
+	//Converts the classes attached from the shared index to the cached items
+	Map<String, I> toCachedItems(C context, Map<String, JavaClass> javaClasses) {
+		throw Throwables.toRuntimeException(getClass().getSimpleName() + " does not support the shared class index");
+	}
+	
+	void publishToSharedClassIndex(C context, String path, long fingerprint) {
+		SharedClassIndex sharedClassIndex = this.sharedClassIndex;
+		if (sharedClassIndex != null && context.javaClassesFound != null) {
+			Map<String, JavaClass> javaClasses = context.javaClassesFound.get(path);
+			sharedClassIndex.publish(path, fingerprint, javaClasses != null ? javaClasses : new HashMap<>());
+		}
+	}
+	
+	void putInCache(String path, long fingerprint, Map<String, I> itemsForPath) {
+		this.cachedPathsFingerprints.put(path, fingerprint);
+		CacheRetentionPolicy cacheRetentionPolicy = this.cacheRetentionPolicy;
+		CachedItems<I> cachedItems = new CachedItems<>(itemsForPath, cacheRetentionPolicy);
+		CachedItems<I> oldCachedItems = this.cache.put(path, cachedItems);
+		if (cacheRetentionPolicy != null) {
+			synchronized (accessOrderedCachedPaths) {
+				accessOrderedCachedPaths.put(path, cachedItems);
+			}
+		}
+		cachedItemsCount.addAndGet(itemsForPath.size() - (oldCachedItems != null ? oldCachedItems.size : 0));
+		removeCachedResults(path);
+		FileSystemWatcher cachedFoldersWatcher = this.cachedFoldersWatcher;
+		//The changes that occurred between the computation of the fingerprint and the registration are not notified
+		if (cachedFoldersWatcher != null && !cachedFoldersWatcher.isWatched(path) &&
+			cachedFoldersWatcher.register(path, changedPath -> changedPaths.add(path)) &&
+			fingerprint != FileSystemHelper.computeFingerprint(path)
+		) {
+			changedPaths.add(path);
+		}
+		if (cacheRetentionPolicy != null) {
+			applyCacheRetentionPolicy(path);
+		}
+	}
+	
+	Map<String, I> getItemsFromCache(String path) {
+		CachedItems<I> cachedItems = cache.get(path);
+		if (cachedItems == null) {
+			return null;
+		}
+		CacheRetentionPolicy cacheRetentionPolicy = this.cacheRetentionPolicy;
+		long currentTime = System.currentTimeMillis();
+		Map<String, I> itemsForPath = cachedItems.get();
+		if (itemsForPath == null || (cacheRetentionPolicy != null && cacheRetentionPolicy.isIdle(cachedItems.lastAccessTime, currentTime))) {
+			evict(path, cachedItems);
+			return null;
+		}
+		cachedItems.lastAccessTime = currentTime;
+		if (cacheRetentionPolicy != null) {
+			synchronized (accessOrderedCachedPaths) {
+				accessOrderedCachedPaths.get(path);
+			}
+		}
+		return itemsForPath;
+	}
+	
+	//The least recently accessed paths are evicted while they are idle or the cache exceeds the bounds: the path just cached is kept
+	void applyCacheRetentionPolicy(String pathToBeKept) {
+		CacheRetentionPolicy cacheRetentionPolicy = this.cacheRetentionPolicy;
+		if (cacheRetentionPolicy == null) {
+			return;
+		}
+		long currentTime = System.currentTimeMillis();
+		while (true) {
+			Entry<String, CachedItems<I>> leastRecentlyAccessedPath = null;
+			synchronized (accessOrderedCachedPaths) {
+				for (Entry<String, CachedItems<I>> cachedPath : accessOrderedCachedPaths.entrySet()) {
+					if (!cachedPath.getKey().equals(pathToBeKept)) {
+						leastRecentlyAccessedPath = cachedPath;
+						break;
+					}
+				}
+			}
+			if (leastRecentlyAccessedPath == null || (
+				leastRecentlyAccessedPath.getValue().get() != null &&
+				!cacheRetentionPolicy.isIdle(leastRecentlyAccessedPath.getValue().lastAccessTime, currentTime) &&
+				(cacheRetentionPolicy.maxPaths <= 0 || cache.size() <= cacheRetentionPolicy.maxPaths) &&
+				(cacheRetentionPolicy.maxItems <= 0 || cachedItemsCount.get() <= cacheRetentionPolicy.maxItems)
+			)) {
+				return;
+			}
+			evict(leastRecentlyAccessedPath.getKey(), leastRecentlyAccessedPath.getValue());
+		}
+	}
+	
+	boolean evict(String path, CachedItems<I> cachedItems) {
+		synchronized (accessOrderedCachedPaths) {
+			accessOrderedCachedPaths.remove(path, cachedItems);
+		}
+		if (cache.remove(path, cachedItems)) {
+			cachedItemsCount.addAndGet(-cachedItems.size);
+			cachedPathsFingerprints.remove(path);
+			cachedArchivesForLength.values().remove(path);
+			removeCachedResults(path);
+			FileSystemWatcher cachedFoldersWatcher = this.cachedFoldersWatcher;
+			if (cachedFoldersWatcher != null) {
+				cachedFoldersWatcher.unregister(path);
+			}
+			evictedPathsCount.increment();
+			return true;
+		}
+		return false;
+	}
+	
+	public synchronized void setCacheRetentionPolicy(CacheRetentionPolicy cacheRetentionPolicy) {
+		this.cacheRetentionPolicy = cacheRetentionPolicy;
+		synchronized (accessOrderedCachedPaths) {
+			accessOrderedCachedPaths.clear();
+		}
+		if (cacheRetentionPolicy != null) {
+			//The values already cached are wrapped again according to the new policy
+			List<Entry<String, CachedItems<I>>> cachedPaths = new ArrayList<>();
+			for (Entry<String, CachedItems<I>> cachedPath : cache.entrySet()) {
+				Map<String, I> itemsForPath = cachedPath.getValue().get();
+				if (itemsForPath != null) {
+					CachedItems<I> cachedItems = new CachedItems<>(itemsForPath, cacheRetentionPolicy);
+					cachedItems.lastAccessTime = cachedPath.getValue().lastAccessTime;
+					if (cache.replace(cachedPath.getKey(), cachedPath.getValue(), cachedItems)) {
+						cachedPaths.add(new SimpleImmutableEntry<>(cachedPath.getKey(), cachedItems));
+					}
+				}
+			}
+			cachedPaths.sort((cachedPathOne, cachedPathTwo) ->
+				Long.compare(cachedPathOne.getValue().lastAccessTime, cachedPathTwo.getValue().lastAccessTime)
+			);
+			synchronized (accessOrderedCachedPaths) {
+				for (Entry<String, CachedItems<I>> cachedPath : cachedPaths) {
+					accessOrderedCachedPaths.put(cachedPath.getKey(), cachedPath.getValue());
+				}
+			}
+			applyCacheRetentionPolicy(null);
+		}
+		scheduleIdlePathsEviction(cacheRetentionPolicy);
+	}
+	
+	//Idle paths are evicted also when the hunter is not used
+	synchronized void scheduleIdlePathsEviction(CacheRetentionPolicy cacheRetentionPolicy) {
+		if (idlePathsEvicter != null) {
+			idlePathsEvicter.shutdownNow();
+			idlePathsEvicter = null;
+		}
+		if (cacheRetentionPolicy != null && cacheRetentionPolicy.timeToIdle > 0) {
+			idlePathsEvicter = Executors.newSingleThreadScheduledExecutor(task -> {
+				Thread thread = new Thread(task, getClass().getSimpleName() + " idle paths evicter");
+				thread.setDaemon(true);
+				return thread;
+			});
+			long period = Math.max(cacheRetentionPolicy.timeToIdle / 2, 1);
+			idlePathsEvicter.scheduleWithFixedDelay(() -> {
+				try {
+					applyCacheRetentionPolicy(null);
+				} catch (Throwable exc) {
+					logWarn("Could not evict idle paths: {}", exc.toString());
+				}
+			}, period, period, TimeUnit.MILLISECONDS);
+		}
+	}
+	
+	public long getEvictedPathsCount() {
+		return evictedPathsCount.sum();
+	}
+	
+	public long getCachedItemsCount() {
+		return cachedItemsCount.get();
+	}
+	
 	Collection<String> scanCache(C context) {
 		Collection<String> pathsNotScanned = new LinkedHashSet<>();
 		CacheableSearchConfig searchConfig = context.getSearchConfig();
-		if (!context.getSearchConfig().getClassCriteria().hasNoPredicate()) {
-			for (String path : searchConfig.getClassFileScanConfiguration().getPaths()) {
-				Map<String, I> classesForPath = cache.get(path);
+		boolean checkForChanges = searchConfig.checkForChangesOfCachedPaths;
+		Collection<String> paths = searchConfig.getClassFileScanConfiguration().getSortedPaths();
+		boolean testCachedItems = !searchConfig.getClassCriteria().hasNoPredicate() || searchConfig.classHierarchy != null;
+		if (testCachedItems && searchConfig.getLimit() > 0) {
+			//The paths are tested one at a time in order to stop as soon as the limit is reached
+			for (String path : paths) {
+				if (context.isItemsFoundLimitReached()) {
+					break;
+				}
+				Map<String, I> classesForPath = getCachedItems(path, checkForChanges);
+				if (classesForPath != null) {
+					if (!classesForPath.isEmpty()) {
+						Map<String, Map<String, I>> cachedItemsToBeTested = new LinkedHashMap<>();
+						cachedItemsToBeTested.put(path, classesForPath);
+						iterateAndTestCachedItems(context, cachedItemsToBeTested);
+					}
+				} else {
+					pathsNotScanned.add(path);
+				}
+			}
+		} else if (testCachedItems) {
+			Map<String, Map<String, I>> cachedItemsToBeTested = new LinkedHashMap<>();
+			for (String path : paths) {
+				Map<String, I> classesForPath = getCachedItems(path, checkForChanges);
 				if (classesForPath != null) {
 					if (!classesForPath.isEmpty()) {	
-						iterateAndTestCachedItemsForPath(context, path, classesForPath);
+						cachedItemsToBeTested.put(path, classesForPath);
 					}
 				} else {
 					pathsNotScanned.add(path);
 				}
 			}
+			if (!cachedItemsToBeTested.isEmpty()) {
+				iterateAndTestCachedItems(context, cachedItemsToBeTested);
+			}
 		} else {
-			for (String path : searchConfig.getClassFileScanConfiguration().getPaths()) {
-				Map<String, I> classesForPath = cache.get(path);
+			for (String path : paths) {
+				if (context.isItemsFoundLimitReached()) {
+					break;
+				}
+				Map<String, I> classesForPath = getCachedItems(path, checkForChanges);
 				if (classesForPath != null) {
 					if (!classesForPath.isEmpty()) {
 						context.addAllItemsFound(path, classesForPath);
@@ -161,18 +688,50 @@ abstract class ClassPathScannerWithCachingSupport<I, C extends SearchContext<I>,
 		return pathsNotScanned;
 	}
 
-	@SuppressWarnings("unchecked")
+	Map<String, I> getCachedItems(String path, boolean checkForChanges) {
+		Map<String, I> itemsForPath = getItemsFromCache(path);
+		if (itemsForPath != null) {
+			if (changedPaths.contains(path)) {
+				return null;
+			}
+			//The fingerprints of the watched folders are kept until a change is notified, so their trees are not walked
+			FileSystemWatcher cachedFoldersWatcher = this.cachedFoldersWatcher;
+			if (checkForChanges && (cachedFoldersWatcher == null || !cachedFoldersWatcher.isWatched(path))) {
+				Long fingerprint = cachedPathsFingerprints.get(path);
+				if (fingerprint == null || fingerprint != FileSystemHelper.computeFingerprint(path)) {
+					changedPaths.add(path);
+					return null;
+				}
+			}
+		}
+		return itemsForPath;
+	}
+	
 	void loadInCache(C context, Collection<String> paths) {
-		ComparePathsResult comparePathsResult = pathHelper.comparePaths(cache.keySet(), paths);
-		ClassFileScanConfig classFileScanConfiguration = context.classFileScanConfiguration.createCopy().setPaths(comparePathsResult.getNotContainedPaths());
+		Collection<String> notChangedCachedPaths = new HashSet<>(cache.keySet());
+		notChangedCachedPaths.removeAll(changedPaths);
+		ComparePathsResult comparePathsResult = pathHelper.comparePaths(notChangedCachedPaths, paths);
+		Map<String, Long> fingerprints = new ConcurrentHashMap<>();
+		Collection<String> notContainedPaths = new LinkedHashSet<>(comparePathsResult.getNotContainedPaths());
+		Map<Long, String> archivesToBeScanned = new HashMap<>();
+		Map<String, String> duplicateArchives = retrieveDuplicateArchives(
+			notContainedPaths, archivesToBeScanned, context.getSearchConfig().checkForChangesOfCachedPaths
+		);
+		notContainedPaths.removeAll(duplicateArchives.keySet());
+		ClassFileScanConfig classFileScanConfiguration = context.classFileScanConfiguration.createCopy().setPaths(notContainedPaths);
 		Map<String, Map<String, I>> tempCache = new LinkedHashMap<>();
 		if (!comparePathsResult.getPartialContainedDirectories().isEmpty()) {
 			Predicate<File> directoryPredicate = null;
 			for (Entry<String, Collection<String>> entry : comparePathsResult.getPartialContainedDirectories().entrySet()) {
 				for (String path : entry.getValue()) {
-					tempCache.put(entry.getKey(), cache.get(path));
+					Map<String, I> itemsOfContainedPath = getItemsFromCache(path);
+					if (itemsOfContainedPath == null) {
+						//Evicted in the meantime: the path will be scanned
+						continue;
+					}
+					tempCache.computeIfAbsent(entry.getKey(), key -> new HashMap<>()).putAll(itemsOfContainedPath);
 					if (directoryPredicate != null) {
-						directoryPredicate.and(file -> !(Paths.clean(file.getAbsolutePath()) + "/").startsWith(Paths.clean(path) + "/"));
+						directoryPredicate = directoryPredicate.and(file -> !(Paths.clean(file.getAbsolutePath()) + "/").startsWith(Paths.clean(path) + "/"));
 					} else {
 						directoryPredicate = file -> !(Paths.clean(file.getAbsolutePath()) + "/").startsWith(Paths.clean(path) + "/");
 					}
@@ -186,9 +745,13 @@ abstract class ClassPathScannerWithCachingSupport<I, C extends SearchContext<I>,
 			Predicate<File> filePredicate = null;
 			for (Entry<String, Collection<String>> entry : comparePathsResult.getPartialContainedFiles().entrySet()) {
 				for (String path : entry.getValue()) {
-					tempCache.put(Paths.clean(entry.getKey()), cache.get(path));
+					Map<String, I> itemsOfContainedPath = getItemsFromCache(path);
+					if (itemsOfContainedPath == null) {
+						continue;
+					}
+					tempCache.computeIfAbsent(Paths.clean(entry.getKey()), key -> new HashMap<>()).putAll(itemsOfContainedPath);
 					if (filePredicate != null) {
-						filePredicate.and(file -> !(Paths.clean(file.getAbsolutePath())).equals(Paths.clean(path)));
+						filePredicate = filePredicate.and(file -> !(Paths.clean(file.getAbsolutePath())).equals(Paths.clean(path)));
 					} else {
 						filePredicate = file -> !(Paths.clean(file.getAbsolutePath())).equals(Paths.clean(path));
 					}
@@ -205,31 +768,136 @@ abstract class ClassPathScannerWithCachingSupport<I, C extends SearchContext<I>,
 			}
 		}
 		
+		if (sharedClassIndex != null && supportsSharedClassIndex()) {
+			context.collectJavaClassesFound();
+		}
 		fileSystemScanner.scan(
 			classFileScanConfiguration.toScanConfiguration(
 				getFileSystemEntryTransformer(context),
 				getZipEntryTransformer(context)
-			).afterScanPath((mainScanContext, path) -> {
-				mainScanContext.waitForTasksEnding();
+			).beforeScanPath((mainScanContext, path) -> {
+				//Changes notified from now on will invalidate the items that are going to be loaded
+				changedPaths.remove(path);
+				fingerprints.put(path, FileSystemHelper.computeFingerprint(path));
+			}).afterScanPath((mainScanContext, path) -> {
+				mainScanContext.waitForTasksEnding(path);
 				Map<String, I> itemsForPath = new HashMap<>();
 				Map<String, I> itemsFound = context.getItemsFound(path);
 				if (itemsFound != null) {
 					itemsForPath.putAll(itemsFound);
 				}
-				this.cache.put(path, itemsForPath);
+				//The map is completed before being published so that readers never see it while it changes
+				Map<String, I> cachedItemsOfContainedPaths = tempCache.get(path);
+				if (cachedItemsOfContainedPaths != null) {
+					itemsForPath.putAll(cachedItemsOfContainedPaths);
+				} else {
+					publishToSharedClassIndex(context, path, fingerprints.get(path));
+				}
+				putInCache(path, fingerprints.get(path), itemsForPath);
 			})
 		);
 		if (!tempCache.isEmpty()) {
 			for (Entry<String, Map<String, I>> entry : tempCache.entrySet()) {
-				cache.get(entry.getKey()).putAll(entry.getValue());
 				context.addAllItemsFound(entry.getKey(), entry.getValue());
 			}
 		}
+		for (Entry<Long, String> archive : archivesToBeScanned.entrySet()) {
+			if (cache.containsKey(archive.getValue())) {
+				cachedArchivesForLength.put(archive.getKey(), archive.getValue());
+			}
+		}
+		for (Entry<String, String> duplicateArchive : duplicateArchives.entrySet()) {
+			Map<String, I> itemsForPath = copyItemsOfArchive(duplicateArchive.getValue(), duplicateArchive.getKey());
+			if (itemsForPath != null) {
+				if (!itemsForPath.isEmpty()) {
+					context.addAllItemsFound(duplicateArchive.getKey(), itemsForPath);
+				}
+			} else {
+				//The original archive has not been cached: the duplicate is scanned on its own
+				loadInCache(context, Arrays.asList(duplicateArchive.getKey()));
+			}
+		}
+	}
+	
+	//Archives with the same content of another one in the same scan or in the cache are mapped to the path of the latter:
+	//only the archives with the same length are compared and their contents are streamed instead of being loaded in memory
+	Map<String, String> retrieveDuplicateArchives(Collection<String> paths, Map<Long, String> archivesToBeScanned, boolean checkForChanges) {
+		Map<String, String> duplicateArchives = new LinkedHashMap<>();
+		for (String path : paths) {
+			File archive = new File(path);
+			if (!archive.isFile() || !FileSystemItem.ofPath(path).isArchive()) {
+				continue;
+			}
+			Long length = archive.length();
+			String originalPath = archivesToBeScanned.get(length);
+			if (originalPath == null) {
+				originalPath = cachedArchivesForLength.get(length);
+				if (originalPath != null && (originalPath.equals(path) || getCachedItems(originalPath, checkForChanges) == null)) {
+					originalPath = null;
+				}
+			}
+			if (originalPath != null && FileSystemHelper.haveSameContent(archive, new File(originalPath))) {
+				duplicateArchives.put(path, originalPath);
+			} else {
+				archivesToBeScanned.putIfAbsent(length, path);
+			}
+		}
+		return duplicateArchives;
+	}
+	
+	Map<String, I> copyItemsOfArchive(String originalPath, String path) {
+		Map<String, I> itemsOfOriginal = getItemsFromCache(originalPath);
+		if (itemsOfOriginal == null) {
+			return null;
+		}
+		String originalPathPrefix = Paths.clean(originalPath);
+		String pathPrefix = Paths.clean(path);
+		Map<String, I> itemsForPath = new HashMap<>();
+		for (Entry<String, I> item : itemsOfOriginal.entrySet()) {
+			String key = item.getKey();
+			if (key.startsWith(originalPathPrefix)) {
+				key = pathPrefix + key.substring(originalPathPrefix.length());
+			}
+			itemsForPath.put(key, item.getValue());
+		}
+		changedPaths.remove(path);
+		putInCache(path, FileSystemHelper.computeFingerprint(path), itemsForPath);
+		return itemsForPath;
 	}
 	
 
+	void iterateAndTestCachedItems(C context, Map<String, Map<String, I>> cachedItemsToBeTested) {
+		int threshold = context.getSearchConfig().getMinCachedItemsForParallelTesting();
+		int cachedItemsCount = 0;
+		for (Map<String, I> itemsForPath : cachedItemsToBeTested.values()) {
+			cachedItemsCount += itemsForPath.size();
+		}
+		if (threshold <= 0 || cachedItemsCount <= threshold) {
+			for (Entry<String, Map<String, I>> itemsForPath : cachedItemsToBeTested.entrySet()) {
+				iterateAndTestCachedItemsForPath(context, itemsForPath.getKey(), itemsForPath.getValue());
+			}
+			return;
+		}
+		//The threshold only enables the parallel testing: the items are split in about four tasks for each worker
+		int leafSize = Math.max(1, cachedItemsCount / (ForkJoinPool.commonPool().getParallelism() * 4));
+		List<CachedItemsTester> testers = new ArrayList<>();
+		for (Entry<String, Map<String, I>> itemsForPath : cachedItemsToBeTested.entrySet()) {
+			List<Entry<String, I>> cachedItems = new ArrayList<>(itemsForPath.getValue().entrySet());
+			testers.add(new CachedItemsTester(context, itemsForPath.getKey(), cachedItems, 0, cachedItems.size(), leafSize));
+		}
+		for (CachedItemsTester tester : testers) {
+			ForkJoinPool.commonPool().execute(tester);
+		}
+		for (CachedItemsTester tester : testers) {
+			tester.join();
+		}
+	}
+	
 	<S extends SearchConfigAbst<S>> void iterateAndTestCachedItemsForPath(C context, String path, Map<String, I> itemsForPath) {
 		for (Entry<String, I> cachedItemAsEntry : itemsForPath.entrySet()) {
+			if (context.isItemsFoundLimitReached()) {
+				break;
+			}
 			ClassCriteria.TestContext testContext = testCachedItem(context, path, cachedItemAsEntry.getKey(), cachedItemAsEntry.getValue());
 			if(testContext.getResult()) {
 				addCachedItemToContext(context, testContext, path, cachedItemAsEntry);
@@ -246,22 +914,164 @@ abstract class ClassPathScannerWithCachingSupport<I, C extends SearchContext<I>,
 
 	abstract <S extends SearchConfigAbst<S>> ClassCriteria.TestContext testCachedItem(C context, String path, String key, I value);
 	
+	public synchronized void watchCachedFolders(boolean flag) {
+		if (flag && cachedFoldersWatcher == null) {
+			FileSystemWatcher cachedFoldersWatcher = FileSystemWatcher.create();
+			for (String path : cache.keySet()) {
+				cachedFoldersWatcher.register(path, changedPath -> changedPaths.add(path));
+			}
+			this.cachedFoldersWatcher = cachedFoldersWatcher;
+		} else if (!flag && cachedFoldersWatcher != null) {
+			cachedFoldersWatcher.close();
+			cachedFoldersWatcher = null;
+		}
+	}
+	
+	//Paths loaded in cache are published to the shared index and the paths whose index is found are attached instead of being scanned
+	public void useSharedClassIndex(SharedClassIndex sharedClassIndex) {
+		this.sharedClassIndex = sharedClassIndex;
+	}
+	
 	public void clearCache() {
+		FileSystemWatcher cachedFoldersWatcher = this.cachedFoldersWatcher;
+		if (cachedFoldersWatcher != null) {
+			cache.keySet().forEach(cachedFoldersWatcher::unregister);
+		}
 		cache.entrySet().stream().forEach(entry -> {
-			entry.getValue().clear();
+			Map<String, I> itemsForPath = entry.getValue().get();
+			if (itemsForPath != null) {
+				itemsForPath.clear();
+			}
 		});
 		cache.clear();
+		synchronized (accessOrderedCachedPaths) {
+			accessOrderedCachedPaths.clear();
+		}
+		cachedItemsCount.set(0);
+		cachedPathsFingerprints.clear();
+		changedPaths.clear();
+		cachedArchivesForLength.clear();
+		cacheVersion.incrementAndGet();
+		cachedResults.clear();
 	}
 	
 	@Override
 	public void close() {
+		watchCachedFolders(false);
+		scheduleIdlePathsEviction(null);
 		clearCache();
 		cache = null;
+		cachedPathsFingerprints = null;
+		changedPaths = null;
+		cachedArchivesForLength = null;
+		cachedResults = null;
+		sharedClassIndex = null;
+		pathsInLoading = null;
 		byteCodeHunterSupplier = null;
 		pathHelper = null;
 		contextSupplier = null;
 	}
 	
+	static class CachedItems<I> {
+		final Map<String, I> items;
+		final Reference<Map<String, I>> itemsReference;
+		final int size;
+		volatile long lastAccessTime;
+		
+		CachedItems(Map<String, I> items, CacheRetentionPolicy cacheRetentionPolicy) {
+			if (cacheRetentionPolicy == null || cacheRetentionPolicy.valuesReference == CacheRetentionPolicy.ValuesReference.STRONG) {
+				this.items = items;
+				this.itemsReference = null;
+			} else {
+				this.items = null;
+				this.itemsReference = cacheRetentionPolicy.createReference(items);
+			}
+			this.size = items.size();
+			this.lastAccessTime = System.currentTimeMillis();
+		}
+		
+		Map<String, I> get() {
+			return items != null ? items : itemsReference.get();
+		}
+	}
+	
+	@SuppressWarnings("serial")
+	//The items found are added to the context, which supports concurrent writes, by the leaf tasks themselves, and no task is split
+	//or tested anymore once the limit of the items found is reached
+	class CachedItemsTester extends RecursiveAction {
+		private final C context;
+		private final String path;
+		private final List<Entry<String, I>> cachedItems;
+		private final int from;
+		private final int to;
+		private final int leafSize;
+		
+		CachedItemsTester(C context, String path, List<Entry<String, I>> cachedItems, int from, int to, int leafSize) {
+			this.context = context;
+			this.path = path;
+			this.cachedItems = cachedItems;
+			this.from = from;
+			this.to = to;
+			this.leafSize = leafSize;
+		}
+		
+		@Override
+		protected void compute() {
+			if (context.isItemsFoundLimitReached()) {
+				return;
+			}
+			if (to - from <= leafSize) {
+				for (int i = from; i < to && !context.isItemsFoundLimitReached(); i++) {
+					Entry<String, I> cachedItemAsEntry = cachedItems.get(i);
+					ClassCriteria.TestContext testContext = testCachedItem(context, path, cachedItemAsEntry.getKey(), cachedItemAsEntry.getValue());
+					if(testContext.getResult()) {
+						addCachedItemToContext(context, testContext, path, cachedItemAsEntry);
+					}
+				}
+				return;
+			}
+			int middle = (from + to) >>> 1;
+			CachedItemsTester left = new CachedItemsTester(context, path, cachedItems, from, middle, leafSize);
+			CachedItemsTester right = new CachedItemsTester(context, path, cachedItems, middle, to, leafSize);
+			left.fork();
+			right.compute();
+			left.join();
+		}
+	}
+	
+	public static class CacheLoading<I, R extends SearchResult<I>> implements CacheScanner<I, R> {
+		private final Map<String, CompletableFuture<Void>> pathsReadiness;
+		private final CompletableFuture<Void> readiness;
+		private final CacheScanner<I, R> cacheScanner;
+		
+		CacheLoading(Map<String, CompletableFuture<Map<String, I>>> pathsLoaders, CacheScanner<I, R> cacheScanner) {
+			Map<String, CompletableFuture<Void>> pathsReadiness = new LinkedHashMap<>();
+			for (Entry<String, CompletableFuture<Map<String, I>>> loader : pathsLoaders.entrySet()) {
+				pathsReadiness.put(loader.getKey(), loader.getValue().thenApply(itemsForPath -> null));
+			}
+			this.pathsReadiness = pathsReadiness;
+			this.readiness = CompletableFuture.allOf(pathsReadiness.values().toArray(new CompletableFuture<?>[pathsReadiness.size()]));
+			this.cacheScanner = cacheScanner;
+		}
+		
+		public Map<String, CompletableFuture<Void>> getPathsReadiness() {
+			return pathsReadiness;
+		}
+		
+		public CompletableFuture<Void> getReadinessOf(String path) {
+			return pathsReadiness.get(Paths.normalizeAndClean(path));
+		}
+		
+		public CompletableFuture<Void> getReadiness() {
+			return readiness;
+		}
+		
+		@Override
+		public R findBy(CacheableSearchConfig srcCfg) {
+			return cacheScanner.findBy(srcCfg);
+		}
+	}
+	
 	@FunctionalInterface
 	public static interface CacheScanner<I, R extends SearchResult<I>> {
 		
@@ -46,20 +46,28 @@ import java.lang.reflect.Method;
 import java.net.URL;
 import java.nio.ByteBuffer;
 import java.security.ProtectionDomain;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.burningwave.core.Component;
+import org.burningwave.core.function.ThrowingFunction;
 import org.burningwave.core.function.ThrowingSupplier;
 
 public class Classes implements Component, MembersRetriever {
@@ -87,6 +95,7 @@ public class Classes implements Component, MembersRetriever {
 	}
 
 	private static final int V15;
+	private static final Pattern DESCRIPTOR_CLASS_NAME_PATTERN = Pattern.compile("L([\\w/$]+)[;<]");
 	
 	static {
 		V15 = 0 << 16 | 59;
@@ -185,9 +194,55 @@ public class Classes implements Component, MembersRetriever {
 		return retrieveName(classFileBuffer::get, checkClassVersion);
 	}
 	
+	public Collection<String> retrieveSuperTypeNames(ByteBuffer classFileBuffer) {
+		return retrieveSuperTypeNames(classFileBuffer::get);
+	}
+	
+	public Collection<String> retrieveSuperTypeNames(final byte[] classFileBuffer) {
+		return retrieveSuperTypeNames((index) -> classFileBuffer[index]);
+	}
+	
+	private Collection<String> retrieveSuperTypeNames(final Function<Integer, Byte> byteSupplier) {
+		List<String> names = readClassNames(byteSupplier, false, true, false);
+		Collection<String> superTypeNames = new LinkedHashSet<>();
+		for (int i = 1; i < names.size(); i++) {
+			superTypeNames.add(names.get(i).replace("/", "."));
+		}
+		return superTypeNames;
+	}
+	
 	private String retrieveName(
 		final Function<Integer, Byte> byteSupplier,
 		final boolean checkClassVersion
+	) {
+		return readClassNames(byteSupplier, checkClassVersion, false, false).get(0);
+	}
+	
+	public Collection<String> retrieveReferencedClassNames(ByteBuffer classFileBuffer) {
+		return retrieveReferencedClassNames(classFileBuffer::get);
+	}
+	
+	public Collection<String> retrieveReferencedClassNames(final byte[] classFileBuffer) {
+		return retrieveReferencedClassNames((index) -> classFileBuffer[index]);
+	}
+	
+	//Names of the classes referred by the constant pool entries of type class and by the descriptors and the signatures: the result can
+	//include names that are not of classes (e.g. string constants with the same format) but never misses a referred class
+	private Collection<String> retrieveReferencedClassNames(final Function<Integer, Byte> byteSupplier) {
+		List<String> names = readClassNames(byteSupplier, false, false, true);
+		Collection<String> referencedClassNames = new LinkedHashSet<>();
+		for (int i = 1; i < names.size(); i++) {
+			referencedClassNames.add(names.get(i).replace("/", "."));
+		}
+		referencedClassNames.remove(names.get(0).replace("/", "."));
+		return referencedClassNames;
+	}
+	
+	private List<String> readClassNames(
+		final Function<Integer, Byte> byteSupplier,
+		final boolean checkClassVersion,
+		final boolean includeSuperTypes,
+		final boolean includeReferencedTypes
 	) {
 		int classFileOffset = 0;
 		if (checkClassVersion && readShort(byteSupplier, classFileOffset + 6) > V15) {
@@ -197,6 +252,8 @@ public class Classes implements Component, MembersRetriever {
 		int constantPoolCount = readUnsignedShort(byteSupplier, classFileOffset + 8);
 		int[] cpInfoOffsets = new int[constantPoolCount];
 		String[] constantUtf8Values = new String[constantPoolCount];
+		List<Integer> classCpInfoIndexes = new ArrayList<>();
+		List<Integer> utf8CpInfoIndexes = new ArrayList<>();
 		int currentCpInfoIndex = 1;
 		int currentCpInfoOffset = classFileOffset + 10;
 		int currentMaxStringLength = 0;
@@ -204,6 +261,9 @@ public class Classes implements Component, MembersRetriever {
 			cpInfoOffsets[currentCpInfoIndex++] = currentCpInfoOffset + 1;
 			int cpInfoSize;
 			byte currentCpInfoValue = byteSupplier.apply(currentCpInfoOffset);
+			if (currentCpInfoValue == Symbol.Tag.CLASS) {
+				classCpInfoIndexes.add(currentCpInfoIndex - 1);
+			}
 			if (currentCpInfoValue == Symbol.Tag.INTEGER ||
 				currentCpInfoValue == Symbol.Tag.FLOAT ||
 				currentCpInfoValue == Symbol.Tag.FIELD_REF ||
@@ -220,6 +280,7 @@ public class Classes implements Component, MembersRetriever {
 				cpInfoSize = 9;
 				currentCpInfoIndex++;
 			} else if (currentCpInfoValue == Symbol.Tag.UTF8) {
+				utf8CpInfoIndexes.add(currentCpInfoIndex - 1);
 				cpInfoSize = 3 + readUnsignedShort(byteSupplier, currentCpInfoOffset + 1);
 				if (cpInfoSize > currentMaxStringLength) {
 					currentMaxStringLength = cpInfoSize;
@@ -240,10 +301,47 @@ public class Classes implements Component, MembersRetriever {
 		}
 		int maxStringLength = currentMaxStringLength;
 		int header = currentCpInfoOffset;
-		return readUTF8(
-			byteSupplier, 
-			cpInfoOffsets[readUnsignedShort(byteSupplier, header + 2)], new char[maxStringLength], constantUtf8Values, cpInfoOffsets
+		char[] charBuffer = new char[maxStringLength];
+		List<String> names = new ArrayList<>();
+		names.add(
+			readUTF8(
+				byteSupplier, 
+				cpInfoOffsets[readUnsignedShort(byteSupplier, header + 2)], charBuffer, constantUtf8Values, cpInfoOffsets
+			)
 		);
+		if (includeSuperTypes) {
+			int superClassIndex = readUnsignedShort(byteSupplier, header + 4);
+			if (superClassIndex != 0) {
+				names.add(readUTF8(byteSupplier, cpInfoOffsets[superClassIndex], charBuffer, constantUtf8Values, cpInfoOffsets));
+			}
+			int interfacesCount = readUnsignedShort(byteSupplier, header + 6);
+			for (int i = 0; i < interfacesCount; i++) {
+				names.add(
+					readUTF8(
+						byteSupplier,
+						cpInfoOffsets[readUnsignedShort(byteSupplier, header + 8 + (i * 2))], charBuffer, constantUtf8Values, cpInfoOffsets
+					)
+				);
+			}
+		}
+		if (includeReferencedTypes) {
+			for (Integer classCpInfoIndex : classCpInfoIndexes) {
+				String className = readUTF8(byteSupplier, cpInfoOffsets[classCpInfoIndex], charBuffer, constantUtf8Values, cpInfoOffsets);
+				//The element types of the arrays are retrieved from the descriptors
+				if (className != null && !className.startsWith("[")) {
+					names.add(className);
+				}
+			}
+			for (Integer utf8CpInfoIndex : utf8CpInfoIndexes) {
+				Matcher matcher = DESCRIPTOR_CLASS_NAME_PATTERN.matcher(
+					readUtf(byteSupplier, utf8CpInfoIndex, charBuffer, constantUtf8Values, cpInfoOffsets)
+				);
+				while (matcher.find()) {
+					names.add(matcher.group(1));
+				}
+			}
+		}
+		return names;
 	}
 
 	private String readUTF8(
@@ -557,20 +655,14 @@ public class Classes implements Component, MembersRetriever {
 			Map<String, ByteBuffer> byteCodes,
 			ClassLoader classLoader
 		) throws ClassNotFoundException {
-			Map<String, Class<?>> classes = new HashMap<>();
-			if (!(classLoader instanceof MemoryClassLoader)) {
-				for (Map.Entry<String, ByteBuffer> classNameForByteCode : byteCodes.entrySet()) {
-					classes.put(classNameForByteCode.getKey(),loadOrUploadByteCode(classNameForByteCode.getKey(), byteCodes, classLoader));
-				}
-			} else {
-				for (Map.Entry<String, ByteBuffer> clazz : byteCodes.entrySet()) {
-					((MemoryClassLoader)classLoader).addByteCode(
-						clazz.getKey(), clazz.getValue()
-					);
-					classes.put(clazz.getKey(), classLoader.loadClass(clazz.getKey()));
-				}
-			}	
-			return classes;
+			return loadOrUpload(byteCodes, className -> JavaClass.create(byteCodes.get(className)), byteCodes.keySet(), classLoader);
+		}
+		
+		public Map<String, Class<?>> loadOrUploadJavaClasses(
+			Map<String, JavaClass> javaClasses,
+			ClassLoader classLoader
+		) throws ClassNotFoundException {
+			return loadOrUpload(toByteCodes(javaClasses), javaClasses::get, javaClasses.keySet(), classLoader);
 		}
 		
 		@SuppressWarnings("unchecked")
@@ -579,22 +671,10 @@ public class Classes implements Component, MembersRetriever {
 			Map<String, ByteBuffer> byteCodes,
 			ClassLoader classLoader
 		) throws ClassNotFoundException {
-			if (!(classLoader instanceof MemoryClassLoader)) {
-				try {
-					return loadOrUploadByteCode(byteCodes.get(className), classLoader);
-				} catch (ClassNotFoundException exc) {
-					String newNotFoundClassName = Classes.retrieveNames(exc).stream().findFirst().orElseGet(() -> null);
-					loadOrUploadByteCode(newNotFoundClassName, byteCodes, classLoader);
-					return loadOrUploadByteCode(byteCodes.get(className), classLoader);
-				}
-			} else {
-				for (Map.Entry<String, ByteBuffer> clazz : byteCodes.entrySet()) {
-					((MemoryClassLoader)classLoader).addByteCode(
-						clazz.getKey(), clazz.getValue()
-					);
-				}
-				return (Class<T>) classLoader.loadClass(className);
-			}
+			Class<T> cls = (Class<T>)loadOrUpload(
+				byteCodes, classNameToBeDefined -> JavaClass.create(byteCodes.get(classNameToBeDefined)), Arrays.asList(className), classLoader
+			).get(className);
+			return cls != null ? cls : (Class<T>)classLoader.loadClass(className);
 		}
 		
 		@SuppressWarnings("unchecked")
@@ -603,22 +683,129 @@ public class Classes implements Component, MembersRetriever {
 			Map<String, JavaClass> byteCodes,
 			ClassLoader classLoader
 		) throws ClassNotFoundException {
-			if (!(classLoader instanceof MemoryClassLoader)) {
-				try {
-					return loadOrUploadJavaClass(byteCodes.get(className), classLoader);
-				} catch (ClassNotFoundException exc) {
-					String newNotFoundClassName = Classes.retrieveNames(exc).stream().findFirst().orElseGet(() -> null);
-					loadOrUploadJavaClass(newNotFoundClassName, byteCodes, classLoader);
-					return loadOrUploadJavaClass(byteCodes.get(className), classLoader);
+			Class<T> cls = (Class<T>)loadOrUpload(
+				toByteCodes(byteCodes), byteCodes::get, Arrays.asList(className), classLoader
+			).get(className);
+			return cls != null ? cls : (Class<T>)classLoader.loadClass(className);
+		}
+		
+		private Map<String, ByteBuffer> toByteCodes(Map<String, JavaClass> javaClasses) {
+			Map<String, ByteBuffer> byteCodes = new HashMap<>();
+			for (Map.Entry<String, JavaClass> javaClass : javaClasses.entrySet()) {
+				byteCodes.put(javaClass.getKey(), javaClass.getValue().getByteCode());
+			}
+			return byteCodes;
+		}
+		
+		//Only the requested classes and their supertypes in the map are parsed: the JavaClasses are created just for the classes that
+		//are defined through the defineClass method
+		private Map<String, Class<?>> loadOrUpload(
+			Map<String, ByteBuffer> byteCodes,
+			Function<String, JavaClass> javaClassSupplier,
+			Collection<String> classNames,
+			ClassLoader classLoader
+		) throws ClassNotFoundException {
+			List<Collection<String>> levels = groupByDependencyLevel(byteCodes, classNames);
+			Map<String, Class<?>> classes = new ConcurrentHashMap<>();
+			boolean parallel = LowLevelObjectsHandler.isParallelCapable(classLoader);
+			if (classLoader instanceof MemoryClassLoader) {
+				for (Map.Entry<String, ByteBuffer> byteCode : byteCodes.entrySet()) {
+					((MemoryClassLoader)classLoader).addByteCode(
+						byteCode.getKey(), byteCode.getValue()
+					);
+				}
+				for (Collection<String> level : levels) {
+					loadOrUpload(level, classLoader::loadClass, classes, parallel);
 				}
 			} else {
-				for (Map.Entry<String, JavaClass> clazz : byteCodes.entrySet()) {
-					((MemoryClassLoader)classLoader).addByteCode(
-						clazz.getKey(), clazz.getValue().getByteCode()
+				MethodHandle defineClassMethod = getDefineClassMethod(classLoader);
+				MethodHandle definePackageMethod = getDefinePackageMethod(classLoader);
+				for (Collection<String> level : levels) {
+					loadOrUpload(
+						level,
+						className -> loadOrUploadJavaClass(javaClassSupplier.apply(className), classLoader, defineClassMethod, definePackageMethod),
+						classes, parallel
 					);
 				}
-				return (Class<T>) classLoader.loadClass(className);
 			}
+			return classes;
+		}
+		
+		//All the classes of a level are attempted before failing, so that the errors are reported together as suppressed exceptions of
+		//the first one, and the failure stops the definition of the levels that follow
+		private void loadOrUpload(
+			Collection<String> classNames,
+			ThrowingFunction<String, Class<?>, ClassNotFoundException> loader,
+			Map<String, Class<?>> classes,
+			boolean parallel
+		) throws ClassNotFoundException {
+			if (!parallel || classNames.size() < 2) {
+				for (String className : classNames) {
+					classes.put(className, loader.apply(className));
+				}
+				return;
+			}
+			Collection<Throwable> exceptions = new ConcurrentLinkedQueue<>();
+			classNames.parallelStream().forEach(className -> {
+				try {
+					classes.put(className, loader.apply(className));
+				} catch (Throwable exc) {
+					exceptions.add(exc);
+				}
+			});
+			if (!exceptions.isEmpty()) {
+				Iterator<Throwable> exceptionsIterator = exceptions.iterator();
+				Throwable exception = exceptionsIterator.next();
+				while (exceptionsIterator.hasNext()) {
+					exception.addSuppressed(exceptionsIterator.next());
+				}
+				if (exception instanceof ClassNotFoundException) {
+					throw (ClassNotFoundException)exception;
+				} else if (exception instanceof Error) {
+					throw (Error)exception;
+				}
+				throw Throwables.toRuntimeException(exception);
+			}
+		}
+		
+		//Level n contains the classes whose supertypes in the map are all in the levels before n
+		private List<Collection<String>> groupByDependencyLevel(
+			Map<String, ByteBuffer> byteCodes,
+			Collection<String> classNames
+		) {
+			Map<String, Integer> levelForClassName = new HashMap<>();
+			List<Collection<String>> levels = new ArrayList<>();
+			for (String className : classNames) {
+				computeDependencyLevel(className, byteCodes, levelForClassName, levels);
+			}
+			return levels;
+		}
+		
+		private int computeDependencyLevel(
+			String className,
+			Map<String, ByteBuffer> byteCodes,
+			Map<String, Integer> levelForClassName,
+			List<Collection<String>> levels
+		) {
+			Integer level = levelForClassName.get(className);
+			if (level != null) {
+				return level;
+			}
+			ByteBuffer byteCode = byteCodes.get(className);
+			if (byteCode == null) {
+				return -1;
+			}
+			levelForClassName.put(className, -1);
+			level = 0;
+			for (String superTypeName : Classes.retrieveSuperTypeNames(byteCode)) {
+				level = Math.max(level, computeDependencyLevel(superTypeName, byteCodes, levelForClassName, levels) + 1);
+			}
+			levelForClassName.put(className, level);
+			while (levels.size() <= level) {
+				levels.add(new ArrayList<>());
+			}
+			levels.get(level).add(className);
+			return level;
 		}
 		
 		public <T> Class<T> loadOrUploadByteCode(
@@ -706,7 +893,9 @@ public class Classes implements Component, MembersRetriever {
 			ByteBuffer byteCode
 		) throws ClassNotFoundException, InvocationTargetException, NoClassDefFoundError {
 			try {
-				return (Class<T>)method.invoke(classLoader, className, byteCode, null);
+				Class<T> cls = (Class<T>)method.invoke(classLoader, className, byteCode, null);
+				Cache.classLoaderForNotFoundClassNames.invalidate(className);
+				return cls;
 			} catch (InvocationTargetException | ClassNotFoundException | NoClassDefFoundError exc) {
 				throw exc;
 			} catch (Throwable exc) {
@@ -28,6 +28,7 @@
  */
 package org.burningwave.core.classes;
 
+import static org.burningwave.core.assembler.StaticComponentContainer.Cache;
 import static org.burningwave.core.assembler.StaticComponentContainer.Classes;
 import static org.burningwave.core.assembler.StaticComponentContainer.Streams;
 
@@ -43,7 +44,7 @@ public class JavaClass {
 	private final String className;
 	
 	JavaClass(ByteBuffer byteCode) throws IOException {
-		this.byteCode = Streams.shareContent(byteCode);
+		this.byteCode = Cache.uniqueContents.share(Streams.shareContent(byteCode));
 		this.className = Classes.retrieveName(byteCode);
 	}
 	
@@ -28,17 +28,43 @@
  */
 package org.burningwave.core.classes;
 
+import static org.burningwave.core.assembler.StaticComponentContainer.Classes;
+import static org.burningwave.core.assembler.StaticComponentContainer.FileSystemHelper;
 import static org.burningwave.core.assembler.StaticComponentContainer.Paths;
+import static org.burningwave.core.assembler.StaticComponentContainer.Streams;
 import static org.burningwave.core.assembler.StaticComponentContainer.Strings;
 import static org.burningwave.core.assembler.StaticComponentContainer.Throwables;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.Serializable;
+import java.lang.ref.SoftReference;
+import java.math.BigInteger;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
 import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -46,9 +72,19 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 import javax.tools.Diagnostic;
 import javax.tools.DiagnosticListener;
@@ -59,11 +95,15 @@ import javax.tools.JavaCompiler.CompilationTask;
 import javax.tools.JavaFileObject;
 import javax.tools.JavaFileObject.Kind;
 import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
 import javax.tools.ToolProvider;
 
 import org.burningwave.core.Component;
 import org.burningwave.core.classes.ClassPathHunter.SearchResult;
 import org.burningwave.core.function.ThrowingRunnable;
+import org.burningwave.core.function.ThrowingSupplier;
+import org.burningwave.core.io.ByteBufferInputStream;
 import org.burningwave.core.io.ByteBufferOutputStream;
 import org.burningwave.core.io.FileSystemItem;
 import org.burningwave.core.io.PathHelper;
@@ -78,6 +118,11 @@ public class JavaMemoryCompiler implements Component {
 	private FileSystemItem classPathHunterBasePathForCompressedLibs;
 	private FileSystemItem classPathHunterBasePathForCompressedClasses;
 	private Integer classPathHunterSearchConfigCheckFileOptions;
+	private ClassPathIndex classPathIndex;
+	private CompilationCache compilationCache;
+	private FileManagerPool fileManagerPool;
+	private CompiledClasses compiledClasses;
+	private LongAdder compilationTasksCount;
 	
 	private JavaMemoryCompiler(
 		PathHelper pathHelper,
@@ -92,6 +137,11 @@ public class JavaMemoryCompiler implements Component {
 		this.classPathHunterBasePathForCompressedLibs = FileSystemItem.of(getOrCreateTemporaryFolder("lib"));
 		this.classPathHunterBasePathForCompressedClasses = FileSystemItem.of(getOrCreateTemporaryFolder("classes"));
 		this.classPathHunterSearchConfigCheckFileOptions = classPathHunterSearchConfigCheckFileOptions;
+		this.classPathIndex = new ClassPathIndex(compiledClassesClassPath.getAbsolutePath());
+		this.compilationCache = new CompilationCache(getOrCreateTemporaryFolder("compilation-cache"), compiledClassesClassPath.getAbsolutePath());
+		this.fileManagerPool = new FileManagerPool(compiler);
+		this.compiledClasses = new CompiledClasses();
+		this.compilationTasksCount = new LongAdder();
 	}	
 	
 	public static JavaMemoryCompiler create(
@@ -108,15 +158,55 @@ public class JavaMemoryCompiler implements Component {
 		Collection<String> sources, 
 		Collection<String> classPaths, 
 		Collection<String> classRepositoriesPaths
+	) {
+		return compile(sources, classPaths, classRepositoriesPaths, null);
+	}
+	
+	//The byte codes of the memory class loader (if any) are served to javac together with the ones of the classes compiled before
+	public Map<String, ByteBuffer> compile(
+		Collection<String> sources, 
+		Collection<String> classPaths, 
+		Collection<String> classRepositoriesPaths,
+		ClassLoader classLoader
 	) {
 		Collection<JavaMemoryCompiler.MemorySource> memorySources = new ArrayList<>();
 		sourcesToMemorySources(sources, memorySources);
 		try (Compilation.Context context = Compilation.Context.create(this, classPathHunter, memorySources, new ArrayList<>(classPaths), new ArrayList<>(classRepositoriesPaths))) {
-			Map<String, ByteBuffer> compiledFiles = _compile(context, null);
+			if (classLoader instanceof MemoryClassLoader) {
+				context.addByteCodesOf((MemoryClassLoader)classLoader);
+			}
+			//The class paths of the imported packages are resolved before compiling so that javac is not called again for each missing one
+			for (String source : sources) {
+				sourceCodeExecutor.extractImportedPackageNames(source).forEach(context::addToClassPathTheEntriesOfPackage);
+			}
+			//The fingerprints are computed at most once for each class path during a compilation
+			Map<String, Long> classPathsFingerprints = context.classPathsFingerprints;
+			String compilationKey = compilationCache.computeKey(sources, context.options, compilationCache.computeFingerprints(context.classPaths, classPathsFingerprints));
+			Map<String, ByteBuffer> compiledFiles = compilationCache.get(compilationKey, classPathsFingerprints, context::computeHashOfClassInMemory);
+			if (compiledFiles == null) {
+				StandardJavaFileManager fileManager = fileManagerPool.acquire(classPathsFingerprints);
+				boolean reusable = false;
+				try {
+					compiledFiles = _compile(context, fileManager, null);
+					reusable = true;
+				} finally {
+					fileManagerPool.release(fileManager, reusable);
+				}
+				Map<String, Long> allClassPathsFingerprints = compilationCache.computeFingerprints(context.classPaths, classPathsFingerprints);
+				fileManagerPool.checkClassPaths(allClassPathsFingerprints);
+				//The content of the compiled classes folder is not fingerprinted because it is rewritten on each compilation
+				if (!context.classPaths.contains(compiledClassesClassPath.getAbsolutePath())) {
+					compilationCache.put(compilationKey, compiledFiles, allClassPathsFingerprints, context.hashesOfClassesReadFromMemory);
+				}
+			} else {
+				logInfo("Compiled files of {} retrieved from cache", String.join(", ", compiledFiles.keySet()));
+			}
 			if (!compiledFiles.isEmpty()) {
 				compiledFiles.forEach((className, byteCode) -> {
 					JavaClass javaClass = JavaClass.create(byteCode);
+					compiledClasses.add(className, byteCode);
 					javaClass.storeToClassPath(compiledClassesClassPath.getAbsolutePath());
+					classPathIndex.add(compiledClassesClassPath.getAbsolutePath(), Optional.ofNullable(javaClass.getPackageName()).orElse(""));
 				});
 			}			
 			return compiledFiles;
@@ -124,6 +214,87 @@ public class JavaMemoryCompiler implements Component {
 	}
 
 	
+	//The sources that refer to each other are compiled in the same group and the groups are distributed among as many compilations as the
+	//available processors, each one running on its own file manager
+	public Map<String, ByteBuffer> compileInParallel(
+		Collection<String> sources, 
+		Collection<String> classPaths, 
+		Collection<String> classRepositoriesPaths
+	) {
+		return compileInParallel(sources, classPaths, classRepositoriesPaths, Runtime.getRuntime().availableProcessors());
+	}
+	
+	public Map<String, ByteBuffer> compileInParallel(
+		Collection<String> sources, 
+		Collection<String> classPaths, 
+		Collection<String> classRepositoriesPaths,
+		int maxParallelTasks
+	) {
+		List<List<String>> groups = groupByReferences(new ArrayList<>(sources));
+		int compilationsCount = Math.min(groups.size(), maxParallelTasks);
+		if (compilationsCount <= 1) {
+			return compile(sources, classPaths, classRepositoriesPaths);
+		}
+		List<List<String>> sourcesOfCompilations = new ArrayList<>();
+		for (int i = 0; i < compilationsCount; i++) {
+			sourcesOfCompilations.add(new ArrayList<>());
+		}
+		groups.sort((groupOne, groupTwo) -> Integer.compare(groupTwo.size(), groupOne.size()));
+		for (List<String> group : groups) {
+			sourcesOfCompilations.stream().min(
+				(sourcesOne, sourcesTwo) -> Integer.compare(sourcesOne.size(), sourcesTwo.size())
+			).get().addAll(group);
+		}
+		List<CompletableFuture<Map<String, ByteBuffer>>> compilations = new ArrayList<>();
+		for (List<String> sourcesOfCompilation : sourcesOfCompilations.subList(1, sourcesOfCompilations.size())) {
+			compilations.add(CompletableFuture.supplyAsync(() -> compile(sourcesOfCompilation, classPaths, classRepositoriesPaths)));
+		}
+		Map<String, ByteBuffer> compiledFiles = new HashMap<>(compile(sourcesOfCompilations.get(0), classPaths, classRepositoriesPaths));
+		for (CompletableFuture<Map<String, ByteBuffer>> compilation : compilations) {
+			try {
+				compiledFiles.putAll(compilation.join());
+			} catch (Throwable exc) {
+				throw Throwables.toRuntimeException(exc.getCause() != null ? exc.getCause() : exc);
+			}
+		}
+		return compiledFiles;
+	}
+	
+	//A source refers to another one if it can refer to one of the types declared by the other: the types are identified by their
+	//qualified names because the ones declared with the same simple name in different packages are not related
+	private List<List<String>> groupByReferences(List<String> sources) {
+		Map<String, Integer> sourceIndexForTypeName = new HashMap<>();
+		for (int i = 0; i < sources.size(); i++) {
+			for (String typeName : sourceCodeExecutor.extractDeclaredTypeNames(sources.get(i))) {
+				sourceIndexForTypeName.put(typeName, i);
+			}
+		}
+		int[] groupIndexes = new int[sources.size()];
+		for (int i = 0; i < groupIndexes.length; i++) {
+			groupIndexes[i] = i;
+		}
+		for (int i = 0; i < sources.size(); i++) {
+			for (String typeName : sourceCodeExecutor.extractReferredTypeNames(sources.get(i))) {
+				Integer referredSourceIndex = sourceIndexForTypeName.get(typeName);
+				if (referredSourceIndex != null) {
+					groupIndexes[findGroupIndex(groupIndexes, i)] = findGroupIndex(groupIndexes, referredSourceIndex);
+				}
+			}
+		}
+		Map<Integer, List<String>> groups = new LinkedHashMap<>();
+		for (int i = 0; i < sources.size(); i++) {
+			groups.computeIfAbsent(findGroupIndex(groupIndexes, i), key -> new ArrayList<>()).add(sources.get(i));
+		}
+		return new ArrayList<>(groups.values());
+	}
+	
+	private int findGroupIndex(int[] groupIndexes, int index) {
+		while (groupIndexes[index] != index) {
+			index = groupIndexes[index] = groupIndexes[groupIndexes[index]];
+		}
+		return index;
+	}
+	
 	private void sourcesToMemorySources(Collection<String> sources, Collection<MemorySource> memorySources) {
 		for (String source : sources) {
 			String className = sourceCodeExecutor.extractClassName(source);
@@ -137,7 +308,7 @@ public class JavaMemoryCompiler implements Component {
 	}
 
 
-	private Map<String, ByteBuffer> _compile(Compilation.Context context, Throwable thr) {
+	private Map<String, ByteBuffer> _compile(Compilation.Context context, StandardJavaFileManager fileManager, Throwable thr) {
 		List<String> options = new ArrayList<String>();
 		if (!context.options.isEmpty()) {
 			context.options.forEach((key, val) -> {
@@ -148,7 +319,12 @@ public class JavaMemoryCompiler implements Component {
 				
 			});
 		}
-		try (JavaMemoryCompiler.MemoryFileManager memoryFileManager = new MemoryFileManager(compiler)) {
+		//Once set on the file manager the location takes precedence over the '-classpath' option, so it is set on each compilation
+		ThrowingRunnable.run(() -> fileManager.setLocation(
+			StandardLocation.CLASS_PATH,
+			!context.classPaths.isEmpty() ? context.classPaths.stream().map(File::new).collect(Collectors.toList()) : null
+		));
+		try (JavaMemoryCompiler.MemoryFileManager memoryFileManager = new MemoryFileManager(fileManager, context)) {
 			CompilationTask task = compiler.getTask(
 				null, memoryFileManager,
 				new MemoryDiagnosticListener(context), options, null,
@@ -157,6 +333,7 @@ public class JavaMemoryCompiler implements Component {
 			boolean done = false;
 			Throwable exception = null;
 			try {
+				compilationTasksCount.increment();
 				done = task.call();
 			} catch (Throwable exc) {
 				if (thr != null && thr.getMessage().equals(exc.getMessage())) {
@@ -165,7 +342,7 @@ public class JavaMemoryCompiler implements Component {
 				exception = exc;
 			}
 			if (!done) {
-				return _compile(context, exception);
+				return _compile(context, fileManager, exception);
 			} else {
 				return memoryFileManager.getCompiledFiles().stream().collect(
 					Collectors.toMap(compiledFile -> 
@@ -198,6 +375,17 @@ public class JavaMemoryCompiler implements Component {
 			
 			Map.Entry<String, Predicate<Class<?>>> classNameAndClassPredicate = getClassPredicateBagFromErrorMessage(message);
 			String packageName = null;
+			if (classNameAndClassPredicate != null && classNameAndClassPredicate.getKey().contains(".") &&
+				context.addToClassPathTheEntriesOfPackage(
+					classNameAndClassPredicate.getKey().substring(0, classNameAndClassPredicate.getKey().lastIndexOf("."))
+				)
+			) {
+				return;
+			} else if (classNameAndClassPredicate == null && Strings.isNotEmpty(packageName = getPackageNameFromErrorMessage(message)) &&
+				context.addToClassPathTheEntriesOfPackage(packageName)
+			) {
+				return;
+			}
 			if (classNameAndClassPredicate != null) {
 				try {
 					fsObjects = context.findForClassName(classNameAndClassPredicate.getValue());
@@ -348,16 +536,105 @@ public class JavaMemoryCompiler implements Component {
 	    }
 	}
 	
+	//Class file read by javac from the byte code in memory
+	static class MemoryClassFile extends SimpleJavaFileObject {
+		private final String name;
+		private final ByteBuffer byteCode;
+		private final Compilation.Context context;
+		
+		MemoryClassFile(String name, ByteBuffer byteCode, Compilation.Context context) {
+			super(URI.create("memory:///" + name.replace('.', '/') + Kind.CLASS.extension), Kind.CLASS);
+			this.name = name;
+			this.byteCode = byteCode;
+			this.context = context;
+		}
+		
+		public String getName() {
+			return this.name;
+		}
+		
+		@Override
+		public InputStream openInputStream() {
+			context.hashesOfClassesReadFromMemory.put(name, Streams.computeHash(byteCode));
+			return new ByteBufferInputStream(Streams.shareContent(byteCode));
+		}
+	}
+	
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	static class MemoryFileManager extends ForwardingJavaFileManager implements Component {
 		
 		private List<MemoryFileObject> compiledFiles;
+		private Compilation.Context context;
 				
-		MemoryFileManager(JavaCompiler compiler) {
-	        super(compiler.getStandardFileManager(null, null, null));
+		//The standard file manager is owned by the FileManagerPool and is not closed with this one
+		MemoryFileManager(StandardJavaFileManager fileManager, Compilation.Context context) {
+	        super(fileManager);
 	        compiledFiles = new CopyOnWriteArrayList<>();
+	        this.context = context;
 	    }
 		
+		//The classes of the target class loader are listed before the ones of the class paths and hide those with the same name, while
+		//the classes compiled before are listed only if no class with the same name has already been found
+		@Override
+		public Iterable list(Location location, String packageName, Set kinds, boolean recurse) throws IOException {
+			Iterable<JavaFileObject> javaFileObjects = super.list(location, packageName, kinds, recurse);
+			if (location != StandardLocation.CLASS_PATH || !kinds.contains(Kind.CLASS)) {
+				return javaFileObjects;
+			}
+			Map<String, ByteBuffer> byteCodesOfClassLoaders = context.getByteCodesOfClassLoadersOfPackage(packageName, recurse);
+			Map<String, ByteBuffer> compiledByteCodes = context.getCompiledByteCodesOfPackage(packageName, recurse);
+			if (byteCodesOfClassLoaders.isEmpty() && compiledByteCodes.isEmpty()) {
+				return javaFileObjects;
+			}
+			List<JavaFileObject> allJavaFileObjects = new ArrayList<>();
+			Set<String> classNames = new HashSet<>(byteCodesOfClassLoaders.keySet());
+			byteCodesOfClassLoaders.forEach((className, byteCode) -> allJavaFileObjects.add(new MemoryClassFile(className, byteCode, context)));
+			for (JavaFileObject javaFileObject : javaFileObjects) {
+				if (javaFileObject.getKind() != Kind.CLASS || classNames.add(fileManager.inferBinaryName(location, javaFileObject))) {
+					allJavaFileObjects.add(javaFileObject);
+				}
+			}
+			compiledByteCodes.forEach((className, byteCode) -> {
+				if (classNames.add(className)) {
+					allJavaFileObjects.add(new MemoryClassFile(className, byteCode, context));
+				}
+			});
+			return allJavaFileObjects;
+		}
+		
+		@Override
+		public String inferBinaryName(Location location, JavaFileObject file) {
+			if (file instanceof MemoryClassFile) {
+				return ((MemoryClassFile)file).getName();
+			}
+			return super.inferBinaryName(location, file);
+		}
+		
+		@Override
+		public JavaFileObject getJavaFileForInput(Location location, String className, Kind kind) throws IOException {
+			if (location != StandardLocation.CLASS_PATH || kind != Kind.CLASS) {
+				return super.getJavaFileForInput(location, className, kind);
+			}
+			String packageName = className.contains(".") ? className.substring(0, className.lastIndexOf(".")) : "";
+			ByteBuffer byteCode = context.getByteCodesOfClassLoadersOfPackage(packageName, false).get(className);
+			if (byteCode != null) {
+				return new MemoryClassFile(className, byteCode, context);
+			}
+			JavaFileObject javaFileObject = super.getJavaFileForInput(location, className, kind);
+			if (javaFileObject == null && (byteCode = context.getCompiledByteCodesOfPackage(packageName, false).get(className)) != null) {
+				return new MemoryClassFile(className, byteCode, context);
+			}
+			return javaFileObject;
+		}
+		
+		@Override
+		public boolean isSameFile(FileObject fileObjectOne, FileObject fileObjectTwo) {
+			if (fileObjectOne instanceof MemoryClassFile || fileObjectTwo instanceof MemoryClassFile) {
+				return fileObjectOne.toUri().equals(fileObjectTwo.toUri());
+			}
+			return super.isSameFile(fileObjectOne, fileObjectTwo);
+		}
+		
 		@Override
 	    public MemoryFileObject getJavaFileForOutput
 	            (Location location, String name, Kind kind, FileObject source) {
@@ -377,11 +654,79 @@ public class JavaMemoryCompiler implements Component {
 			);
 			compiledFiles.clear();
 			ThrowingRunnable.run(() -> {
-				super.close();
+				super.flush();
 			});
 		}
 	}
 	
+	//Standard file managers kept open between compilations so that the archives of the class paths opened and indexed by javac are
+	//reused: each compilation uses its own file manager and all of them are discarded when one of the archives changes (the content
+	//of the folders is not cached by javac)
+	static class FileManagerPool implements Component {
+		private JavaCompiler compiler;
+		private ConcurrentLinkedDeque<StandardJavaFileManager> fileManagers;
+		private Map<StandardJavaFileManager, Long> generationOfAcquiredFileManagers;
+		private Map<String, Long> archivesFingerprints;
+		private AtomicLong generation;
+		private int maxSize;
+		
+		FileManagerPool(JavaCompiler compiler) {
+			this.compiler = compiler;
+			this.fileManagers = new ConcurrentLinkedDeque<>();
+			this.generationOfAcquiredFileManagers = new ConcurrentHashMap<>();
+			this.archivesFingerprints = new ConcurrentHashMap<>();
+			this.generation = new AtomicLong();
+			this.maxSize = Runtime.getRuntime().availableProcessors();
+		}
+		
+		StandardJavaFileManager acquire(Map<String, Long> classPathsFingerprints) {
+			checkClassPaths(classPathsFingerprints);
+			StandardJavaFileManager fileManager = fileManagers.pollFirst();
+			if (fileManager == null) {
+				fileManager = compiler.getStandardFileManager(null, null, null);
+			}
+			generationOfAcquiredFileManagers.put(fileManager, generation.get());
+			return fileManager;
+		}
+		
+		void checkClassPaths(Map<String, Long> classPathsFingerprints) {
+			boolean changed = false;
+			for (Map.Entry<String, Long> classPathFingerprint : classPathsFingerprints.entrySet()) {
+				if (!new File(classPathFingerprint.getKey()).isDirectory()) {
+					Long oldFingerprint = archivesFingerprints.put(classPathFingerprint.getKey(), classPathFingerprint.getValue());
+					changed |= oldFingerprint != null && !oldFingerprint.equals(classPathFingerprint.getValue());
+				}
+			}
+			if (changed) {
+				clear();
+			}
+		}
+		
+		void release(StandardJavaFileManager fileManager, boolean reusable) {
+			Long generationOfFileManager = generationOfAcquiredFileManagers.remove(fileManager);
+			if (reusable && generation.get() == Optional.ofNullable(generationOfFileManager).orElse(-1L) && fileManagers.size() < maxSize) {
+				fileManagers.addFirst(fileManager);
+			} else {
+				ThrowingRunnable.run(fileManager::close);
+			}
+		}
+		
+		void clear() {
+			generation.incrementAndGet();
+			StandardJavaFileManager fileManager;
+			while ((fileManager = fileManagers.pollFirst()) != null) {
+				ThrowingRunnable.run(fileManager::close);
+			}
+		}
+		
+		@Override
+		public void close() {
+			clear();
+			archivesFingerprints.clear();
+			compiler = null;
+		}
+	}
+	
 	private static class Compilation {
 		private static class Context implements Component {
 			
@@ -391,14 +736,93 @@ public class JavaMemoryCompiler implements Component {
 			private Collection<SearchResult> classPathsSearchResults;
 			private Collection<String> classRepositoriesPaths;
 			private JavaMemoryCompiler javaMemoryCompiler;
+			private Collection<String> mainClassPaths;
+			private Collection<String> classPaths;
+			private Collection<Map<String, ByteBuffer>> byteCodesOfClassLoaders;
+			private Map<String, Map<String, ByteBuffer>> byteCodesOfClassLoadersForPackage;
+			private Map<String, Long> hashesOfClassesReadFromMemory;
+			private Map<String, Long> classPathsFingerprints;
 			
 			
+			void addByteCodesOf(MemoryClassLoader classLoader) {
+				byteCodesOfClassLoaders.add(classLoader.getLoadedCompiledClasses());
+				byteCodesOfClassLoaders.add(classLoader.notLoadedByteCodes);
+			}
+			
+			//The byte codes of the classes that will be linked at runtime: the first class loader that defines a class wins
+			Map<String, ByteBuffer> getByteCodesOfClassLoadersOfPackage(String packageName, boolean recurse) {
+				if (byteCodesOfClassLoadersForPackage == null) {
+					byteCodesOfClassLoadersForPackage = new HashMap<>();
+					for (Map<String, ByteBuffer> byteCodes : byteCodesOfClassLoaders) {
+						byteCodes.forEach((className, byteCode) ->
+							byteCodesOfClassLoadersForPackage.computeIfAbsent(
+								className.contains(".") ? className.substring(0, className.lastIndexOf(".")) : "", key -> new HashMap<>()
+							).putIfAbsent(className, byteCode)
+						);
+					}
+				}
+				if (!recurse) {
+					return Optional.ofNullable(byteCodesOfClassLoadersForPackage.get(packageName)).orElseGet(HashMap::new);
+				}
+				Map<String, ByteBuffer> byteCodesOfPackage = new HashMap<>();
+				byteCodesOfClassLoadersForPackage.forEach((iteratedPackageName, byteCodes) -> {
+					if (iteratedPackageName.equals(packageName) || packageName.isEmpty() || iteratedPackageName.startsWith(packageName + ".")) {
+						byteCodesOfPackage.putAll(byteCodes);
+					}
+				});
+				return byteCodesOfPackage;
+			}
+			
+			//The classes compiled before replace the compiled classes folder, so, like that folder, they are served only for the packages
+			//that are not in the main class paths of this compilation
+			Map<String, ByteBuffer> getCompiledByteCodesOfPackage(String packageName, boolean recurse) {
+				CompiledClasses compiledClasses = javaMemoryCompiler.compiledClasses;
+				Map<String, ByteBuffer> byteCodesOfPackage = new HashMap<>();
+				for (String iteratedPackageName : recurse ? compiledClasses.getPackageNames(packageName) : Arrays.asList(packageName)) {
+					if (javaMemoryCompiler.classPathIndex.find(iteratedPackageName, mainClassPaths, classPathsFingerprints).isEmpty()) {
+						byteCodesOfPackage.putAll(compiledClasses.get(iteratedPackageName));
+					}
+				}
+				return byteCodesOfPackage;
+			}
+			
+			//Returns the hash of the byte code that would be served to javac for the class or null if the class is not in memory
+			Long computeHashOfClassInMemory(String className) {
+				String packageName = className.contains(".") ? className.substring(0, className.lastIndexOf(".")) : "";
+				ByteBuffer byteCode = getByteCodesOfClassLoadersOfPackage(packageName, false).get(className);
+				if (byteCode == null) {
+					byteCode = getCompiledByteCodesOfPackage(packageName, false).get(className);
+				}
+				return byteCode != null ? Streams.computeHash(byteCode) : null;
+			}
+			
 			void addToClassPath(String path) {
-				if (Strings.isNotBlank(path)) {
+				if (Strings.isNotBlank(path) && classPaths.add(Paths.clean(path))) {
 					options.put("-classpath", Optional.ofNullable(options.get("-classpath")).orElse("") + Paths.clean(path) + System.getProperty("path.separator"));
 				}
 			}
 			
+			//Returns true if at least one entry of the class repositories that contains the package has been added to the class path
+			boolean addToClassPathTheEntriesOfPackage(String packageName) {
+				ClassPathIndex classPathIndex = javaMemoryCompiler.classPathIndex;
+				if (packageName.startsWith("java.") || !classPathIndex.find(packageName, mainClassPaths, classPathsFingerprints).isEmpty()) {
+					return false;
+				}
+				Collection<String> classRepositories = new ArrayList<>(classRepositoriesPaths);
+				//The compiled classes folder is needed only for the classes no longer in memory
+				if (!javaMemoryCompiler.compiledClasses.contains(packageName)) {
+					classRepositories.add(javaMemoryCompiler.compiledClassesClassPath.getAbsolutePath());
+				}
+				boolean added = false;
+				for (String classPathEntry : classPathIndex.find(packageName, classRepositories, classPathsFingerprints)) {
+					if (!classPaths.contains(classPathEntry)) {
+						addToClassPath(classPathEntry);
+						added = true;
+					}
+				}
+				return added;
+			}
+			
 			private Context(
 				JavaMemoryCompiler javaMemoryCompiler,
 				ClassPathHunter classPathHunter,
@@ -410,6 +834,8 @@ public class JavaMemoryCompiler implements Component {
 				options =  new LinkedHashMap<>();
 				this.sources = sources;
 				this.classPathHunter = classPathHunter;
+				this.classPaths = new LinkedHashSet<>();
+				this.mainClassPaths = classPaths != null ? classPaths : new ArrayList<>();
 				if (classPaths != null) {
 					for(String classPath : classPaths) {
 						addToClassPath(classPath);
@@ -417,6 +843,9 @@ public class JavaMemoryCompiler implements Component {
 				}
 				this.classRepositoriesPaths = classRepositories;
 				this.classPathsSearchResults = new LinkedHashSet<>();
+				this.byteCodesOfClassLoaders = new ArrayList<>();
+				this.hashesOfClassesReadFromMemory = new ConcurrentHashMap<>();
+				this.classPathsFingerprints = new HashMap<>();
 			}
 			
 			private static Context create(
@@ -497,6 +926,13 @@ public class JavaMemoryCompiler implements Component {
 				}
 				classPathsSearchResults = null;
 				classPathHunter = null;
+				classPaths.clear();
+				classPaths = null;
+				mainClassPaths = null;
+				byteCodesOfClassLoaders = null;
+				byteCodesOfClassLoadersForPackage = null;
+				hashesOfClassesReadFromMemory = null;
+				classPathsFingerprints = null;
 				options.clear();
 				options = null;
 				sources = null;		
@@ -505,8 +941,395 @@ public class JavaMemoryCompiler implements Component {
 		}
 	}
 	
+	//Class path entries of the file system (class folders and jars) that contain each package: the index is built from the names of
+	//the entries of the jars and from the structure of the class folders, reading at most one class file for each class folder.
+	//The index of a path is built again when its fingerprint changes, except for the compiled classes folder that is kept up to date
+	//by this compiler
+	static class ClassPathIndex implements Component {
+		private Map<String, IndexOfPath> indexesOfPaths;
+		private String notFingerprintedPath;
+		
+		ClassPathIndex(String notFingerprintedPath) {
+			indexesOfPaths = new ConcurrentHashMap<>();
+			this.notFingerprintedPath = Paths.clean(notFingerprintedPath);
+		}
+		
+		//The fingerprints computed are added to the known ones so that each path is walked at most once during a compilation
+		Collection<String> find(String packageName, Collection<String> paths, Map<String, Long> knownFingerprints) {
+			Collection<String> classPathEntries = new LinkedHashSet<>();
+			for (String path : paths) {
+				Optional.ofNullable(getIndexOf(path, knownFingerprints).get(packageName)).ifPresent(classPathEntries::addAll);
+			}
+			return classPathEntries;
+		}
+		
+		void add(String classPathEntry, String packageName) {
+			getIndexOf(classPathEntry, null).computeIfAbsent(packageName, key -> ConcurrentHashMap.newKeySet()).add(Paths.clean(classPathEntry));
+		}
+		
+		private Map<String, Set<String>> getIndexOf(String path, Map<String, Long> knownFingerprints) {
+			String cleanedPath = Paths.clean(path);
+			if (knownFingerprints == null || cleanedPath.equals(notFingerprintedPath)) {
+				return indexesOfPaths.computeIfAbsent(cleanedPath, key -> new IndexOfPath(0L, index(key))).classPathEntriesForPackage;
+			}
+			long fingerprint = knownFingerprints.computeIfAbsent(cleanedPath, FileSystemHelper::computeFingerprint);
+			return indexesOfPaths.compute(cleanedPath, (key, indexOfPath) ->
+				indexOfPath != null && indexOfPath.fingerprint == fingerprint ? indexOfPath : new IndexOfPath(fingerprint, index(key))
+			).classPathEntriesForPackage;
+		}
+		
+		private Map<String, Set<String>> index(String path) {
+			Map<String, Set<String>> index = new ConcurrentHashMap<>();
+			File file = new File(path);
+			if (file.isDirectory()) {
+				indexFolder(file, null, index);
+			} else if (isJar(file)) {
+				indexJar(file, index);
+			}
+			return index;
+		}
+		
+		private void indexFolder(File folder, String classFolder, Map<String, Set<String>> index) {
+			File[] files = folder.listFiles();
+			if (files == null) {
+				return;
+			}
+			String folderPath = Paths.clean(folder.getAbsolutePath());
+			for (File file : files) {
+				if (file.isFile() && file.getName().endsWith(".class") && !file.getName().equals("module-info.class")) {
+					if (classFolder == null) {
+						classFolder = retrieveClassFolder(folderPath, file);
+					}
+					if (classFolder != null) {
+						String packageName = folderPath.length() > classFolder.length() ?
+							folderPath.substring(classFolder.length() + 1).replace("/", ".") : "";
+						index.computeIfAbsent(packageName, key -> ConcurrentHashMap.newKeySet()).add(classFolder);
+					}
+					break;
+				}
+			}
+			for (File file : files) {
+				if (file.isDirectory()) {
+					indexFolder(file, classFolder, index);
+				} else if (isJar(file)) {
+					indexJar(file, index);
+				}
+			}
+		}
+		
+		//The class folder is the folder from which the path of the class file is equal to the class name
+		private String retrieveClassFolder(String folderPath, File classFile) {
+			try {
+				String className = Classes.retrieveName(Files.readAllBytes(classFile.toPath())).replace("/", ".");
+				String packagePath = className.contains(".") ? className.substring(0, className.lastIndexOf(".")).replace(".", "/") : "";
+				if (packagePath.isEmpty()) {
+					return folderPath;
+				} else if (folderPath.endsWith("/" + packagePath)) {
+					return folderPath.substring(0, folderPath.length() - packagePath.length() - 1);
+				}
+			} catch (Throwable exc) {
+				logWarn("Could not retrieve class name of {}: {}", classFile.getAbsolutePath(), exc.getMessage());
+			}
+			return null;
+		}
+		
+		//Nested archives are not indexed: the class paths contained in them are searched through the ClassPathHunter
+		private void indexJar(File file, Map<String, Set<String>> index) {
+			String jarPath = Paths.clean(file.getAbsolutePath());
+			try (ZipFile zipFile = new ZipFile(file)) {
+				Enumeration<? extends ZipEntry> entries = zipFile.entries();
+				while (entries.hasMoreElements()) {
+					String entryName = entries.nextElement().getName();
+					if (entryName.endsWith(".class") && !entryName.startsWith("META-INF/") && !entryName.endsWith("module-info.class")) {
+						String packageName = entryName.contains("/") ? entryName.substring(0, entryName.lastIndexOf("/")).replace("/", ".") : "";
+						index.computeIfAbsent(packageName, key -> ConcurrentHashMap.newKeySet()).add(jarPath);
+					}
+				}
+			} catch (IOException exc) {
+				logWarn("Could not index {}: {}", jarPath, exc.getMessage());
+			}
+		}
+		
+		private boolean isJar(File file) {
+			return file.isFile() && file.getName().endsWith(".jar");
+		}
+		
+		@Override
+		public void close() {
+			indexesOfPaths.clear();
+		}
+		
+		private static class IndexOfPath {
+			private final long fingerprint;
+			private final Map<String, Set<String>> classPathEntriesForPackage;
+			
+			private IndexOfPath(long fingerprint, Map<String, Set<String>> classPathEntriesForPackage) {
+				this.fingerprint = fingerprint;
+				this.classPathEntriesForPackage = classPathEntriesForPackage;
+			}
+		}
+	}
+	
+	//Byte codes of the classes compiled by this compiler served to javac through the MemoryFileManager without reading the compiled classes
+	//folder: they are softly referenced and the ones collected by the garbage collector are found again in that folder
+	static class CompiledClasses implements Component {
+		private Map<String, Map<String, SoftReference<ByteBuffer>>> byteCodesForPackage;
+		
+		CompiledClasses() {
+			byteCodesForPackage = new ConcurrentHashMap<>();
+		}
+		
+		void add(String className, ByteBuffer byteCode) {
+			byteCodesForPackage.computeIfAbsent(
+				className.contains(".") ? className.substring(0, className.lastIndexOf(".")) : "", key -> new ConcurrentHashMap<>()
+			).put(className, new SoftReference<>(Streams.shareContent(byteCode)));
+		}
+		
+		boolean contains(String packageName) {
+			return !get(packageName).isEmpty();
+		}
+		
+		Collection<String> getPackageNames(String parentPackageName) {
+			return byteCodesForPackage.keySet().stream().filter(packageName ->
+				parentPackageName.isEmpty() || packageName.equals(parentPackageName) || packageName.startsWith(parentPackageName + ".")
+			).collect(Collectors.toList());
+		}
+		
+		Map<String, ByteBuffer> get(String packageName) {
+			Map<String, ByteBuffer> byteCodes = new HashMap<>();
+			Map<String, SoftReference<ByteBuffer>> byteCodesOfPackage = byteCodesForPackage.get(packageName);
+			if (byteCodesOfPackage == null) {
+				return byteCodes;
+			}
+			Iterator<Map.Entry<String, SoftReference<ByteBuffer>>> byteCodesIterator = byteCodesOfPackage.entrySet().iterator();
+			while (byteCodesIterator.hasNext()) {
+				Map.Entry<String, SoftReference<ByteBuffer>> byteCode = byteCodesIterator.next();
+				ByteBuffer byteCodeValue = byteCode.getValue().get();
+				if (byteCodeValue != null) {
+					byteCodes.put(byteCode.getKey(), byteCodeValue);
+				} else {
+					byteCodesIterator.remove();
+				}
+			}
+			return byteCodes;
+		}
+		
+		@Override
+		public void close() {
+			byteCodesForPackage.clear();
+		}
+	}
+	
+	//Each failed javac call for a missing class path is followed by another one, so this count includes the retries
+	public long getCompilationTasksCount() {
+		return compilationTasksCount.sum();
+	}
+	
+	public void clearCache() {
+		classPathIndex.close();
+		compilationCache.clear();
+		fileManagerPool.clear();
+		compiledClasses.close();
+	}
+	
+	//Compiled files in memory and in the temporary folder identified by the hash of the sources, of the options and of the fingerprints of the
+	//class paths: an entry is valid only if the class paths added during its compilation have not been changed and if the classes read
+	//from memory have not been changed too. Each entry is stored in a single file replaced atomically and the least recently used entries
+	//are evicted when their number exceeds the maximum
+	static class CompilationCache implements Component {
+		private static final String ENTRY_FILE_EXTENSION = ".entry";
+		
+		private File folder;
+		private String excludedClassPath;
+		private Map<String, CompiledFiles> compiledFilesForKey;
+		private int maxEntries;
+		
+		CompilationCache(File folder, String excludedClassPath) {
+			this.folder = folder;
+			this.excludedClassPath = excludedClassPath;
+			this.maxEntries = 512;
+			this.compiledFilesForKey = Collections.synchronizedMap(new LinkedHashMap<String, CompiledFiles>(16, 0.75f, true) {
+				private static final long serialVersionUID = -2374637414757423460L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<String, CompiledFiles> eldest) {
+					return size() > maxEntries;
+				}
+			});
+		}
+		
+		//The fingerprints computed are added to the known ones so that each class path is walked only once
+		Map<String, Long> computeFingerprints(Collection<String> classPaths, Map<String, Long> knownFingerprints) {
+			Map<String, Long> fingerprints = new LinkedHashMap<>();
+			for (String classPath : classPaths) {
+				if (!classPath.equals(excludedClassPath)) {
+					fingerprints.put(classPath, knownFingerprints.computeIfAbsent(classPath, FileSystemHelper::computeFingerprint));
+				}
+			}
+			return fingerprints;
+		}
+		
+		String computeKey(Collection<String> sources, Map<String, String> options, Map<String, Long> classPathsFingerprints) {
+			MessageDigest messageDigest = ThrowingSupplier.get(() -> MessageDigest.getInstance("SHA-256"));
+			for (String source : sources) {
+				messageDigest.update(source.getBytes(StandardCharsets.UTF_8));
+				messageDigest.update((byte)0);
+			}
+			options.forEach((key, value) -> {
+				messageDigest.update((key + "=" + value).getBytes(StandardCharsets.UTF_8));
+				messageDigest.update((byte)0);
+			});
+			classPathsFingerprints.forEach((classPath, fingerprint) -> {
+				messageDigest.update((classPath + "=" + fingerprint).getBytes(StandardCharsets.UTF_8));
+				messageDigest.update((byte)0);
+			});
+			return new BigInteger(1, messageDigest.digest()).toString(16);
+		}
+		
+		Map<String, ByteBuffer> get(String key, Map<String, Long> knownFingerprints, Function<String, Long> hashOfClassInMemorySupplier) {
+			CompiledFiles compiledFiles = compiledFilesForKey.get(key);
+			if (compiledFiles == null && (compiledFiles = load(key)) != null) {
+				compiledFilesForKey.put(key, compiledFiles);
+			}
+			if (compiledFiles == null || !compiledFiles.isValid(this, knownFingerprints, hashOfClassInMemorySupplier)) {
+				return null;
+			}
+			Map<String, ByteBuffer> byteCodes = new HashMap<>();
+			compiledFiles.byteCodes.forEach((className, byteCode) -> byteCodes.put(className, Streams.shareContent(byteCode)));
+			return byteCodes;
+		}
+		
+		void put(String key, Map<String, ByteBuffer> byteCodes, Map<String, Long> classPathsFingerprints, Map<String, Long> hashesOfClassesReadFromMemory) {
+			CompiledFiles compiledFiles = new CompiledFiles(new HashMap<>(byteCodes), classPathsFingerprints, new HashMap<>(hashesOfClassesReadFromMemory));
+			compiledFilesForKey.put(key, compiledFiles);
+			store(key, compiledFiles);
+		}
+		
+		private CompiledFiles load(String key) {
+			File entryFile = new File(folder, key + ENTRY_FILE_EXTENSION);
+			if (!entryFile.exists()) {
+				return null;
+			}
+			try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(entryFile)))) {
+				Map<String, Long> classPathsFingerprints = readHashes(input);
+				Map<String, Long> hashesOfClassesReadFromMemory = readHashes(input);
+				Map<String, ByteBuffer> byteCodes = new HashMap<>();
+				for (int i = input.readInt(); i > 0; i--) {
+					String className = input.readUTF();
+					byte[] byteCode = new byte[input.readInt()];
+					input.readFully(byteCode);
+					byteCodes.put(className, ByteBuffer.wrap(byteCode));
+				}
+				//The last modified time of the entry is used to evict the least recently used ones
+				entryFile.setLastModified(System.currentTimeMillis());
+				return new CompiledFiles(byteCodes, classPathsFingerprints, hashesOfClassesReadFromMemory);
+			} catch (Throwable exc) {
+				logWarn("Could not load compiled files from {}: {}", entryFile.getAbsolutePath(), exc.getMessage());
+				return null;
+			}
+		}
+		
+		private Map<String, Long> readHashes(DataInputStream input) throws IOException {
+			Map<String, Long> hashes = new LinkedHashMap<>();
+			for (int i = input.readInt(); i > 0; i--) {
+				String name = input.readUTF();
+				hashes.put(name, input.readLong());
+			}
+			return hashes;
+		}
+		
+		//The entry is written in a temporary file that then atomically replaces the existing one so that other processes never read an
+		//incomplete or half deleted entry
+		private void store(String key, CompiledFiles compiledFiles) {
+			File entryFile = new File(folder, key + ENTRY_FILE_EXTENSION);
+			File tempFile = new File(folder, key + "-" + UUID.randomUUID().toString() + ".tmp");
+			try {
+				try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+					writeHashes(output, compiledFiles.classPathsFingerprints);
+					writeHashes(output, compiledFiles.hashesOfClassesReadFromMemory);
+					output.writeInt(compiledFiles.byteCodes.size());
+					for (Map.Entry<String, ByteBuffer> byteCode : compiledFiles.byteCodes.entrySet()) {
+						byte[] byteCodeBytes = Streams.toByteArray(byteCode.getValue());
+						output.writeUTF(byteCode.getKey());
+						output.writeInt(byteCodeBytes.length);
+						output.write(byteCodeBytes);
+					}
+				}
+				try {
+					Files.move(tempFile.toPath(), entryFile.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+				} catch (AtomicMoveNotSupportedException exc) {
+					Files.move(tempFile.toPath(), entryFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+				}
+				evictLeastRecentlyUsedEntries();
+			} catch (Throwable exc) {
+				logWarn("Could not store compiled files in {}: {}", entryFile.getAbsolutePath(), exc.getMessage());
+				tempFile.delete();
+			}
+		}
+		
+		private void writeHashes(DataOutputStream output, Map<String, Long> hashes) throws IOException {
+			output.writeInt(hashes.size());
+			for (Map.Entry<String, Long> hash : hashes.entrySet()) {
+				output.writeUTF(hash.getKey());
+				output.writeLong(hash.getValue());
+			}
+		}
+		
+		private void evictLeastRecentlyUsedEntries() {
+			File[] entryFiles = folder.listFiles((dir, name) -> name.endsWith(ENTRY_FILE_EXTENSION));
+			if (entryFiles == null || entryFiles.length <= maxEntries) {
+				return;
+			}
+			Arrays.sort(entryFiles, Comparator.comparingLong(File::lastModified));
+			for (int i = 0; i < entryFiles.length - maxEntries; i++) {
+				entryFiles[i].delete();
+			}
+		}
+		
+		void clear() {
+			compiledFilesForKey.clear();
+		}
+		
+		@Override
+		public void close() {
+			clear();
+			folder = null;
+		}
+		
+		private static class CompiledFiles {
+			private final Map<String, ByteBuffer> byteCodes;
+			private final Map<String, Long> classPathsFingerprints;
+			private final Map<String, Long> hashesOfClassesReadFromMemory;
+			
+			private CompiledFiles(Map<String, ByteBuffer> byteCodes, Map<String, Long> classPathsFingerprints, Map<String, Long> hashesOfClassesReadFromMemory) {
+				this.byteCodes = byteCodes;
+				this.classPathsFingerprints = classPathsFingerprints;
+				this.hashesOfClassesReadFromMemory = hashesOfClassesReadFromMemory;
+			}
+			
+			private boolean isValid(CompilationCache compilationCache, Map<String, Long> knownFingerprints, Function<String, Long> hashOfClassInMemorySupplier) {
+				for (Map.Entry<String, Long> classPathFingerprint : classPathsFingerprints.entrySet()) {
+					Long fingerprint = knownFingerprints.computeIfAbsent(classPathFingerprint.getKey(), FileSystemHelper::computeFingerprint);
+					if (!fingerprint.equals(classPathFingerprint.getValue())) {
+						return false;
+					}
+				}
+				for (Map.Entry<String, Long> hashOfClassReadFromMemory : hashesOfClassesReadFromMemory.entrySet()) {
+					if (!hashOfClassReadFromMemory.getValue().equals(hashOfClassInMemorySupplier.apply(hashOfClassReadFromMemory.getKey()))) {
+						return false;
+					}
+				}
+				return true;
+			}
+		}
+	}
+	
 	@Override
 	public void close() {
+		classPathIndex.close();
+		compilationCache.close();
+		fileManagerPool.close();
+		compiledClasses.close();
 		compiler = null;
 		classPathHunter = null;
 		sourceCodeExecutor = null;
@@ -30,12 +30,22 @@ package org.burningwave.core.classes;
 import static org.burningwave.core.assembler.StaticComponentContainer.Cache;
 import static org.burningwave.core.assembler.StaticComponentContainer.ClassLoaders;
 import static org.burningwave.core.assembler.StaticComponentContainer.Classes;
+import static org.burningwave.core.assembler.StaticComponentContainer.FileSystemHelper;
+import static org.burningwave.core.assembler.StaticComponentContainer.GlobalProperties;
+import static org.burningwave.core.assembler.StaticComponentContainer.Paths;
+import static org.burningwave.core.assembler.StaticComponentContainer.Streams;
 import static org.burningwave.core.assembler.StaticComponentContainer.Strings;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.InputStream;
 import java.net.URL;
 import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.security.ProtectionDomain;
+import java.util.AbstractMap;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -44,17 +54,32 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
 
 import org.burningwave.core.Component;
+import org.burningwave.core.function.ThrowingRunnable;
+import org.burningwave.core.function.ThrowingSupplier;
 import org.burningwave.core.io.ByteBufferInputStream;
 
 
 public class MemoryClassLoader extends ClassLoader implements Component {
-
+	public final static String LOADED_BYTE_CODES_RETENTION_CONFIG_KEY = "memory-class-loader.loaded-byte-codes.retention";
+	
+	public final static ByteCodesRetention LOADED_BYTE_CODES_RETENTION_DEFAULT_VALUE = ByteCodesRetention.parse(
+		GlobalProperties.getProperty(LOADED_BYTE_CODES_RETENTION_CONFIG_KEY),
+		ByteCodesRetention.KEEP
+	);
+	
 	protected Map<String, ByteBuffer> notLoadedByteCodes;
 	protected Map<String, ByteBuffer> loadedByteCodes;
+	protected Map<String, byte[]> compressedLoadedByteCodes;
+	protected ByteCodesRetention loadedByteCodesRetention;
+	private File loadedByteCodesFolder;
 	
 	static {
         ClassLoader.registerAsParallelCapable();
@@ -64,8 +89,10 @@ public class MemoryClassLoader extends ClassLoader implements Component {
 		ClassLoader parentClassLoader
 	) {
 		super(parentClassLoader);
-		this.notLoadedByteCodes = new HashMap<>();
-		this.loadedByteCodes = new HashMap<>();
+		this.notLoadedByteCodes = new ConcurrentHashMap<>();
+		this.loadedByteCodes = new ConcurrentHashMap<>();
+		this.compressedLoadedByteCodes = new ConcurrentHashMap<>();
+		this.loadedByteCodesRetention = LOADED_BYTE_CODES_RETENTION_DEFAULT_VALUE;
 	}
 	
 	public static MemoryClassLoader create(ClassLoader parentClassLoader) {
@@ -74,23 +101,25 @@ public class MemoryClassLoader extends ClassLoader implements Component {
 
 	public void addByteCode(String className, ByteBuffer byteCode) {
     	if (ClassLoaders.retrieveLoadedClass(this, className) == null) {
-    		synchronized (Classes.getId(notLoadedByteCodes, className)) {
-    			notLoadedByteCodes.put(className, byteCode);
-    		}
+    		notLoadedByteCodes.put(className, byteCode);
+    		Cache.classLoaderForNotFoundClassNames.invalidate(className);
 		} else {
 			logDebug("Could not add compiled class {} cause it's already defined", className);
 		}
     }
     
     public Map.Entry<String, ByteBuffer> getNotLoadedByteCodes(String name) {
-    	for (Map.Entry<String, ByteBuffer> entry : notLoadedByteCodes.entrySet()){
-    	    if (entry.getKey().equals(name)) {
-    	    	return entry;
-    	    }
+    	ByteBuffer byteCode = notLoadedByteCodes.get(name);
+    	if (byteCode != null) {
+    		return new AbstractMap.SimpleImmutableEntry<>(name, byteCode);
     	}
     	return null;
     }
     
+    public void setLoadedByteCodesRetention(ByteCodesRetention loadedByteCodesRetention) {
+    	this.loadedByteCodesRetention = loadedByteCodesRetention;
+    }
+    
     public ByteBuffer getByteCodeOf(String name) {
     	return Optional.ofNullable(getNotLoadedByteCodes(name)).map(entry -> entry.getValue()).orElse(null);
     }
@@ -156,16 +185,30 @@ public class MemoryClassLoader extends ClassLoader implements Component {
     
     @Override
     protected Class<?> loadClass(String className, boolean resolve) throws ClassNotFoundException {
+    	if (Cache.classLoaderForNotFoundClassNames.contains(this, className)) {
+    		throw new NotFoundClassException(className);
+    	}
+    	long notFoundClassNamesVersion = Cache.classLoaderForNotFoundClassNames.getVersion(className);
     	Class<?> cls = null;
     	try {
 			cls = super.loadClass(className, resolve);
 		} catch (SecurityException exc) {
 			cls = Class.forName(className);
+		} catch (ClassNotFoundException exc) {
+			//Byte code could have been added while searching
+			if (!hasByteCodeOf(className)) {
+				Cache.classLoaderForNotFoundClassNames.add(this, className, notFoundClassNamesVersion);
+			}
+			throw exc;
 		}
     	removeNotLoadedCompiledClass(className);
     	return cls;
     }
     
+    protected boolean hasByteCodeOf(String className) {
+    	return notLoadedByteCodes.containsKey(className);
+    }
+    
     
     public Class<?> loadOrUploadClass(Class<?> toLoad) throws ClassNotFoundException {
     	return ClassLoaders.loadOrUploadClass(toLoad, this);
@@ -203,18 +246,66 @@ public class MemoryClassLoader extends ClassLoader implements Component {
     
 	ByteBuffer getByteCode(String classRelativePath) {
 		String className = classRelativePath.substring(0, classRelativePath.lastIndexOf(".class")).replace("/", ".");
-		ByteBuffer byteCode = loadedByteCodes.get(className);
+		ByteBuffer byteCode = getLoadedByteCode(className);
 		if (byteCode == null) {
 			byteCode = notLoadedByteCodes.get(className);
 		}
 		return byteCode;
 	}
-    
+	
+	ByteBuffer getLoadedByteCode(String className) {
+		ByteBuffer byteCode = loadedByteCodes.get(className);
+		if (byteCode == null) {
+			byte[] compressedByteCode = compressedLoadedByteCodes.get(className);
+			if (compressedByteCode != null) {
+				byteCode = Streams.toByteBuffer(new InflaterInputStream(new ByteArrayInputStream(compressedByteCode)));
+			} else if (loadedByteCodesFolder != null) {
+				File byteCodeFile = getLoadedByteCodeFile(className);
+				if (byteCodeFile.exists()) {
+					byteCode = ByteBuffer.wrap(ThrowingSupplier.get(() -> Files.readAllBytes(byteCodeFile.toPath())));
+				}
+			}
+		}
+		return byteCode;
+	}
     
     protected void addLoadedByteCode(String className, ByteBuffer byteCode) {
-    	synchronized (Classes.getId(loadedByteCodes, className)) {
-    		loadedByteCodes.put(className, byteCode);
-		}
+    	switch (loadedByteCodesRetention) {
+    		case KEEP :
+    			loadedByteCodes.put(className, byteCode);
+    			break;
+    		case COMPRESS :
+    			ByteArrayOutputStream compressedByteCode = new ByteArrayOutputStream();
+    			ThrowingRunnable.run(() -> {
+    				try (DeflaterOutputStream outputStream = new DeflaterOutputStream(compressedByteCode)) {
+    					outputStream.write(Streams.toByteArray(byteCode));
+    				}
+    			});
+    			compressedLoadedByteCodes.put(className, compressedByteCode.toByteArray());
+    			break;
+    		case STORE_ON_DISK :
+    			File byteCodeFile = getLoadedByteCodeFile(className);
+    			ThrowingRunnable.run(() -> {
+    				byteCodeFile.getParentFile().mkdirs();
+    				Files.write(byteCodeFile.toPath(), Streams.toByteArray(byteCode));
+    			});
+    			break;
+    		case DROP :
+    			break;
+    	}
+    }
+    
+    private File getLoadedByteCodeFile(String className) {
+    	if (loadedByteCodesFolder == null) {
+    		synchronized (this) {
+    			if (loadedByteCodesFolder == null) {
+    				loadedByteCodesFolder = FileSystemHelper.createTemporaryFolder(
+    					"MemoryClassLoader/" + UUID.randomUUID().toString() 
+    				);
+    			}
+    		}
+    	}
+    	return new File(loadedByteCodesFolder, className.replace(".", "/") + ".class");
     }
     
     
@@ -270,9 +361,7 @@ public class MemoryClassLoader extends ClassLoader implements Component {
 	}
 
 	public void removeNotLoadedCompiledClass(String className) {
-		synchronized (Classes.getId(notLoadedByteCodes, className)) {
-			notLoadedByteCodes.remove(className);
-		}
+		notLoadedByteCodes.remove(className);
 	}
 	
 	
@@ -280,8 +369,27 @@ public class MemoryClassLoader extends ClassLoader implements Component {
 		return ClassLoaders.retrieveLoadedClassesForPackage(this, packagePredicate);
 	}
 	
+	//The compressed and the stored byte codes are retrieved too, so that the classes can be compiled against whatever retention is used
 	Map<String, ByteBuffer> getLoadedCompiledClasses() {
-		return loadedByteCodes;
+		File loadedByteCodesFolder = this.loadedByteCodesFolder;
+		if (compressedLoadedByteCodes.isEmpty() && loadedByteCodesFolder == null) {
+			return loadedByteCodes;
+		}
+		Map<String, ByteBuffer> byteCodes = new HashMap<>(loadedByteCodes);
+		for (String className : compressedLoadedByteCodes.keySet()) {
+			byteCodes.put(className, getLoadedByteCode(className));
+		}
+		if (loadedByteCodesFolder != null && loadedByteCodesFolder.exists()) {
+			Path folder = loadedByteCodesFolder.toPath();
+			try (Stream<Path> files = ThrowingSupplier.get(() -> Files.walk(folder))) {
+				files.filter(file -> file.toString().endsWith(".class")).forEach(file -> {
+					String classRelativePath = Paths.clean(folder.relativize(file).toString());
+					String className = classRelativePath.substring(0, classRelativePath.lastIndexOf(".class")).replace("/", ".");
+					byteCodes.computeIfAbsent(className, this::getLoadedByteCode);
+				});
+			}
+		}
+		return byteCodes;
 	}
 		
 	public void forceCompiledClassesLoading() {
@@ -308,10 +416,16 @@ public class MemoryClassLoader extends ClassLoader implements Component {
 	public void clear () {
 		notLoadedByteCodes.clear();
 		loadedByteCodes.clear();
+		compressedLoadedByteCodes.clear();
+		if (loadedByteCodesFolder != null) {
+			FileSystemHelper.delete(loadedByteCodesFolder);
+			loadedByteCodesFolder = null;
+		}
 	}
 	
 	protected void unregister() {
 		ClassLoaders.unregister(this);
+		Cache.classLoaderForNotFoundClassNames.remove(this);
 		Cache.classLoaderForConstructors.remove(this);
 		Cache.classLoaderForFields.remove(this);
 		Cache.classLoaderForMethods.remove(this);
@@ -322,6 +436,35 @@ public class MemoryClassLoader extends ClassLoader implements Component {
 		clear();
 		notLoadedByteCodes = null;
 		loadedByteCodes = null;
+		compressedLoadedByteCodes = null;
 		unregister();
 	}
-}
\ No newline at end of file
+	
+	static class NotFoundClassException extends ClassNotFoundException {
+		private static final long serialVersionUID = -1286826417003546434L;
+
+		NotFoundClassException(String className) {
+			super(className);
+		}
+		
+		@Override
+		public synchronized Throwable fillInStackTrace() {
+			return this;
+		}
+	}
+	
+	public static enum ByteCodesRetention {
+		KEEP, COMPRESS, STORE_ON_DISK, DROP;
+		
+		public static ByteCodesRetention parse(String property, ByteCodesRetention defaultValue) {
+			if (property != null) {
+				for (ByteCodesRetention value : values()) {
+					if (value.name().replace("_", "-").equalsIgnoreCase(property.trim()) || value.name().equalsIgnoreCase(property.trim())) {
+						return value;
+					}
+				}
+			}
+			return defaultValue;
+		}
+	}
+}
@@ -28,16 +28,30 @@
  */
 package org.burningwave.core.classes;
 
+import static org.burningwave.core.assembler.StaticComponentContainer.Cache;
+import static org.burningwave.core.assembler.StaticComponentContainer.ClassLoaders;
 import static org.burningwave.core.assembler.StaticComponentContainer.Paths;
+import static org.burningwave.core.assembler.StaticComponentContainer.Streams;
+import static org.burningwave.core.assembler.StaticComponentContainer.Throwables;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.ByteBuffer;
 import java.util.Collection;
-import java.util.HashSet;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
 
+import org.burningwave.core.io.FileInputStream;
 import org.burningwave.core.io.PathHelper;
 import org.burningwave.core.io.PathHelper.ComparePathsResult;
 
@@ -45,6 +59,8 @@ import org.burningwave.core.io.PathHelper.ComparePathsResult;
 public class PathScannerClassLoader extends org.burningwave.core.classes.MemoryClassLoader {
 	Supplier<ByteCodeHunter> byteCodeHunterSupplier;
 	Collection<String> loadedPaths;
+	Map<String, ByteCodeLocation> byteCodesLocations;
+	Map<String, ZipFile> archives;
 	private ByteCodeHunter byteCodeHunter;
 	private PathHelper pathHelper;
 	private Integer byteCodeHunterSearchConfigCheckFileOptions;
@@ -62,7 +78,10 @@ public class PathScannerClassLoader extends org.burningwave.core.classes.MemoryC
 		super(parentClassLoader);
 		this.pathHelper = pathHelper;
 		this.byteCodeHunterSupplier = byteCodeHunterSupplier;
-		loadedPaths = new HashSet<>();
+		//Read without locking by the searches that test the cached items in parallel
+		loadedPaths = ConcurrentHashMap.newKeySet();
+		byteCodesLocations = new ConcurrentHashMap<>();
+		archives = new ConcurrentHashMap<>();
 		this.byteCodeHunterSearchConfigCheckFileOptions = byteCodeHunterSearchConfigCheckFileOptions;
 	}
 	
@@ -82,8 +101,10 @@ public class PathScannerClassLoader extends org.burningwave.core.classes.MemoryC
 			synchronized (loadedPaths) {
 				checkPathsResult = compareWithAllLoadedPaths(paths, considerURLClassLoaderPathsAsLoadedPaths);
 				if (!checkPathsResult.getNotContainedPaths().isEmpty()) {
+					//Only the locations of the classes are kept: the byte codes are read when the classes are defined, so the search
+					//doesn't use the cache of the hunter that would keep all of them
 					try(ByteCodeHunter.SearchResult result = getByteCodeHunter().findBy(
-						SearchConfig.forPaths(
+						SearchConfig.withoutUsingCache().addPaths(
 							checkPathsResult.getNotContainedPaths()
 						).considerURLClassLoaderPathsAsScanned(
 							considerURLClassLoaderPathsAsLoadedPaths
@@ -95,16 +116,15 @@ public class PathScannerClassLoader extends org.burningwave.core.classes.MemoryC
 							true
 						)
 					)) {
+						Map<String, String> archivesOfFolders = new HashMap<>();
 						if (checkPathsResult.getPartialContainedDirectories().isEmpty() && checkPathsResult.getPartialContainedFiles().isEmpty()) {
 							for (Entry<String, JavaClass> entry : result.getClassesFlatMap().entrySet()) {
-								JavaClass javaClass = entry.getValue();
-								addByteCode(javaClass.getName(), javaClass.getByteCode());
+								addByteCodeLocation(entry.getValue().getName(), toByteCodeLocation(entry.getKey(), archivesOfFolders));
 							}
 						} else {
 							for (Entry<String, JavaClass> entry : result.getClassesFlatMap().entrySet()) {
 								if (check(checkPathsResult, entry.getKey())) {
-									JavaClass javaClass = entry.getValue();
-									addByteCode(javaClass.getName(), javaClass.getByteCode());
+									addByteCodeLocation(entry.getValue().getName(), toByteCodeLocation(entry.getKey(), archivesOfFolders));
 								}
 							}
 						}
@@ -115,6 +135,124 @@ public class PathScannerClassLoader extends org.burningwave.core.classes.MemoryC
 		}
 	}
 
+	//The archive containing a class is resolved once for each folder of the scanned paths
+	private ByteCodeLocation toByteCodeLocation(String absolutePath, Map<String, String> archivesOfFolders) {
+		String folder = absolutePath.substring(0, absolutePath.lastIndexOf("/"));
+		String archive = archivesOfFolders.computeIfAbsent(folder, key -> {
+			String path = key;
+			while (!path.isEmpty()) {
+				File file = new File(path);
+				if (file.isFile()) {
+					return path;
+				} else if (file.isDirectory()) {
+					return "";
+				}
+				int separatorIndex = path.lastIndexOf("/");
+				path = separatorIndex > 0 ? path.substring(0, separatorIndex) : "";
+			}
+			return "";
+		});
+		return archive.isEmpty() ?
+			new ByteCodeLocation(null, absolutePath) :
+			new ByteCodeLocation(archive, absolutePath.substring(archive.length() + 1));
+	}
+	
+	void addByteCodeLocation(String className, ByteCodeLocation byteCodeLocation) {
+		if (ClassLoaders.retrieveLoadedClass(this, className) == null &&
+			byteCodesLocations.putIfAbsent(className, byteCodeLocation) == null
+		) {
+			Cache.classLoaderForNotFoundClassNames.invalidate(className);
+		}
+	}
+	
+	@Override
+	protected boolean hasByteCodeOf(String className) {
+		return super.hasByteCodeOf(className) || byteCodesLocations.containsKey(className);
+	}
+	
+	ByteBuffer retrieveByteCodeFromLocation(String className) {
+		ByteCodeLocation byteCodeLocation = byteCodesLocations.get(className);
+		if (byteCodeLocation != null) {
+			try {
+				return byteCodeLocation.archive != null ?
+					readFromArchive(byteCodeLocation.archive, byteCodeLocation.path) :
+					readFromFile(byteCodeLocation.path);
+			} catch (Throwable exc) {
+				logWarn("Could not read byte code of {} from {}: {}", className, byteCodeLocation, exc.toString());
+			}
+		}
+		return null;
+	}
+	
+	private ByteBuffer readFromFile(String absolutePath) {
+		try (FileInputStream fileInputStream = FileInputStream.create(absolutePath)) {
+			return Streams.toByteBuffer(fileInputStream);
+		}
+	}
+	
+	//The archives are kept open and their entries are reached through the central directory
+	private ByteBuffer readFromArchive(String archivePath, String entryName) throws IOException {
+		ZipFile archive = archives.computeIfAbsent(archivePath, path -> {
+			try {
+				return new ZipFile(path);
+			} catch (IOException exc) {
+				throw Throwables.toRuntimeException(exc);
+			}
+		});
+		ZipEntry entry = archive.getEntry(entryName);
+		if (entry != null) {
+			try (InputStream inputStream = archive.getInputStream(entry)) {
+				return Streams.toByteBuffer(inputStream);
+			}
+		}
+		//Nested archive: its entries are streamed without being stored
+		int separatorIndex = -1;
+		while ((separatorIndex = entryName.indexOf("/", separatorIndex + 1)) != -1) {
+			entry = archive.getEntry(entryName.substring(0, separatorIndex));
+			if (entry != null && !entry.isDirectory()) {
+				try (InputStream inputStream = archive.getInputStream(entry)) {
+					return readFromNestedArchive(inputStream, entryName.substring(separatorIndex + 1));
+				}
+			}
+		}
+		return null;
+	}
+	
+	private ByteBuffer readFromNestedArchive(InputStream inputStream, String entryName) throws IOException {
+		ZipInputStream zipInputStream = new ZipInputStream(inputStream);
+		ZipEntry entry;
+		while ((entry = zipInputStream.getNextEntry()) != null) {
+			if (entry.getName().equals(entryName)) {
+				return Streams.toByteBuffer(zipInputStream);
+			} else if (!entry.isDirectory() && entryName.startsWith(entry.getName() + "/")) {
+				return readFromNestedArchive(zipInputStream, entryName.substring(entry.getName().length() + 1));
+			}
+		}
+		return null;
+	}
+	
+	@Override
+	protected Class<?> findClass(String className) throws ClassNotFoundException {
+		if (notLoadedByteCodes.get(className) == null) {
+			ByteBuffer byteCode = retrieveByteCodeFromLocation(className);
+			if (byteCode != null) {
+				addByteCode(className, byteCode);
+			}
+		}
+		return super.findClass(className);
+	}
+	
+	@Override
+	ByteBuffer getByteCode(String classRelativePath) {
+		ByteBuffer byteCode = super.getByteCode(classRelativePath);
+		if (byteCode == null) {
+			byteCode = retrieveByteCodeFromLocation(
+				classRelativePath.substring(0, classRelativePath.lastIndexOf(".class")).replace("/", ".")
+			);
+		}
+		return byteCode;
+	}
+	
 	private boolean check(ComparePathsResult checkPathsResult, String key) {
 		for (Collection<String> filePaths : checkPathsResult.getPartialContainedFiles().values()) {
 			for (String filePath : filePaths) {
@@ -159,8 +297,34 @@ public class PathScannerClassLoader extends org.burningwave.core.classes.MemoryC
 		byteCodeHunterSupplier = null;
 		loadedPaths.clear();
 		loadedPaths = null;
+		byteCodesLocations.clear();
+		byteCodesLocations = null;
+		for (ZipFile archive : archives.values()) {
+			try {
+				archive.close();
+			} catch (IOException exc) {
+				logWarn("Could not close {}: {}", archive.getName(), exc.toString());
+			}
+		}
+		archives.clear();
+		archives = null;
 		byteCodeHunter = null;
 		pathHelper = null;
 		super.close();
 	}
+	
+	static class ByteCodeLocation {
+		final String archive;
+		final String path;
+		
+		ByteCodeLocation(String archive, String path) {
+			this.archive = archive;
+			this.path = path;
+		}
+		
+		@Override
+		public String toString() {
+			return archive != null ? archive + "/" + path : path;
+		}
+	}
 }
\ No newline at end of file
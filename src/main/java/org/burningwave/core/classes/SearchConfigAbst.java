@@ -32,12 +32,14 @@ import static org.burningwave.core.assembler.StaticComponentContainer.Throwables
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
 
 import org.burningwave.core.Component;
 import org.burningwave.core.io.ClassFileScanConfig;
 
 @SuppressWarnings("unchecked")
-abstract class SearchConfigAbst<S extends SearchConfigAbst<S>> implements Component {
+public abstract class SearchConfigAbst<S extends SearchConfigAbst<S>> implements Component {
 	ClassCriteria classCriteria;
 	ClassFileScanConfig scanConfig;
 	ClassLoader parentClassLoaderForMainClassLoader;
@@ -46,12 +48,18 @@ abstract class SearchConfigAbst<S extends SearchConfigAbst<S>> implements Compon
 	boolean useSharedClassLoaderAsParent;
 	boolean considerURLClassLoaderPathsAsScanned;
 	boolean waitForSearchEnding;
+	int minCachedItemsForParallelTesting;
+	boolean checkForChangesOfCachedPaths;
+	int limit;
+	ClassHierarchy classHierarchy;
+	Collection<String> superTypeNamesForClassHierarchy;
 	
 
 	SearchConfigAbst(Collection<String>... pathsColl) {
 		useSharedClassLoaderAsMain(true);
 		deleteFoundItemsOnClose = true;
 		waitForSearchEnding = true;
+		minCachedItemsForParallelTesting = 256;
 		scanConfig = ClassFileScanConfig.forPaths(pathsColl);
 		classCriteria = ClassCriteria.create();
 	}
@@ -127,6 +135,54 @@ abstract class SearchConfigAbst<S extends SearchConfigAbst<S>> implements Compon
 		return (S)this;
 	}
 	
+	public S minCachedItemsForParallelTesting(int value) {
+		this.minCachedItemsForParallelTesting = value;
+		return (S)this;
+	}
+	
+	public S checkForChangesOfCachedPaths(boolean flag) {
+		this.checkForChangesOfCachedPaths = flag;
+		return (S)this;
+	}
+	
+	//The search stops as soon as the number of items found reaches the limit: a value less than or equal to zero means no limit
+	public S limit(int value) {
+		this.limit = value;
+		return (S)this;
+	}
+	
+	public S findFirst() {
+		return limit(1);
+	}
+	
+	int getLimit() {
+		return limit;
+	}
+	
+	//The classes that the class hierarchy excludes from being the types or their subtypes are skipped without being loaded
+	public S onlySubtypesOf(ClassHierarchy classHierarchy, Class<?>... superTypes) {
+		this.classHierarchy = classHierarchy;
+		this.superTypeNamesForClassHierarchy = new HashSet<>();
+		for (Class<?> superType : superTypes) {
+			superTypeNamesForClassHierarchy.add(superType.getName());
+		}
+		return (S)this;
+	}
+	
+	boolean isExcludedByClassHierarchy(String className) {
+		return classHierarchy != null && className != null &&
+			!classHierarchy.mayBeSubtypeOf(className, superTypeNamesForClassHierarchy);
+	}
+	
+	public S sortPathsBy(Comparator<String> comparator) {
+		scanConfig.sortPathsBy(comparator);
+		return (S)this;
+	}
+	
+	int getMinCachedItemsForParallelTesting() {
+		return minCachedItemsForParallelTesting;
+	}
+	
 	ClassFileScanConfig getClassFileScanConfiguration() {
 		return this.scanConfig;
 	}
@@ -136,6 +192,21 @@ abstract class SearchConfigAbst<S extends SearchConfigAbst<S>> implements Compon
 		return (S)this;
 	}
 	
+	public S maxParallelScannedPaths(int value) {
+		scanConfig.maxParallelScannedPaths(value);
+		return (S)this;
+	}
+	
+	public S maxParallelScannedArchives(int value) {
+		scanConfig.maxParallelScannedArchives(value);
+		return (S)this;
+	}
+	
+	public S minArchiveSizeForParallelEntriesScan(long value) {
+		scanConfig.minArchiveSizeForParallelEntriesScan(value);
+		return (S)this;
+	}
+	
 	public S optimizePaths(boolean flag) {
 		scanConfig.optimizePaths(flag);
 		return (S)this;
@@ -157,6 +228,11 @@ abstract class SearchConfigAbst<S extends SearchConfigAbst<S>> implements Compon
 		destConfig.deleteFoundItemsOnClose = this.deleteFoundItemsOnClose;
 		destConfig.considerURLClassLoaderPathsAsScanned = this.considerURLClassLoaderPathsAsScanned;
 		destConfig.waitForSearchEnding = this.waitForSearchEnding;
+		destConfig.minCachedItemsForParallelTesting = this.minCachedItemsForParallelTesting;
+		destConfig.checkForChangesOfCachedPaths = this.checkForChangesOfCachedPaths;
+		destConfig.limit = this.limit;
+		destConfig.classHierarchy = this.classHierarchy;
+		destConfig.superTypeNamesForClassHierarchy = this.superTypeNamesForClassHierarchy;
 		return destConfig;
 	}
 	
@@ -170,6 +246,11 @@ abstract class SearchConfigAbst<S extends SearchConfigAbst<S>> implements Compon
 		copy.deleteFoundItemsOnClose = this.deleteFoundItemsOnClose;
 		copy.considerURLClassLoaderPathsAsScanned = this.considerURLClassLoaderPathsAsScanned;
 		copy.waitForSearchEnding = this.waitForSearchEnding;
+		copy.minCachedItemsForParallelTesting = this.minCachedItemsForParallelTesting;
+		copy.checkForChangesOfCachedPaths = this.checkForChangesOfCachedPaths;
+		copy.limit = this.limit;
+		copy.classHierarchy = this.classHierarchy;
+		copy.superTypeNamesForClassHierarchy = this.superTypeNamesForClassHierarchy;
 		return copy;
 	}
 }
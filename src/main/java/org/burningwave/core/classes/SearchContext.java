@@ -33,11 +33,12 @@ import static org.burningwave.core.assembler.StaticComponentContainer.Throwables
 
 import java.nio.ByteBuffer;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 import java.util.function.Supplier;
 
 import org.burningwave.core.Component;
@@ -54,10 +55,14 @@ public class SearchContext<T> implements Component {
 	PathScannerClassLoader sharedPathMemoryClassLoader;
 	PathScannerClassLoader pathScannerClassLoader;
 	Collection<String> skippedClassNames;
-	Boolean classLoaderHaveBeenUploadedWithCriteriaPaths;
+	volatile boolean classLoaderHaveBeenUploadedWithCriteriaPaths;
 	CompletableFuture<Void> searchTask;
 	Collection<T> itemsFound;
 	boolean searchTaskFinished;
+	BiConsumer<String, T> itemFoundListener;
+	int itemsFoundLimit;
+	AtomicInteger itemsFoundCount;
+	Map<String, Map<String, JavaClass>> javaClassesFound;
 	
 	Collection<String> getSkippedClassNames() {
 		return skippedClassNames;
@@ -67,13 +72,15 @@ public class SearchContext<T> implements Component {
 	SearchContext(
 		InitContext initContext
 	) {
-		this.itemsFoundFlatMap = new HashMap<>();
-		this.itemsFoundMap = new HashMap<>();
+		this.itemsFoundFlatMap = new ConcurrentHashMap<>();
+		this.itemsFoundMap = new ConcurrentHashMap<>();
 		this.skippedClassNames = ConcurrentHashMap.newKeySet();
 		this.sharedPathMemoryClassLoader = initContext.getSharedPathMemoryClassLoader();
 		this.pathScannerClassLoader = initContext.getPathMemoryClassLoader();
 		this.classFileScanConfiguration = initContext.getClassFileScanConfiguration();
 		this.searchConfig = initContext.getSearchConfig();
+		this.itemsFoundLimit = searchConfig.getLimit();
+		this.itemsFoundCount = new AtomicInteger();
 		this.classLoaderHaveBeenUploadedWithCriteriaPaths = pathScannerClassLoader.compareWithAllLoadedPaths(
 			classFileScanConfiguration.getPaths(), searchConfig.considerURLClassLoaderPathsAsScanned
 		).getNotContainedPaths().isEmpty();
@@ -97,6 +104,28 @@ public class SearchContext<T> implements Component {
 		}
 	}
 	
+	//Executes a search shared by several contexts
+	static void executeSearch(Collection<? extends SearchContext<?>> contexts, Runnable searcher) {
+		boolean waitForSearchEnding = true;
+		for (SearchContext<?> context : contexts) {
+			waitForSearchEnding &= context.searchConfig.waitForSearchEnding;
+		}
+		Runnable searcherWrapper = () -> {
+			searcher.run();
+			for (SearchContext<?> context : contexts) {
+				context.searchTaskFinished = true;
+			}
+		};
+		if (waitForSearchEnding) {
+			searcherWrapper.run();
+		} else {
+			CompletableFuture<Void> searchTask = CompletableFuture.runAsync(searcherWrapper);
+			for (SearchContext<?> context : contexts) {
+				context.searchTask = searchTask;
+			}
+		}
+	}
+	
 	void waitForSearchEnding() {
 		try {
 			searchTask.get();
@@ -105,41 +134,118 @@ public class SearchContext<T> implements Component {
 		}
 	}
 	
-	void addItemFound(String path, String key, T item) {
+	boolean addItemFound(String path, String key, T item) {
+		//The maps of the items found are concurrent, so they don't accept null keys or values
+		if (key == null || item == null) {
+			return false;
+		}
+		Boolean isNewItem = putItemFound(key, item);
+		if (isNewItem == null) {
+			return false;
+		}
 		retrieveCollectionForPath(
 			itemsFoundMap,
-			HashMap::new, path
+			ConcurrentHashMap::new, path
 		).put(key, item);
-		synchronized(Classes.getId(itemsFoundFlatMap, key)) {
-			itemsFoundFlatMap.put(key, item);
-		}		
+		if (isNewItem) {
+			notifyItemFound(key, item);
+		}
+		return true;
 	}
 	
 	void addAllItemsFound(String path, Map<String, T> items) {
-		retrieveCollectionForPath(
-			itemsFoundMap,
-			HashMap::new, path
-		).putAll(items);
+		if (itemsFoundLimit <= 0) {
+			Map<String, T> itemsForPath = retrieveCollectionForPath(
+				itemsFoundMap,
+				ConcurrentHashMap::new, path
+			);
+			for (Map.Entry<String, T> item : items.entrySet()) {
+				if (item.getKey() == null || item.getValue() == null) {
+					continue;
+				}
+				itemsForPath.put(item.getKey(), item.getValue());
+				if (itemsFoundFlatMap.put(item.getKey(), item.getValue()) == null) {
+					notifyItemFound(item.getKey(), item.getValue());
+				}
+			}
+			return;
+		}
 		for (Map.Entry<String, T> item : items.entrySet()) {
-			synchronized(Classes.getId(itemsFoundFlatMap, item.getKey())) {
-				itemsFoundFlatMap.put(item.getKey(), item.getValue());
+			if (isItemsFoundLimitReached()) {
+				break;
+			}
+			addItemFound(path, item.getKey(), item.getValue());
+		}
+	}
+	
+	//Returns null if the item has been discarded because the limit has been reached, otherwise true if the key was not present
+	Boolean putItemFound(String key, T item) {
+		if (itemsFoundLimit <= 0) {
+			return itemsFoundFlatMap.put(key, item) == null;
+		}
+		Boolean[] isNewItem = new Boolean[1];
+		itemsFoundFlatMap.compute(key, (itemKey, oldItem) -> {
+			if (oldItem != null) {
+				isNewItem[0] = Boolean.FALSE;
+				return item;
+			}
+			if (!reserveItemFoundSlot()) {
+				return null;
 			}
+			isNewItem[0] = Boolean.TRUE;
+			return item;
+		});
+		return isNewItem[0];
+	}
+	
+	boolean reserveItemFoundSlot() {
+		if (itemsFoundLimit <= 0) {
+			return true;
+		}
+		if (itemsFoundCount.incrementAndGet() > itemsFoundLimit) {
+			itemsFoundCount.decrementAndGet();
+			return false;
 		}
+		return true;
+	}
+	
+	void releaseItemFoundSlot() {
+		if (itemsFoundLimit > 0) {
+			itemsFoundCount.decrementAndGet();
+		}
+	}
+	
+	boolean isItemsFoundLimitReached() {
+		return itemsFoundLimit > 0 && itemsFoundCount.get() >= itemsFoundLimit;
 	}
 	
-	 Map<String, T> retrieveCollectionForPath(Map<String, Map<String, T>> allItems, Supplier<Map<String, T>> mapForPathSupplier, String path) {
+	//The classes of the items found are kept only if requested, to be published in the shared class index
+	void collectJavaClassesFound() {
+		if (javaClassesFound == null) {
+			javaClassesFound = new ConcurrentHashMap<>();
+		}
+	}
+	
+	void addJavaClassFound(String path, String key, JavaClass javaClass) {
+		Map<String, Map<String, JavaClass>> javaClassesFound = this.javaClassesFound;
+		if (javaClassesFound != null) {
+			javaClassesFound.computeIfAbsent(path, itemPath -> new ConcurrentHashMap<>()).put(key, javaClass);
+		}
+	}
+	
+	void notifyItemFound(String key, T item) {
+		if (itemFoundListener != null) {
+			itemFoundListener.accept(key, item);
+		}
+	}
+	
+	Map<String, T> retrieveCollectionForPath(Map<String, Map<String, T>> allItems, Supplier<Map<String, T>> mapForPathSupplier, String path) {
 		Map<String, T> items = null;
 		if (mapForPathSupplier != null) {
 			if (allItems != null) {
 				items = allItems.get(path);
 				if (items == null) {
-					synchronized(Classes.getId(allItems, path)) {
-						items = allItems.get(path);
-						if (items == null) {
-							items = mapForPathSupplier.get();
-							allItems.put(path, items);
-						}
-					}
+					items = allItems.computeIfAbsent(path, key -> mapForPathSupplier.get());
 				}
 			} else {
 				items = mapForPathSupplier.get();
@@ -163,7 +269,7 @@ public class SearchContext<T> implements Component {
 	
 	Collection<T> getItemsFound() {
 		if (itemsFound == null) {
-			synchronized(Classes.getId(itemsFoundFlatMap,  "itemsFound")) {
+			synchronized(itemsFoundFlatMap) {
 				if (itemsFound == null) {
 					this.itemsFound = new HashSet<>();
 					this.itemsFound.addAll(this.itemsFoundFlatMap.values());
@@ -191,7 +297,8 @@ public class SearchContext<T> implements Component {
 				if (notFoundClassName != null) {
 					if (!skippedClassNames.contains(notFoundClassName)) {
 						if (!this.classLoaderHaveBeenUploadedWithCriteriaPaths) {
-							synchronized(this.classLoaderHaveBeenUploadedWithCriteriaPaths) {
+							//The cached items can be tested by several threads, so a lock of the context is used instead of the flag value
+							synchronized(this) {
 								if (!this.classLoaderHaveBeenUploadedWithCriteriaPaths) {
 									pathScannerClassLoader.scanPathsAndAddAllByteCodesFound(
 										getPathsToBeScanned(), searchConfig.considerURLClassLoaderPathsAsScanned, classFileScanConfiguration.getMaxParallelTasksForUnit()
@@ -264,7 +371,9 @@ public class SearchContext<T> implements Component {
 		}
 		itemsFoundFlatMap = null;
 		itemsFoundMap = null;
+		javaClassesFound = null;
 		searchConfig = null;
+		itemFoundListener = null;
 		if (pathScannerClassLoader != sharedPathMemoryClassLoader) {
 			pathScannerClassLoader.close();
 		}
@@ -0,0 +1,198 @@
+/*
+ * This file is part of Burningwave Core.
+ *
+ * Author: Roberto Gentili
+ *
+ * Hosted at: https://github.com/burningwave/core
+ *
+ * --
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Roberto Gentili
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO
+ * EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.burningwave.core.classes;
+
+import static org.burningwave.core.assembler.StaticComponentContainer.Streams;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+import org.burningwave.core.Component;
+
+
+//Index of the classes of a path stored in a file that is memory mapped by all the JVMs of the same host:
+//the byte codes of the classes attached from the index are slices of the mapped file
+public class SharedClassIndex implements Component {
+	public final static String DIRECTORY_CONFIG_KEY = "shared-class-index.directory";
+	private final static int MAGIC_NUMBER = 0x42574349;
+	private final static int VERSION = 2;
+	
+	private File directory;
+	
+	private SharedClassIndex(String directory) {
+		this.directory = new File(directory);
+	}
+	
+	public static SharedClassIndex create(String directory) {
+		return new SharedClassIndex(directory);
+	}
+	
+	public Map<String, JavaClass> attach(String path, long fingerprint) {
+		File indexFile = getIndexFile(path, fingerprint);
+		if (!indexFile.exists()) {
+			return null;
+		}
+		try (FileChannel fileChannel = FileChannel.open(indexFile.toPath(), StandardOpenOption.READ)) {
+			if (fileChannel.size() > Integer.MAX_VALUE) {
+				return null;
+			}
+			//The mapping remains valid after the channel has been closed
+			MappedByteBuffer index = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileChannel.size());
+			if (index.getInt() != MAGIC_NUMBER || index.getInt() != VERSION ||
+				!path.equals(readString(index)) || index.getLong() != fingerprint
+			) {
+				return null;
+			}
+			int javaClassesCount = index.getInt();
+			long checksum = index.getLong();
+			//Truncated or corrupted indexes are discarded
+			CRC32 crc32 = new CRC32();
+			crc32.update(index.duplicate());
+			if (crc32.getValue() != checksum) {
+				logWarn("Discarding corrupted index {} of {}", indexFile.getAbsolutePath(), path);
+				return null;
+			}
+			Map<String, JavaClass> javaClasses = new HashMap<>();
+			for (int i = 0; i < javaClassesCount; i++) {
+				String key = readString(index);
+				int byteCodeLength = index.getInt();
+				ByteBuffer byteCode = index.duplicate();
+				byteCode.limit(byteCode.position() + byteCodeLength);
+				index.position(index.position() + byteCodeLength);
+				javaClasses.put(key, JavaClass.create(byteCode.slice()));
+			}
+			return javaClasses;
+		} catch (Throwable exc) {
+			logWarn("Could not attach index {} of {}: {}", indexFile.getAbsolutePath(), path, exc.toString());
+			return null;
+		}
+	}
+	
+	public void publish(String path, long fingerprint, Map<String, JavaClass> javaClasses) {
+		File indexFile = getIndexFile(path, fingerprint);
+		if (indexFile.exists()) {
+			return;
+		}
+		Path tempIndexFile = null;
+		try {
+			byte[] pathAsBytes = path.getBytes(StandardCharsets.UTF_8);
+			ByteBuffer header = ByteBuffer.allocate(32 + pathAsBytes.length);
+			directory.mkdirs();
+			//The index is written in a temporary file and then moved so that other JVMs never see it incomplete
+			tempIndexFile = new File(directory, indexFile.getName() + "." + UUID.randomUUID() + ".tmp").toPath();
+			try (FileChannel fileChannel = FileChannel.open(tempIndexFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+				//The entries are written one by one after the room of the header, which is written last because it contains
+				//the checksum of the entries
+				fileChannel.position(header.capacity());
+				CRC32 crc32 = new CRC32();
+				for (Entry<String, JavaClass> javaClass : javaClasses.entrySet()) {
+					byte[] key = javaClass.getKey().getBytes(StandardCharsets.UTF_8);
+					ByteBuffer byteCode = javaClass.getValue().getByteCode();
+					ByteBuffer entryHeader = ByteBuffer.allocate(8 + key.length);
+					entryHeader.putInt(key.length).put(key).putInt(byteCode.remaining());
+					entryHeader.flip();
+					crc32.update(entryHeader.duplicate());
+					crc32.update(byteCode.duplicate());
+					write(fileChannel, entryHeader);
+					write(fileChannel, byteCode);
+				}
+				header.putInt(MAGIC_NUMBER).putInt(VERSION);
+				header.putInt(pathAsBytes.length).put(pathAsBytes);
+				header.putLong(fingerprint).putInt(javaClasses.size()).putLong(crc32.getValue());
+				header.flip();
+				fileChannel.position(0);
+				write(fileChannel, header);
+				fileChannel.force(true);
+			}
+			try {
+				Files.move(tempIndexFile, indexFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException exc) {
+				Files.move(tempIndexFile, indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+			removeOldIndexes(indexFile);
+		} catch (Throwable exc) {
+			logWarn("Could not publish index of {}: {}", path, exc.toString());
+			if (tempIndexFile != null) {
+				tempIndexFile.toFile().delete();
+			}
+		}
+	}
+	
+	private void write(FileChannel fileChannel, ByteBuffer content) throws IOException {
+		while (content.hasRemaining()) {
+			fileChannel.write(content);
+		}
+	}
+	
+	//The indexes of the previous versions of the path can be deleted because the attached ones remain mapped
+	private void removeOldIndexes(File indexFile) {
+		String prefix = indexFile.getName().substring(0, indexFile.getName().indexOf("-") + 1);
+		File[] indexFiles = directory.listFiles((dir, name) ->
+			name.startsWith(prefix) && name.endsWith(".idx") && !name.equals(indexFile.getName())
+		);
+		if (indexFiles != null) {
+			for (File oldIndexFile : indexFiles) {
+				oldIndexFile.delete();
+			}
+		}
+	}
+	
+	private File getIndexFile(String path, long fingerprint) {
+		return new File(
+			directory,
+			Long.toHexString(Streams.computeHash(ByteBuffer.wrap(path.getBytes(StandardCharsets.UTF_8)))) + "-" + 
+			Long.toHexString(fingerprint) + ".idx"
+		);
+	}
+	
+	private String readString(ByteBuffer index) {
+		byte[] value = new byte[index.getInt()];
+		index.get(value);
+		return new String(value, StandardCharsets.UTF_8);
+	}
+	
+	@Override
+	public void close() {
+		directory = null;
+	}
+}
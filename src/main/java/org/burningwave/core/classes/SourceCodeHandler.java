@@ -33,7 +33,12 @@ import static org.burningwave.core.assembler.StaticComponentContainer.Strings;
 import static org.burningwave.core.assembler.StaticComponentContainer.Throwables;
 
 import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Optional;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.burningwave.core.Component;
@@ -63,6 +68,72 @@ public class SourceCodeHandler implements Component {
 				Pattern.compile("(?<=\\n|\\A)(?:public\\s*)?(class|interface|enum)\\s*([^\\n\\s<]*)"), classCode
 			).get(2).get(0);
 	}
+	
+	public Collection<String> extractDeclaredTypeSimpleNames(String classCode) {
+		Collection<String> typeNames = new LinkedHashSet<>();
+		Matcher matcher = Pattern.compile("(?:class|interface|enum)\\s+([\\w$]+)").matcher(classCode);
+		while (matcher.find()) {
+			typeNames.add(matcher.group(1));
+		}
+		return typeNames;
+	}
+	
+	//The nested types are qualified with the package too, like the top level ones
+	public Collection<String> extractDeclaredTypeNames(String classCode) {
+		String packageName = Optional.ofNullable(Classes.retrievePackageName(extractClassName(classCode))).map(value -> value + ".").orElse("");
+		Collection<String> typeNames = new LinkedHashSet<>();
+		for (String typeSimpleName : extractDeclaredTypeSimpleNames(classCode)) {
+			typeNames.add(packageName + typeSimpleName);
+		}
+		return typeNames;
+	}
+	
+	//Names through which the code could refer to a type: the dotted names written in it with all their prefixes and each word
+	//qualified with the package of the code and with the packages and types imported on demand
+	public Collection<String> extractReferredTypeNames(String classCode) {
+		String packageName = Optional.ofNullable(Classes.retrievePackageName(extractClassName(classCode))).map(value -> value + ".").orElse("");
+		Collection<String> onDemandImportedNames = new LinkedHashSet<>();
+		Matcher matcher = Pattern.compile("(?<=\\n|\\A)\\s*import\\s+(?:static\\s+)?([\\w$\\.]+?)\\.\\*\\s*;").matcher(classCode);
+		while (matcher.find()) {
+			onDemandImportedNames.add(matcher.group(1) + ".");
+		}
+		Collection<String> typeNames = new HashSet<>();
+		matcher = Pattern.compile("[\\w$]+(?:\\.[\\w$]+)+").matcher(classCode);
+		while (matcher.find()) {
+			String dottedName = matcher.group();
+			for (int dotIndex = dottedName.indexOf("."); dotIndex != -1; dotIndex = dottedName.indexOf(".", dotIndex + 1)) {
+				typeNames.add(dottedName.substring(0, dotIndex));
+			}
+			typeNames.add(dottedName);
+		}
+		for (String word : new HashSet<>(Arrays.asList(classCode.split("[^\\w$]+")))) {
+			typeNames.add(packageName + word);
+			for (String onDemandImportedName : onDemandImportedNames) {
+				typeNames.add(onDemandImportedName + word);
+			}
+		}
+		return typeNames;
+	}
+	
+	//The first segment that starts with an upper case letter is considered the beginning of the class name
+	public Collection<String> extractImportedPackageNames(String classCode) {
+		Collection<String> packageNames = new LinkedHashSet<>();
+		Matcher matcher = Pattern.compile("(?<=\\n|\\A)\\s*import\\s+(static\\s+)?([\\w\\.]+?)(\\.\\*)?\\s*;").matcher(classCode);
+		while (matcher.find()) {
+			String[] segments = matcher.group(2).split("\\.");
+			int packageSegmentsCount = 0;
+			while (packageSegmentsCount < segments.length && (segments[packageSegmentsCount].isEmpty() || !Character.isUpperCase(segments[packageSegmentsCount].charAt(0)))) {
+				++packageSegmentsCount;
+			}
+			if (packageSegmentsCount == segments.length && matcher.group(3) == null) {
+				packageSegmentsCount -= matcher.group(1) != null ? 2 : 1;
+			}
+			if (packageSegmentsCount > 0) {
+				packageNames.add(String.join(".", Arrays.copyOf(segments, packageSegmentsCount)));
+			}
+		}
+		return packageNames;
+	}
 
 	public UnitSourceGenerator generateExecutor(String className, StatementSourceGenerator statement) {
 		if (className.contains("$")) {
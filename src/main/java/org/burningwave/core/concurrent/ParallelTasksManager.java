@@ -31,7 +31,7 @@ package org.burningwave.core.concurrent;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
@@ -40,11 +40,11 @@ import org.burningwave.core.Component;
 public class ParallelTasksManager implements Component {
 
 	protected Collection<CompletableFuture<Void>> tasks;
-	protected ExecutorService executorService;
+	protected volatile ExecutorService executorService;
 	private int maxParallelTasks;
 
 	private ParallelTasksManager(int maxParallelTasks) {
-		tasks = new CopyOnWriteArrayList<>();
+		tasks = new ConcurrentLinkedQueue<>();
 		this.maxParallelTasks = maxParallelTasks;
 	}
 	
@@ -52,25 +52,45 @@ public class ParallelTasksManager implements Component {
 		return new ParallelTasksManager(maxParallelTasks);
 	}
 
-	public void addTask(Runnable task) {
+	public CompletableFuture<Void> addTask(Runnable task) {
 		if (executorService == null) {
-			this.executorService = Executors.newFixedThreadPool(maxParallelTasks);
+			synchronized (this) {
+				if (executorService == null) {
+					this.executorService = Executors.newFixedThreadPool(maxParallelTasks);
+				}
+			}
 		}
-		tasks.add(CompletableFuture.runAsync(() -> {
+		CompletableFuture<Void> taskAsFuture = CompletableFuture.runAsync(() -> {
 			try {
 				task.run();
 			} catch (Throwable exc) {
 				logError("Exception occurred", exc);
 			}
-		}, executorService));
+		}, executorService);
+		tasks.add(taskAsFuture);
+		return taskAsFuture;
 	}
 
 	public void waitForTasksEnding() {
-		Iterator<CompletableFuture<Void>> iterator = tasks.iterator();
-		while (iterator.hasNext()) {
-			iterator.next().join();
-			//iterator.remove();
-		}
+		waitForTasksEnding(tasks);
+	}
+	
+	//Tasks can add other tasks while running: the iteration is repeated until no new unfinished task is found.
+	//Ended tasks are removed so that the next iterations do not have to visit them again
+	public static void waitForTasksEnding(Collection<CompletableFuture<Void>> tasks) {
+		boolean allTasksEnded;
+		do {
+			allTasksEnded = true;
+			Iterator<CompletableFuture<Void>> iterator = tasks.iterator();
+			while (iterator.hasNext()) {
+				CompletableFuture<Void> task = iterator.next();
+				if (!task.isDone()) {
+					allTasksEnded = false;
+					task.join();
+				}
+				iterator.remove();
+			}
+		} while (!allTasksEnded);
 	}
 	
 	@Override
@@ -33,8 +33,13 @@ import static org.burningwave.core.assembler.StaticComponentContainer.Paths;
 import static org.burningwave.core.assembler.StaticComponentContainer.Streams;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiPredicate;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
@@ -64,14 +69,21 @@ public abstract class FileScanConfigAbst<F extends FileScanConfigAbst<F>> {
 	ZipContainerEntryCriteria fileCriteriaForZipEntry;
 	ZipContainerEntryCriteria archiveCriteriaForZipEntry;
 	int maxParallelTasksForUnit;
+	int maxParallelScannedPaths;
+	int maxParallelScannedArchives;
+	long minArchiveSizeForParallelEntriesScan;
 	boolean recursiveOnDirectoryOfFileSystemEntry;
 	boolean recursiveOnArchiveOfZipEntry;
 	Integer checkFileOptions;
 	boolean optimizePaths;
+	Comparator<String> pathsComparator;
 	
 	FileScanConfigAbst() {
 		paths = ConcurrentHashMap.newKeySet();
 		maxParallelTasksForUnit = Runtime.getRuntime().availableProcessors();
+		maxParallelScannedPaths = Runtime.getRuntime().availableProcessors();
+		maxParallelScannedArchives = Runtime.getRuntime().availableProcessors();
+		minArchiveSizeForParallelEntriesScan = BufferSize.MEGA_BYTE.getValue();
 		fileCriteriaForFileSystemEntry = FileCriteria.create();
 		archiveCriteriaForFileSystemEntry = FileCriteria.create();
 		fileCriteriaForZipEntry = ZipContainerEntryCriteria.create();
@@ -161,15 +173,25 @@ public abstract class FileScanConfigAbst<F extends FileScanConfigAbst<F>> {
 		return checkFileOptions;
 	}
 	
+	public F addPaths(Collection<String> pathColl) {
+		for (String path : pathColl) {
+			paths.add(Paths.normalizeAndClean(path));
+		}
+		return (F)this;
+	}
+	
 	public F addPaths(Collection<String>... pathColls) {
 		for(Collection<String> pathColl : pathColls) {
-			for (String path : pathColl) {
-				paths.add(Paths.normalizeAndClean(path));
-			}
+			addPaths(pathColl);
 		}
 		return (F)this;
 	}
 	
+	public F setPaths(Collection<String> newPaths) {
+		this.paths.clear();
+		return addPaths(newPaths);
+	}
+	
 	public F setPaths(Collection<String>... newPaths) {
 		this.paths.clear();
 		return addPaths(newPaths);
@@ -180,11 +202,33 @@ public abstract class FileScanConfigAbst<F extends FileScanConfigAbst<F>> {
 		return (F)this;
 	}
 	
+	public F sortPathsBy(Comparator<String> comparator) {
+		this.pathsComparator = comparator;
+		return (F)this;
+	}
+	
 	public F maxParallelTasksForUnit(int value) {
 		this.maxParallelTasksForUnit = value;
 		return (F)this;
 	}
 	
+	//The paths are scanned in parallel by default: a value of 1 scans them one at a time
+	public F maxParallelScannedPaths(int value) {
+		this.maxParallelScannedPaths = value;
+		return (F)this;
+	}
+	
+	public F maxParallelScannedArchives(int value) {
+		this.maxParallelScannedArchives = value;
+		return (F)this;
+	}
+	
+	//A value less than or equal to zero disables the parallel scan of the entries of the archives
+	public F minArchiveSizeForParallelEntriesScan(long value) {
+		this.minArchiveSizeForParallelEntriesScan = value;
+		return (F)this;
+	}
+	
 	public F recursiveOnDirectoryOfFileSystemEntry(boolean recursiveOnDirectoryOfFileSystem) {
 		this.recursiveOnDirectoryOfFileSystemEntry = recursiveOnDirectoryOfFileSystem;
 		return (F)this;
@@ -199,6 +243,15 @@ public abstract class FileScanConfigAbst<F extends FileScanConfigAbst<F>> {
 		return paths;
 	}
 	
+	public Collection<String> getSortedPaths() {
+		if (pathsComparator == null) {
+			return paths;
+		}
+		List<String> sortedPaths = new ArrayList<>(paths);
+		sortedPaths.sort(pathsComparator);
+		return sortedPaths;
+	}
+	
 	public int getMaxParallelTasksForUnit() {
 		return this.maxParallelTasksForUnit;
 	}
@@ -261,8 +314,16 @@ public abstract class FileScanConfigAbst<F extends FileScanConfigAbst<F>> {
 			zipEntryConsumer
 		).setMaxParallelTasks(
 			maxParallelTasksForUnit
+		).setMaxParallelScannedPaths(
+			maxParallelScannedPaths
+		).setMaxParallelScannedArchives(
+			maxParallelScannedArchives
+		).setMinArchiveSizeForParallelEntriesScan(
+			minArchiveSizeForParallelEntriesScan
 		).optimizePaths(
 			optimizePaths
+		).sortPathsBy(
+			pathsComparator
 		);
 		if (recursiveOnDirectoryOfFileSystemEntry && directoryCriteriaForFileSystemEntry == null) {
 			config.scanRecursivelyAllDirectory();
@@ -283,6 +344,178 @@ public abstract class FileScanConfigAbst<F extends FileScanConfigAbst<F>> {
 		return config;
 	}
 	
+	//Single scan of the paths of several configurations: an item is found if at least one of the configurations would have found it,
+	//so the consumers must test it against each configuration with the predicate returned by toScannedItemPredicate
+	public static Configuration toScanConfiguration(
+		Collection<? extends FileScanConfigAbst<?>> configs,
+		Consumer<Scan.ItemContext> fileConsumer,
+		Consumer<Scan.ItemContext> zipEntryConsumer
+	) {
+		Collection<String> paths = new LinkedHashSet<>();
+		Predicate<File> filePredicate = file -> false;
+		Predicate<File> archivePredicate = file -> false;
+		Predicate<Entry> zipEntryPredicate = entry -> false;
+		Predicate<Entry> zipEntryArchivePredicate = entry -> false;
+		Collection<BiPredicate<String, File>> directoryPredicates = new ArrayList<>();
+		int maxParallelTasks = 0;
+		int maxParallelScannedPaths = 1;
+		int maxParallelScannedArchives = 1;
+		long minArchiveSizeForParallelEntriesScan = 0;
+		Comparator<String> pathsComparator = null;
+		for (FileScanConfigAbst<?> config : configs) {
+			paths.addAll(config.getPaths());
+			filePredicate = filePredicate.or(config.getFileCriteriaPredicateForFileSystemEntry());
+			archivePredicate = archivePredicate.or(config.getArchiveCriteriaPredicateForFileSystemEntry());
+			zipEntryPredicate = zipEntryPredicate.or(config.getFileCriteriaPredicateForZipEntry());
+			zipEntryArchivePredicate = zipEntryArchivePredicate.or(config.getArchiveCriteriaPredicateForZipEntry());
+			directoryPredicates.add(config.getDirectoryPredicateForContainingPath());
+			maxParallelTasks = Math.max(maxParallelTasks, config.maxParallelTasksForUnit);
+			maxParallelScannedPaths = Math.max(maxParallelScannedPaths, config.maxParallelScannedPaths);
+			maxParallelScannedArchives = Math.max(maxParallelScannedArchives, config.maxParallelScannedArchives);
+			minArchiveSizeForParallelEntriesScan = Math.max(minArchiveSizeForParallelEntriesScan, config.minArchiveSizeForParallelEntriesScan);
+			if (pathsComparator == null) {
+				pathsComparator = config.pathsComparator;
+			}
+		}
+		//The paths are not optimized: each configuration accepts the items found from its own outermost path that contains them
+		return Configuration.forPaths(
+			paths
+		).whenFindFileTestAndApply(
+			filePredicate,
+			fileConsumer
+		).scanAllZipFileThat(
+			archivePredicate
+		).whenFindZipEntryTestAndApply(
+			zipEntryPredicate,
+			zipEntryConsumer
+		).scanRecursivelyAllDirectoryThat((basePath, currentPath) -> {
+			String currentPathAsString = Paths.clean(currentPath.getAbsolutePath());
+			for (BiPredicate<String, File> directoryPredicate : directoryPredicates) {
+				if (directoryPredicate.test(currentPathAsString, currentPath)) {
+					return true;
+				}
+			}
+			return false;
+		}).scanRecursivelyAllZipEntryThat(
+			zipEntryArchivePredicate
+		).setMaxParallelTasks(
+			maxParallelTasks
+		).setMaxParallelScannedPaths(
+			maxParallelScannedPaths
+		).setMaxParallelScannedArchives(
+			maxParallelScannedArchives
+		).setMinArchiveSizeForParallelEntriesScan(
+			minArchiveSizeForParallelEntriesScan
+		).sortPathsBy(
+			pathsComparator
+		);
+	}
+	
+	//Tests the items found by a scan built with toScanConfiguration(Collection, Consumer, Consumer): an item passes if the scan
+	//of this configuration alone would have found it
+	public Predicate<Scan.ItemContext> toScannedItemPredicate() {
+		Collection<String> paths = new ArrayList<>(getPaths());
+		Predicate<File> filePredicate = getFileCriteriaPredicateForFileSystemEntry();
+		Predicate<File> archivePredicate = getArchiveCriteriaPredicateForFileSystemEntry();
+		Predicate<Entry> zipEntryPredicate = getFileCriteriaPredicateForZipEntry();
+		Predicate<Entry> zipEntryArchivePredicate = getArchiveCriteriaPredicateForZipEntry();
+		BiPredicate<File, File> directoryPredicate = getDirectoryPredicate();
+		return scannedItemContext -> {
+			String basePath = getContainingPath(paths, scannedItemContext.getScannedItem().getAbsolutePath());
+			if (basePath == null || !basePath.equals(scannedItemContext.getBasePathAsString())) {
+				return false;
+			}
+			Object item = scannedItemContext.getScannedItem().getWrappedItem();
+			String fileAbsolutePath = null;
+			if (item instanceof FileInputStream) {
+				if (!filePredicate.test(((FileInputStream)item).getFile())) {
+					return false;
+				}
+				fileAbsolutePath = ((FileInputStream)item).getAbsolutePath();
+			} else if (!zipEntryPredicate.test((Entry)item)) {
+				return false;
+			}
+			File basePathAsFile = new File(basePath);
+			for (Scan.ItemContext parent = scannedItemContext.getParent(); parent != null; parent = parent.getParent()) {
+				Object parentItem = parent.getScannedItem().getWrappedItem();
+				if (parentItem instanceof FileInputStream) {
+					fileAbsolutePath = ((FileInputStream)parentItem).getAbsolutePath();
+					if (!archivePredicate.test(((FileInputStream)parentItem).getFile())) {
+						return false;
+					}
+				} else if (parentItem instanceof Entry) {
+					if (!zipEntryArchivePredicate.test((Entry)parentItem)) {
+						return false;
+					}
+				} else if (parentItem instanceof File) {
+					//The files read through a stream are wrapped also as File by their parent context
+					String parentAbsolutePath = Paths.clean(((File)parentItem).getAbsolutePath());
+					if (!parentAbsolutePath.equals(fileAbsolutePath) && isContainedIn(parentAbsolutePath, basePath) &&
+						!directoryPredicate.test(basePathAsFile, (File)parentItem)
+					) {
+						return false;
+					}
+				}
+			}
+			return true;
+		};
+	}
+	
+	Predicate<File> getFileCriteriaPredicateForFileSystemEntry() {
+		return FileCriteria.create().allThat(getFilePredicateForFileSystemEntry()).and(fileCriteriaForFileSystemEntry).getPredicateOrTruePredicateIfNull();
+	}
+	
+	Predicate<File> getArchiveCriteriaPredicateForFileSystemEntry() {
+		return FileCriteria.create().allThat(getArchivePredicateForFileSystemEntry()).and(archiveCriteriaForFileSystemEntry).getPredicateOrTruePredicateIfNull();
+	}
+	
+	Predicate<Entry> getFileCriteriaPredicateForZipEntry() {
+		return ZipContainerEntryCriteria.create().allThat(getFilePredicateForZipEntry()).and(fileCriteriaForZipEntry).getPredicateOrTruePredicateIfNull();
+	}
+	
+	Predicate<Entry> getArchiveCriteriaPredicateForZipEntry() {
+		if (!recursiveOnArchiveOfZipEntry) {
+			return entry -> false;
+		}
+		return ZipContainerEntryCriteria.create().allThat(getArchivePredicateForZipEntry()).and(archiveCriteriaForZipEntry).getPredicateOrTruePredicateIfNull();
+	}
+	
+	//Same rules applied to the directories by toScanConfiguration
+	BiPredicate<File, File> getDirectoryPredicate() {
+		if (directoryCriteriaForFileSystemEntry == null) {
+			return recursiveOnDirectoryOfFileSystemEntry ?
+				(basePath, currentPath) -> true :
+				(basePath, currentPath) -> basePath.equals(currentPath);
+		}
+		Predicate<File> directoryPredicate = directoryCriteriaForFileSystemEntry.getPredicateOrTruePredicateIfNull();
+		return recursiveOnDirectoryOfFileSystemEntry ?
+			(basePath, currentPath) -> directoryPredicate.test(currentPath) :
+			(basePath, currentPath) -> basePath.equals(currentPath) && directoryPredicate.test(currentPath);
+	}
+	
+	BiPredicate<String, File> getDirectoryPredicateForContainingPath() {
+		Collection<String> paths = new ArrayList<>(getPaths());
+		BiPredicate<File, File> directoryPredicate = getDirectoryPredicate();
+		return (currentPathAsString, currentPath) -> {
+			String basePath = getContainingPath(paths, currentPathAsString);
+			return basePath != null && directoryPredicate.test(new File(basePath), currentPath);
+		};
+	}
+	
+	static String getContainingPath(Collection<String> paths, String absolutePath) {
+		String containingPath = null;
+		for (String path : paths) {
+			if (isContainedIn(absolutePath, path) && (containingPath == null || path.length() < containingPath.length())) {
+				containingPath = path;
+			}
+		}
+		return containingPath;
+	}
+	
+	static boolean isContainedIn(String absolutePath, String path) {
+		return absolutePath.equals(path) || absolutePath.startsWith(path.endsWith("/") ? path : path + "/");
+	}
+	
 	abstract F create();
 	
 	public  F createCopy() {
@@ -299,7 +532,11 @@ public abstract class FileScanConfigAbst<F extends FileScanConfigAbst<F>> {
 		copy.recursiveOnDirectoryOfFileSystemEntry = this.recursiveOnDirectoryOfFileSystemEntry;
 		copy.recursiveOnArchiveOfZipEntry = this.recursiveOnArchiveOfZipEntry;
 		copy.maxParallelTasksForUnit = this.maxParallelTasksForUnit;
+		copy.maxParallelScannedPaths = this.maxParallelScannedPaths;
+		copy.maxParallelScannedArchives = this.maxParallelScannedArchives;
+		copy.minArchiveSizeForParallelEntriesScan = this.minArchiveSizeForParallelEntriesScan;
 		copy.optimizePaths = this.optimizePaths;
+		copy.pathsComparator = this.pathsComparator;
 		copy.checkFileOptions = this.checkFileOptions;
 		return copy;
 	}
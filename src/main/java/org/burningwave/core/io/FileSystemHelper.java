@@ -28,7 +28,15 @@
  */
 package org.burningwave.core.io;
 
+import java.io.BufferedInputStream;
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
@@ -133,6 +141,68 @@ public class FileSystemHelper implements Component {
 	    return folder.delete();
 	}
 
+	public long computeFingerprint(String path) {
+		File existingFile = new File(path);
+		//Paths of items contained in archives are represented by the fingerprint of the outermost archive
+		while (!existingFile.exists() && existingFile.getParentFile() != null) {
+			existingFile = existingFile.getParentFile();
+		}
+		File file = existingFile;
+		if (!file.exists()) {
+			return 0L;
+		}
+		if (!file.isDirectory()) {
+			return 31L * file.lastModified() + file.length();
+		}
+		long[] fingerprint = {file.lastModified()};
+		ThrowingSupplier.get(() -> Files.walkFileTree(file.toPath(), new SimpleFileVisitor<Path>() {
+			@Override
+			public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+				fingerprint[0] = 31L * fingerprint[0] + attrs.lastModifiedTime().toMillis();
+				return FileVisitResult.CONTINUE;
+			}
+			
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+				fingerprint[0] = 31L * (31L * fingerprint[0] + attrs.lastModifiedTime().toMillis()) + attrs.size();
+				return FileVisitResult.CONTINUE;
+			}
+		}));
+		return fingerprint[0];
+	}
+	
+	//Compares the files by streaming them in chunks, without loading their whole content in memory
+	public boolean haveSameContent(File file, File otherFile) {
+		if (!file.isFile() || !otherFile.isFile() || file.length() != otherFile.length()) {
+			return false;
+		}
+		return ThrowingSupplier.get(() -> {
+			try (InputStream inputStream = new BufferedInputStream(FileInputStream.create(file));
+				InputStream otherInputStream = new BufferedInputStream(FileInputStream.create(otherFile))
+			) {
+				byte[] buffer = new byte[8192];
+				byte[] otherBuffer = new byte[8192];
+				int count;
+				while ((count = inputStream.read(buffer)) > 0) {
+					int otherCount = 0;
+					while (otherCount < count) {
+						int read = otherInputStream.read(otherBuffer, otherCount, count - otherCount);
+						if (read < 0) {
+							return false;
+						}
+						otherCount += read;
+					}
+					for (int i = 0; i < count; i++) {
+						if (buffer[i] != otherBuffer[i]) {
+							return false;
+						}
+					}
+				}
+				return otherInputStream.read() < 0;
+			}
+		});
+	}
+	
 	@Override
 	public void close() {
 		baseTemporaryFolder = null;
@@ -65,7 +65,7 @@ public class FileSystemItem implements ManagedLogger {
 	private FileSystemItem parentContainer;
 	private Set<FileSystemItem> children;
 	private Set<FileSystemItem> allChildren;
-	private Boolean exists;
+	private volatile Boolean exists;
 	
 	private FileSystemItem(String realAbsolutePath) {
 		realAbsolutePath = Paths.clean(realAbsolutePath);
@@ -126,9 +126,11 @@ public class FileSystemItem implements ManagedLogger {
 	
 	private String retrieveConventionedAbsolutePath(String realAbsolutePath, String relativePath) {
 		File file = new File(realAbsolutePath);
+		//The existence is set only once resolved: a nested path of an existing file could not exist and the threads that
+		//read it without resolving it must not see a temporary value
 		if (file.exists()) {
-			exists = true;
 			if (relativePath.isEmpty()) {
+				exists = true;
 				if (file.isDirectory()) {
 					return realAbsolutePath + (realAbsolutePath.endsWith("/")? "" : "/");
 				} else {
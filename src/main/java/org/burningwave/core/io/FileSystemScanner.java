@@ -2,16 +2,26 @@ package org.burningwave.core.io;
 
 import static org.burningwave.core.assembler.StaticComponentContainer.Cache;
 import static org.burningwave.core.assembler.StaticComponentContainer.Paths;
+import static org.burningwave.core.assembler.StaticComponentContainer.Throwables;
 
 import java.io.File;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 import java.util.function.BiConsumer;
 import java.util.function.BiPredicate;
 import java.util.function.Consumer;
@@ -39,23 +49,63 @@ public class FileSystemScanner implements Component {
 				pathsOptimizer.accept(context.configuration.paths);
 			}
 			Optional.ofNullable(configuration.beforeScan).ifPresent(consumer -> consumer.accept(context));
-			for (String path : context.configuration.paths) {
-				Optional.ofNullable(configuration.beforeScanPath).ifPresent(consumer -> consumer.accept(context, path));
-				scan(
-					new Scan.ItemContext(
-						context, path
-					)
-				);
-				Optional.ofNullable(configuration.afterScanPath).ifPresent(consumer -> consumer.accept(context, path));
-				if (context.directive == Scan.Directive.STOP_ITERATION) {
-	        		break;
-	        	}
+			Collection<String> paths = context.configuration.paths;
+			if (context.configuration.pathsComparator != null) {
+				List<String> sortedPaths = new ArrayList<>(paths);
+				sortedPaths.sort(context.configuration.pathsComparator);
+				paths = sortedPaths;
+			}
+			int maxParallelScannedPaths = Math.min(context.configuration.maxParallelScannedPaths, paths.size());
+			if (context.configuration.pathsComparator != null || context.configuration.scanPathsInOrder) {
+				//Each path is completely scanned before the next one so that the items of the first paths are found first
+				for (String path : paths) {
+					scan(context, path);
+					context.waitForTasksEnding(path);
+					if (context.directive == Scan.Directive.STOP_ITERATION) {
+						break;
+					}
+				}
+			} else if (maxParallelScannedPaths > 1) {
+				ExecutorService pathsScanner = Executors.newFixedThreadPool(maxParallelScannedPaths);
+				try {
+					Collection<CompletableFuture<Void>> pathsScans = new ArrayList<>();
+					for (String path : paths) {
+						pathsScans.add(CompletableFuture.runAsync(() -> scan(context, path), pathsScanner));
+					}
+					for (CompletableFuture<Void> pathScan : pathsScans) {
+						try {
+							pathScan.join();
+						} catch (CompletionException exc) {
+							throw Throwables.toRuntimeException(exc.getCause());
+						}
+					}
+				} finally {
+					pathsScanner.shutdown();
+				}
+			} else {
+				for (String path : paths) {
+					scan(context, path);
+				}
 			}
 			Optional.ofNullable(configuration.afterScan).ifPresent(consumer -> consumer.accept(context));
 			context.waitForTasksEnding();
 		}
 	}
 	
+	void scan(Scan.MainContext context, String path) {
+		if (context.directive == Scan.Directive.STOP_ITERATION) {
+			return;
+		}
+		Scan.Configuration configuration = context.configuration;
+		Optional.ofNullable(configuration.beforeScanPath).ifPresent(consumer -> consumer.accept(context, path));
+		scan(
+			new Scan.ItemContext(
+				context, path
+			)
+		);
+		Optional.ofNullable(configuration.afterScanPath).ifPresent(consumer -> consumer.accept(context, path));
+	}
+	
 
 	void scan(Scan.ItemContext scanItemContext) {
 		File basePath = scanItemContext.basePath;
@@ -73,7 +123,10 @@ public class FileSystemScanner implements Component {
 				}
 			}
 	    } else {
-	    	mainContext.tasksManager.addTask(() -> {
+	    	mainContext.addTask(scanItemContext.basePathAsString, () -> {
+	    		if (mainContext.directive == Scan.Directive.STOP_ITERATION) {
+	    			return;
+	    		}
 	    		for (Entry<Predicate<File>, Consumer<Scan.ItemContext>> entry : configuration.filterAndMapperForFile.entrySet()) {
 	    			if (entry.getKey().test(currentPath)) {
 	    				try (FileInputStream fileInputStream = FileInputStream.create(currentPath)) {	    						
@@ -100,7 +153,9 @@ public class FileSystemScanner implements Component {
 						scanItemContext, new Scan.FileWrapper(fsObj)
 					)
 				);
-	        	if (scanItemContext.directive == Scan.Directive.STOP_ITERATION) {
+	        	if (scanItemContext.directive == Scan.Directive.STOP_ITERATION ||
+	        		scanItemContext.mainContext.directive == Scan.Directive.STOP_ITERATION
+	        	) {
 	        		break;
 	        	}
 	        }
@@ -110,41 +165,97 @@ public class FileSystemScanner implements Component {
 	void scanZipFile(Scan.ItemContext scanItemContext){
 		FileInputStream fileInputStream = scanItemContext.item.getWrappedItem();
 		File currentFile = fileInputStream.getFile();
+		Scan.MainContext mainContext = scanItemContext.mainContext;
+		//Only a limited number of archives at a time can dispatch their entries, the others are scanned by the current thread
+		boolean dispatchEntries = mainContext.configuration.minArchiveSizeForParallelEntriesScan > 0 &&
+			currentFile.length() >= mainContext.configuration.minArchiveSizeForParallelEntriesScan &&
+			mainContext.archivesWithDispatchedEntries.tryAcquire();
+		CompletableFuture<Void> entriesScan = null;
 		try (IterableZipContainer zipContainer = IterableZipContainer.create(fileInputStream)) {
 			logDebug("scanning zip file " + zipContainer.getAbsolutePath());      
-			scanZipContainer(new Scan.ItemContext(scanItemContext, new Scan.ZipContainerWrapper(zipContainer)));
+			entriesScan = scanZipContainer(new Scan.ItemContext(scanItemContext, new Scan.ZipContainerWrapper(zipContainer)), dispatchEntries);
 		} catch (Throwable exc) {
 			logError("Could not scan zip file " + Paths.clean(currentFile.getAbsolutePath()), exc);
+		} finally {
+			if (dispatchEntries) {
+				if (entriesScan != null) {
+					entriesScan.whenComplete((result, exc) -> mainContext.archivesWithDispatchedEntries.release());
+				} else {
+					mainContext.archivesWithDispatchedEntries.release();
+				}
+			}
 		}
 	}
 	
 	void scanZipContainerEntry(Scan.ItemContext scanItemContext){
 		IterableZipContainer.Entry zipEntry = scanItemContext.item.getWrappedItem();
 		try (IterableZipContainer zipInputStream = IterableZipContainer.create(zipEntry)) {
-			scanZipContainer(new Scan.ItemContext(scanItemContext, new Scan.ZipContainerWrapper(zipInputStream)));
+			scanZipContainer(new Scan.ItemContext(scanItemContext, new Scan.ZipContainerWrapper(zipInputStream)), false);
 		}
 	}
 	
-	void scanZipContainer(Scan.ItemContext currentScannedItemContext){
+	CompletableFuture<Void> scanZipContainer(Scan.ItemContext currentScannedItemContext, boolean dispatchEntries){
 		IterableZipContainer currentZip = currentScannedItemContext.item.getWrappedItem();
 		Scan.MainContext mainContext = currentScannedItemContext.mainContext;
 		Scan.Configuration configuration = mainContext.configuration;
-		IterableZipContainer.Entry zipEntry = null;
-		while((zipEntry = currentZip.getNextEntry()) != null) {
+		Collection<CompletableFuture<Void>> entriesScans = new ArrayList<>();
+		//The number of entries read and waiting to be scanned is bounded: when no permit is available the entry is scanned by the current thread
+		Semaphore dispatchedEntries = dispatchEntries ? new Semaphore(configuration.maxParallelTasks * 2) : null;
+		IterableZipContainer.Entry currentZipEntry = null;
+		while((currentZipEntry = currentZip.getNextEntry()) != null) {
+			IterableZipContainer.Entry zipEntry = currentZipEntry;
+			Collection<Consumer<Scan.ItemContext>> zipEntryConsumers = new ArrayList<>();
 			for (Entry<Predicate<IterableZipContainer.Entry>, Consumer<Scan.ItemContext>> entry : configuration.filterAndMapperForZipEntry.entrySet()) {
 				if (entry.getKey().test(zipEntry)) {
-					try {
-						logDebug("scanning zip entry " + zipEntry.getAbsolutePath());
-						entry.getValue().accept(new Scan.ItemContext(currentScannedItemContext, new Scan.ZipEntryWrapper(zipEntry)));
-					} catch (Throwable exc) {
-						logError("Could not scan zip entry " + Paths.clean(zipEntry.getAbsolutePath()), exc);
-					}
+					zipEntryConsumers.add(entry.getValue());
 				}				
 			}
-			if (currentScannedItemContext.directive == Scan.Directive.STOP_ITERATION) {
+			if (!zipEntryConsumers.isEmpty()) {
+				if (dispatchEntries && dispatchedEntries.tryAcquire()) {
+					//The content is read here because the entries of a stream can only be read while it is positioned on them
+					zipEntry.toByteBuffer();
+					IterableZipContainer.Entry detachedZipEntry = zipEntry instanceof ZipInputStream.Entry.Attached ?
+						((ZipInputStream.Entry.Attached)zipEntry).convert() : zipEntry;
+					entriesScans.add(
+						mainContext.addTask(currentScannedItemContext.basePathAsString, () -> {
+							try {
+								if (mainContext.directive != Scan.Directive.STOP_ITERATION) {
+									scanZipContainerEntry(currentScannedItemContext, detachedZipEntry, zipEntryConsumers);
+								}
+							} finally {
+								if (detachedZipEntry != zipEntry) {
+									detachedZipEntry.close();
+								}
+								dispatchedEntries.release();
+							}
+						})
+					);
+				} else {
+					scanZipContainerEntry(currentScannedItemContext, zipEntry, zipEntryConsumers);
+				}
+			}
+			if (currentScannedItemContext.directive == Scan.Directive.STOP_ITERATION ||
+				mainContext.directive == Scan.Directive.STOP_ITERATION
+			) {
         		break;
         	}
 		}
+		return CompletableFuture.allOf(entriesScans.toArray(new CompletableFuture<?>[entriesScans.size()]));
+	}
+	
+	void scanZipContainerEntry(
+		Scan.ItemContext currentScannedItemContext,
+		IterableZipContainer.Entry zipEntry,
+		Collection<Consumer<Scan.ItemContext>> zipEntryConsumers
+	) {
+		for (Consumer<Scan.ItemContext> zipEntryConsumer : zipEntryConsumers) {
+			try {
+				logDebug("scanning zip entry " + zipEntry.getAbsolutePath());
+				zipEntryConsumer.accept(new Scan.ItemContext(currentScannedItemContext, new Scan.ZipEntryWrapper(zipEntry)));
+			} catch (Throwable exc) {
+				logError("Could not scan zip entry " + Paths.clean(zipEntry.getAbsolutePath()), exc);
+			}
+		}
 	}
 	
 	
@@ -321,13 +432,17 @@ public class FileSystemScanner implements Component {
 		public static class MainContext implements Component {
 			final FileSystemScanner fileSystemScanner;
 			final ParallelTasksManager tasksManager;
+			final Map<String, Collection<CompletableFuture<Void>>> tasksForPath;
+			final Semaphore archivesWithDispatchedEntries;
 			final Configuration configuration;
-			Directive directive;
+			volatile Directive directive;
 			
 			private MainContext(FileSystemScanner fileSystemScanner, Configuration configuration) {
 				this.configuration = configuration;
 				this.fileSystemScanner = fileSystemScanner;
 				tasksManager = ParallelTasksManager.create(configuration.maxParallelTasks);
+				tasksForPath = new ConcurrentHashMap<>();
+				archivesWithDispatchedEntries = new Semaphore(configuration.maxParallelScannedArchives);
 				directive = Directive.CONTINUE;
 			}
 			
@@ -347,13 +462,27 @@ public class FileSystemScanner implements Component {
 				this.directive = directive;
 			}
 			
+			CompletableFuture<Void> addTask(String path, Runnable task) {
+				CompletableFuture<Void> taskAsFuture = tasksManager.addTask(task);
+				tasksForPath.computeIfAbsent(path, key -> new ConcurrentLinkedQueue<>()).add(taskAsFuture);
+				return taskAsFuture;
+			}
+			
 			public void waitForTasksEnding() {
 				tasksManager.waitForTasksEnding();
 			}
 			
+			public void waitForTasksEnding(String path) {
+				Collection<CompletableFuture<Void>> tasks = tasksForPath.get(path);
+				if (tasks != null) {
+					ParallelTasksManager.waitForTasksEnding(tasks);
+				}
+			}
+			
 			@Override
 			public void close() {
 				tasksManager.close();
+				tasksForPath.clear();
 				configuration.close();
 				directive = null;
 			}
@@ -370,10 +499,18 @@ public class FileSystemScanner implements Component {
 			private Map<Predicate<File>, Consumer<ItemContext>> filterAndMapperForFile;
 			private Map<Predicate<IterableZipContainer.Entry>, Consumer<ItemContext>> filterAndMapperForZipEntry;
 			private boolean optimizePaths;
+			private Comparator<String> pathsComparator;
+			private boolean scanPathsInOrder;
 			private int maxParallelTasks;
+			private int maxParallelScannedPaths;
+			private int maxParallelScannedArchives;
+			private long minArchiveSizeForParallelEntriesScan;
 
 			private Configuration() {
 				maxParallelTasks = Runtime.getRuntime().availableProcessors();
+				maxParallelScannedPaths = 1;
+				maxParallelScannedArchives = Runtime.getRuntime().availableProcessors();
+				minArchiveSizeForParallelEntriesScan = BufferSize.MEGA_BYTE.getValue();
 				filterAndMapperForDirectory = new HashMap<>(); 
 				filterAndMapperForFile = new HashMap<>();
 				filterAndMapperForZipEntry = new HashMap<>();
@@ -432,7 +569,7 @@ public class FileSystemScanner implements Component {
 			public final Configuration afterScanPath(BiConsumer<MainContext, String>... consumers) {
 				for (BiConsumer<MainContext, String> consumer : consumers) {
 					if (afterScanPath != null) {
-						afterScanPath.andThen(consumer);
+						afterScanPath = afterScanPath.andThen(consumer);
 					} else {
 						afterScanPath = consumer;
 					}
@@ -444,7 +581,7 @@ public class FileSystemScanner implements Component {
 			public final Configuration beforeScanPath(BiConsumer<MainContext, String>... consumers) {
 				for (BiConsumer<MainContext, String> consumer : consumers) {
 					if (beforeScanPath != null) {
-						beforeScanPath.andThen(consumer);
+						beforeScanPath = beforeScanPath.andThen(consumer);
 					} else {
 						beforeScanPath = consumer;
 					}
@@ -665,11 +802,40 @@ public class FileSystemScanner implements Component {
 				return this;
 			}
 			
+			//Paths are scanned one at a time by default: a greater value scans them in parallel and makes the before and after scan path callbacks run concurrently
+			public Configuration setMaxParallelScannedPaths(int value) {
+				this.maxParallelScannedPaths = value;
+				return this;
+			}
+			
+			public Configuration setMaxParallelScannedArchives(int value) {
+				this.maxParallelScannedArchives = value;
+				return this;
+			}
+			
+			//A value less than or equal to zero disables the parallel scan of the entries of the archives
+			public Configuration setMinArchiveSizeForParallelEntriesScan(long value) {
+				this.minArchiveSizeForParallelEntriesScan = value;
+				return this;
+			}
+			
 			public Configuration optimizePaths(boolean flag) {
 				this.optimizePaths = flag;
 				return this;
 			}
 			
+			//Paths are scanned in the order defined by the comparator so that the most likely locations can be scanned first
+			public Configuration sortPathsBy(Comparator<String> comparator) {
+				this.pathsComparator = comparator;
+				return this;
+			}
+			
+			//The paths are scanned one after the other, in the order in which they have been added or sorted, even if parallel scan of paths is enabled
+			public Configuration scanPathsInOrder(boolean flag) {
+				this.scanPathsInOrder = flag;
+				return this;
+			}
+			
 			public Configuration createCopy() {
 				Configuration copy = Configuration.forPaths(this.paths);
 				copy.beforeScan = this.beforeScan;
@@ -680,7 +846,12 @@ public class FileSystemScanner implements Component {
 				copy.filterAndMapperForFile.putAll(this.filterAndMapperForFile);
 				copy.filterAndMapperForZipEntry.putAll(this.filterAndMapperForZipEntry);			
 				copy.maxParallelTasks = this.maxParallelTasks;
+				copy.maxParallelScannedPaths = this.maxParallelScannedPaths;
+				copy.maxParallelScannedArchives = this.maxParallelScannedArchives;
+				copy.minArchiveSizeForParallelEntriesScan = this.minArchiveSizeForParallelEntriesScan;
 				copy.optimizePaths = this.optimizePaths;
+				copy.pathsComparator = this.pathsComparator;
+				copy.scanPathsInOrder = this.scanPathsInOrder;
 				return copy;
 			}
 			
@@ -0,0 +1,199 @@
+/*
+ * This file is part of Burningwave Core.
+ *
+ * Author: Roberto Gentili
+ *
+ * Hosted at: https://github.com/burningwave/core
+ *
+ * --
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Roberto Gentili
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT
+ * LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO
+ * EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN
+ * AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.burningwave.core.io;
+
+import static org.burningwave.core.assembler.StaticComponentContainer.Paths;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.burningwave.core.Component;
+import org.burningwave.core.function.ThrowingSupplier;
+
+
+public class FileSystemWatcher implements Component {
+	private WatchService watchService;
+	//The same folder may belong to several watched trees, so each key is mapped to all the root paths containing it
+	private Map<WatchKey, Collection<String>> rootPathsForKeys;
+	private Map<String, Consumer<String>> listeners;
+	private Thread eventsDispatcher;
+	
+	private FileSystemWatcher() {
+		this.watchService = ThrowingSupplier.get(() -> FileSystems.getDefault().newWatchService());
+		this.rootPathsForKeys = new ConcurrentHashMap<>();
+		this.listeners = new ConcurrentHashMap<>();
+		this.eventsDispatcher = new Thread(this::dispatchEvents, FileSystemWatcher.class.getSimpleName());
+		this.eventsDispatcher.setDaemon(true);
+		this.eventsDispatcher.start();
+	}
+	
+	public static FileSystemWatcher create() {
+		return new FileSystemWatcher();
+	}
+	
+	public boolean register(String folderPath, Consumer<String> listener) {
+		File folder = new File(folderPath);
+		if (!folder.isDirectory()) {
+			return false;
+		}
+		String rootPath = Paths.clean(folder.getAbsolutePath());
+		if (listeners.putIfAbsent(rootPath, listener) == null) {
+			registerAll(folder.toPath(), rootPath);
+		}
+		return true;
+	}
+	
+	public boolean isWatched(String folderPath) {
+		return listeners.containsKey(Paths.clean(new File(folderPath).getAbsolutePath()));
+	}
+	
+	public void unregister(String folderPath) {
+		String rootPath = Paths.clean(new File(folderPath).getAbsolutePath());
+		if (listeners.remove(rootPath) != null) {
+			rootPathsForKeys.entrySet().removeIf(entry -> {
+				Collection<String> rootPaths = entry.getValue();
+				synchronized (rootPaths) {
+					if (rootPaths.remove(rootPath) && rootPaths.isEmpty()) {
+						entry.getKey().cancel();
+						return true;
+					}
+				}
+				return false;
+			});
+		}
+	}
+	
+	private void registerAll(Path folder, String rootPath) {
+		ThrowingSupplier.get(() -> Files.walkFileTree(folder, new SimpleFileVisitor<Path>() {
+			@Override
+			public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+				Collection<String> rootPaths = rootPathsForKeys.computeIfAbsent(
+					dir.register(
+						watchService,
+						StandardWatchEventKinds.ENTRY_CREATE,
+						StandardWatchEventKinds.ENTRY_DELETE,
+						StandardWatchEventKinds.ENTRY_MODIFY
+					), key -> new LinkedHashSet<>()
+				);
+				synchronized (rootPaths) {
+					rootPaths.add(rootPath);
+				}
+				return FileVisitResult.CONTINUE;
+			}
+		}));
+	}
+	
+	private void dispatchEvents() {
+		while (true) {
+			WatchKey key;
+			try {
+				key = watchService.take();
+			} catch (InterruptedException | ClosedWatchServiceException exc) {
+				return;
+			}
+			Collection<String> rootPathsOfKey = rootPathsForKeys.get(key);
+			if (rootPathsOfKey != null) {
+				Collection<String> rootPaths;
+				synchronized (rootPathsOfKey) {
+					rootPaths = new ArrayList<>(rootPathsOfKey);
+				}
+				for (WatchEvent<?> event : key.pollEvents()) {
+					if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE) {
+						Path created = ((Path)key.watchable()).resolve((Path)event.context());
+						if (Files.isDirectory(created)) {
+							for (String rootPath : rootPaths) {
+								try {
+									registerAll(created, rootPath);
+								} catch (Throwable exc) {
+									logWarn("Could not watch folder {}: {}", created, exc.toString());
+								}
+							}
+						}
+					}
+				}
+				for (String rootPath : rootPaths) {
+					Consumer<String> listener = listeners.get(rootPath);
+					if (listener != null) {
+						try {
+							listener.accept(rootPath);
+						} catch (Throwable exc) {
+							logError("Exception occurred while notifying change of " + rootPath, exc);
+						}
+					}
+				}
+			} else {
+				key.pollEvents();
+			}
+			if (!key.reset()) {
+				rootPathsForKeys.remove(key);
+			}
+		}
+	}
+	
+	//The fields are cleared only once the dispatcher has stopped, since it reads them until then
+	@Override
+	public void close() {
+		try {
+			watchService.close();
+		} catch (IOException exc) {
+			logWarn("Exception occurred while closing watch service: {}", exc.toString());
+		}
+		eventsDispatcher.interrupt();
+		if (Thread.currentThread() != eventsDispatcher) {
+			try {
+				eventsDispatcher.join();
+			} catch (InterruptedException exc) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		listeners.clear();
+		rootPathsForKeys.clear();
+		eventsDispatcher = null;
+		watchService = null;
+		listeners = null;
+		rootPathsForKeys = null;
+	}
+}
@@ -28,7 +28,6 @@
  */
 package org.burningwave.core.io;
 
-import static org.burningwave.core.assembler.StaticComponentContainer.Classes;
 import static org.burningwave.core.assembler.StaticComponentContainer.ManagedLoggersRepository;
 import static org.burningwave.core.assembler.StaticComponentContainer.Paths;
 import static org.burningwave.core.assembler.StaticComponentContainer.Strings;
@@ -159,34 +158,39 @@ public class PathHelper implements Component {
 		if (names != null && names.length > 0) {
 			for (String name : names) {
 				Collection<String> pathsFound = this.pathGroups.get(name);
+				if (pathsFound == null) {
+					//The groups are published once loaded, so the threads that find them don't need to lock. The loading locks the
+					//config because the changes of the config notified to this helper are received while holding its lock
+					synchronized(config) {
+						if ((pathsFound = this.pathGroups.get(name)) == null) {
+							loadPaths(name);
+							pathsFound = this.pathGroups.get(name);
+						}
+					}
+				}
 				if (pathsFound != null) {
 					pathGroup.addAll(pathsFound);
 				} else {
-					loadPaths(name);
-					pathsFound = this.pathGroups.get(name);
-					if (pathsFound != null) {
-						pathGroup.addAll(pathsFound);
-					} else {
-						logWarn("path group named " + name + " is not defined");
-					}
+					logWarn("path group named " + name + " is not defined");
 				}
-				
 			}
 		}
 		return pathGroup;
 	}
 	
-	private Collection<String> getOrCreatePathGroup(String name) {
-		Collection<String> classPathsGroup = null;
-		if ((classPathsGroup = this.pathGroups.get(name)) == null) {
-			synchronized(Classes.getId(this.pathGroups, name)) {
-				if ((classPathsGroup = this.pathGroups.get(name)) == null) {
-					classPathsGroup = ConcurrentHashMap.newKeySet();
-					this.pathGroups.put(name, classPathsGroup);
-				}
+	//Adds the paths to the group publishing it, if it is new, only when all its paths have been added
+	private Collection<String> addToPathGroup(String name, Collection<String> paths) {
+		synchronized(pathGroups) {
+			Collection<String> pathGroup = this.pathGroups.get(name);
+			if (pathGroup == null) {
+				pathGroup = ConcurrentHashMap.newKeySet();
+				pathGroup.addAll(paths);
+				this.pathGroups.put(name, pathGroup);
+			} else {
+				pathGroup.addAll(paths);
 			}
+			return pathGroup;
 		}
-		return classPathsGroup;
 	}
 	
 	private void loadPaths(String pathGroupName) {
@@ -195,8 +199,8 @@ public class PathHelper implements Component {
 	
 	public Collection<String> loadPaths(String pathGroupName, String paths) {
 		String pathGroupPropertyName = PATHS_KEY_PREFIX + pathGroupName;
-		Collection<String> groupPaths = ConcurrentHashMap.newKeySet();
-		synchronized(Classes.getId(pathGroups, pathGroupName)) {
+		Collection<String> groupPaths = new LinkedHashSet<>();
+		synchronized(config) {
 			String currentPropertyPaths = config.getProperty(pathGroupPropertyName);
 			if (Strings.isNotEmpty(currentPropertyPaths) && Strings.isNotEmpty(paths)) {
 				if (!currentPropertyPaths.endsWith(";")) {
@@ -217,27 +221,24 @@ public class PathHelper implements Component {
 						Map<String, String> defaultValues = new LinkedHashMap<>();
 						defaultValues.put("classPaths", mainClassPath);
 						paths = Paths.clean(iterableObjectHelper.get(config, pathGroupPropertyName, defaultValues)).replaceAll(";{2,}", ";");
-						for (String path : paths.split(";")) {
-							groupPaths.addAll(addPath(pathGroupName, path));
-						}
+						groupPaths.addAll(resolvePaths(Arrays.asList(paths.split(";"))));
 					}	
 				} else {
-					for (String path : iterableObjectHelper.get(config, pathGroupPropertyName, null).split(";")) {
-						groupPaths.addAll(addPath(pathGroupName, path));
-					}
+					groupPaths.addAll(resolvePaths(Arrays.asList(iterableObjectHelper.get(config, pathGroupPropertyName, null).split(";"))));
 				}
+				return addToPathGroup(pathGroupName, groupPaths);
 			}
+			return groupPaths;
 		}
-		return groupPaths;
 	}	
 	
-	private Collection<String> addPath(String name, String classPaths) {
-		return addPaths(name, Arrays.asList(classPaths));
+	private Collection<String> addPaths(String groupName, Collection<String> paths) {
+		return addToPathGroup(groupName, resolvePaths(paths));
 	}
 	
-	private Collection<String> addPaths(String groupName, Collection<String> paths) {
+	private Collection<String> resolvePaths(Collection<String> paths) {
 		if (paths != null) {
-			Collection<String> pathGroup = getOrCreatePathGroup(groupName);
+			Collection<String> resolvedPaths = new LinkedHashSet<>();
 			Integer loggingLevelFlags = ManagedLoggersRepository.getLoggingLevelFlags(FileSystemItem.class);
 			ManagedLoggersRepository.disableLogging(FileSystemItem.class);
 			for (String path : paths) {
@@ -255,7 +256,7 @@ public class PathHelper implements Component {
 						if (childrenSupplier != null) {
 							Set<FileSystemItem> childrenFound = childrenSupplier.apply(fileSystemItem -> fileSystemItem.getAbsolutePath().matches(childrenSetRegEx));
 							for (FileSystemItem fileSystemItem : childrenFound) {
-								pathGroup.add(fileSystemItem.getAbsolutePath());
+								resolvedPaths.add(fileSystemItem.getAbsolutePath());
 								allPaths.add(fileSystemItem.getAbsolutePath());
 							}
 						}
@@ -263,13 +264,13 @@ public class PathHelper implements Component {
 				} else {
 					FileSystemItem fileSystemItem = FileSystemItem.ofPath(path);
 					if (fileSystemItem.exists()) {
-						pathGroup.add(fileSystemItem.getAbsolutePath());
+						resolvedPaths.add(fileSystemItem.getAbsolutePath());
 						allPaths.add(fileSystemItem.getAbsolutePath());
 					}
 				}
 			}
 			ManagedLoggersRepository.setLoggingLevelFlags(FileSystemItem.class, loggingLevelFlags);
-			return pathGroup;
+			return resolvedPaths;
 		} else {
 			throw Throwables.toRuntimeException("classPaths parameter is null");
 		}
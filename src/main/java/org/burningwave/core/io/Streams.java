@@ -40,6 +40,7 @@ import java.math.BigDecimal;
 import java.nio.ByteBuffer;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.zip.CRC32;
 
 import org.burningwave.core.Component;
 import org.burningwave.core.function.ThrowingRunnable;
@@ -176,6 +177,14 @@ public class Streams implements Component {
 		return duplicated;
 	}
 	
+	public long computeHash(ByteBuffer byteBuffer) {
+		ByteBuffer content = shareContent(byteBuffer);
+		int length = ByteBufferDelegate.limit(content);
+		CRC32 crc32 = new CRC32();
+		crc32.update(content);
+		return (crc32.getValue() << 32) | (length & 0xFFFFFFFFL);
+	}
+	
 	public FileSystemItem store(String fileAbsolutePath, byte[] bytes) {
 		return store(fileAbsolutePath, defaultByteBufferAllocationMode.apply(bytes.length).put(bytes, 0, bytes.length));
 	}
@@ -85,6 +85,7 @@ public class LowLevelObjectsHandler implements Component, MembersRetriever {
 	Map<Class<?>, Field> parentClassLoaderFields;
 	Long loadedPackagesMapMemoryOffset;
 	Long loadedClassesVectorMemoryOffset;	
+	Long parallelLockMapMemoryOffset;
 	
 	Class<?> classLoaderDelegateClass;
 	Class<?> builtinClassLoaderClass;
@@ -131,6 +132,11 @@ public class LowLevelObjectsHandler implements Component, MembersRetriever {
 		return (Map<String, ?>)unsafe.getObject(classLoader, loadedPackagesMapMemoryOffset);
 	}
 	
+	//The map of the locks for class names is created only for the class loaders registered as parallel capable
+	public boolean isParallelCapable(ClassLoader classLoader) {
+		return unsafe.getObject(classLoader, parallelLockMapMemoryOffset) != null;
+	}
+	
 	private Field getParentClassLoaderField(Class<?> classLoaderClass) {
 		Field field = parentClassLoaderFields.get(classLoaderClass);
 		if (field == null) {
@@ -250,6 +256,7 @@ public class LowLevelObjectsHandler implements Component, MembersRetriever {
 	public void close() {
 		loadedPackagesMapMemoryOffset = null;
 		loadedClassesVectorMemoryOffset = null;
+		parallelLockMapMemoryOffset = null;
 		unsafe = null;
 		illegalAccessLoggerEnabler = null;
 		illegalAccessLoggerDisabler = null;
@@ -328,6 +335,7 @@ public class LowLevelObjectsHandler implements Component, MembersRetriever {
 			initSpecificElements();			
 			initClassesVectorField();
 			initPackagesMapField();
+			initParallelLockMapField();
 		}
 
 
@@ -349,6 +357,15 @@ public class LowLevelObjectsHandler implements Component, MembersRetriever {
 			);
 		}
 
+		private void initParallelLockMapField() {
+			this.lowLevelObjectsHandler.parallelLockMapMemoryOffset = lowLevelObjectsHandler.unsafe.objectFieldOffset(
+				lowLevelObjectsHandler.getDeclaredField(
+					ClassLoader.class, (field) ->
+					"parallelLockMap".equals(field.getName())
+				)
+			);
+		}
+
 		private void initEmptyMembersArrays() {
 			lowLevelObjectsHandler.emtpyFieldsArray = new Field[]{};
 			lowLevelObjectsHandler.emptyMethodsArray = new Method[]{};
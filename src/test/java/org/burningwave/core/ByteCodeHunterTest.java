@@ -1,16 +1,30 @@
 package org.burningwave.core;
 
 
+import static org.burningwave.core.assembler.StaticComponentContainer.FileSystemHelper;
+import static org.burningwave.core.assembler.StaticComponentContainer.Paths;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 import java.io.Closeable;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Stream;
 
 import org.burningwave.core.assembler.ComponentSupplier;
+import org.burningwave.core.classes.ByteCodeHunter;
+import org.burningwave.core.classes.CacheRetentionPolicy;
 import org.burningwave.core.classes.CacheableSearchConfig;
 import org.burningwave.core.classes.ClassCriteria;
+import org.burningwave.core.classes.JavaClass;
 import org.burningwave.core.classes.SearchConfig;
+import org.burningwave.core.classes.SharedClassIndex;
 import org.burningwave.core.io.FileScanConfigAbst;
 import org.burningwave.core.service.Service;
 import org.junit.jupiter.api.Test;
@@ -79,6 +93,183 @@ public class ByteCodeHunterTest extends BaseTest {
 	}
 	
 	
+	@Test
+	public void cacheTestTwo() {
+		ComponentSupplier componentSupplier = getComponentSupplier();
+		File classesFolder = FileSystemHelper.createTemporaryFolder("byte-code-hunter-cache-test");
+		String classesFolderPath = classesFolder.getAbsolutePath();
+		String classesPath = componentSupplier.getPathHelper().getPath((path) -> path.endsWith("target/classes"));
+		testDoesNotThrow(() -> {
+			for (Class<?> cls : Arrays.asList(Component.class, ManagedLogger.class)) {
+				String classFileRelativePath = cls.getName().replace(".", "/") + ".class";
+				File classFile = new File(classesFolderPath, classFileRelativePath);
+				classFile.getParentFile().mkdirs();
+				Files.copy(new File(classesPath, classFileRelativePath).toPath(), classFile.toPath());
+				try (ByteCodeHunter.SearchResult result = componentSupplier.getByteCodeHunter().findBy(
+					SearchConfig.forPaths(classesFolderPath).checkForChangesOfCachedPaths(true)
+				)) {
+					assertTrue(result.getClasses().size() == (cls == Component.class ? 1 : 2));
+				}
+			}
+		});
+	}
+	
+	@Test
+	public void cacheTestThree() {
+		ComponentSupplier componentSupplier = getComponentSupplier();
+		String jarPath = componentSupplier.getPathHelper().getAbsolutePathOfResource("../../src/test/external-resources/spring-core-4.3.4.RELEASE.jar");
+		testDoesNotThrow(() -> {
+			List<String> jarCopiesPaths = new ArrayList<>();
+			for (String folderName : Arrays.asList("first", "second")) {
+				File jarCopy = new File(FileSystemHelper.createTemporaryFolder("byte-code-hunter-duplicate-archives-test/" + folderName), "spring-core.jar");
+				Files.copy(new File(jarPath).toPath(), jarCopy.toPath(), StandardCopyOption.REPLACE_EXISTING);
+				jarCopiesPaths.add(Paths.clean(jarCopy.getAbsolutePath()));
+			}
+			try (ByteCodeHunter.SearchResult result = componentSupplier.getByteCodeHunter().findBy(
+				SearchConfig.forPaths(jarCopiesPaths)
+			)) {
+				Map<String, JavaClass> classes = result.getClassesFlatMap();
+				int duplicatedClassesCount = 0;
+				for (Map.Entry<String, JavaClass> cls : classes.entrySet()) {
+					if (cls.getKey().startsWith(jarCopiesPaths.get(0))) {
+						JavaClass duplicatedClass = classes.get(jarCopiesPaths.get(1) + cls.getKey().substring(jarCopiesPaths.get(0).length()));
+						assertTrue(duplicatedClass == cls.getValue());
+						duplicatedClassesCount++;
+					}
+				}
+				assertTrue(duplicatedClassesCount > 0 && duplicatedClassesCount * 2 == classes.size());
+			}
+		});
+	}
+	
+	@Test
+	public void cacheTestFour() {
+		ComponentSupplier componentSupplier = getComponentSupplier();
+		ByteCodeHunter byteCodeHunter = componentSupplier.getByteCodeHunter();
+		File classesFolder = FileSystemHelper.createTemporaryFolder("byte-code-hunter-cached-result-test");
+		String classesFolderPath = classesFolder.getAbsolutePath();
+		String classesPath = componentSupplier.getPathHelper().getPath((path) -> path.endsWith("target/classes"));
+		CacheableSearchConfig searchConfig = SearchConfig.forPaths(classesFolderPath).by(
+			ClassCriteria.create().allThat(cls -> true)
+		).cacheResultBy("all-classes").checkForChangesOfCachedPaths(true);
+		testDoesNotThrow(() -> {
+			for (Class<?> cls : Arrays.asList(Component.class, ManagedLogger.class)) {
+				String classFileRelativePath = cls.getName().replace(".", "/") + ".class";
+				File classFile = new File(classesFolderPath, classFileRelativePath);
+				classFile.getParentFile().mkdirs();
+				Files.copy(new File(classesPath, classFileRelativePath).toPath(), classFile.toPath());
+				if (cls == Component.class) {
+					byteCodeHunter.loadInCache(SearchConfig.forPaths(classesFolderPath)).find().close();
+					byteCodeHunter.findBy(searchConfig).close();
+				}
+				//The folder is not watched, so the cached result is dropped because the fingerprint of the folder has changed
+				try (ByteCodeHunter.SearchResult result = byteCodeHunter.findBy(searchConfig)) {
+					assertTrue(result.getClasses().size() == (cls == Component.class ? 1 : 2));
+				}
+			}
+		});
+	}
+	
+	@Test
+	public void sharedClassIndexTestOne() {
+		ComponentSupplier componentSupplier = getComponentSupplier();
+		String jarPath = Paths.clean(componentSupplier.getPathHelper().getAbsolutePathOfResource("../../src/test/external-resources/spring-core-4.3.4.RELEASE.jar"));
+		testDoesNotThrow(() -> {
+			File sharedClassIndexFolder = FileSystemHelper.createTemporaryFolder("byte-code-hunter-shared-class-index-test");
+			SharedClassIndex sharedClassIndex = SharedClassIndex.create(sharedClassIndexFolder.getAbsolutePath());
+			List<ByteCodeHunter> byteCodeHunters = new ArrayList<>();
+			List<Map<String, JavaClass>> classesFound = new ArrayList<>();
+			//The first hunter publishes the index of the path and the second one attaches to it
+			for (int i = 0; i < 2; i++) {
+				ByteCodeHunter byteCodeHunter = ByteCodeHunter.create(
+					componentSupplier::getByteCodeHunter,
+					componentSupplier::getClassHunter,
+					componentSupplier.getFileSystemScanner(),
+					componentSupplier.getPathHelper()
+				);
+				byteCodeHunter.useSharedClassIndex(sharedClassIndex);
+				byteCodeHunters.add(byteCodeHunter);
+				try (ByteCodeHunter.SearchResult result = byteCodeHunter.findBy(
+					SearchConfig.forPaths(jarPath).deleteFoundItemsOnClose(false)
+				)) {
+					classesFound.add(result.getClassesFlatMap());
+				}
+			}
+			assertTrue(!classesFound.get(0).isEmpty() && classesFound.get(0).keySet().equals(classesFound.get(1).keySet()));
+			for (Map.Entry<String, JavaClass> cls : classesFound.get(0).entrySet()) {
+				assertTrue(cls.getValue().getByteCode().equals(classesFound.get(1).get(cls.getKey()).getByteCode()));
+			}
+			File[] indexFiles = sharedClassIndexFolder.listFiles((dir, name) -> name.endsWith(".idx"));
+			assertTrue(indexFiles.length == 1);
+			assertTrue(sharedClassIndex.attach(jarPath, FileSystemHelper.computeFingerprint(jarPath) + 1) == null);
+			//A corrupted index is discarded
+			byte[] index = Files.readAllBytes(indexFiles[0].toPath());
+			index[index.length - 1] ^= 1;
+			Files.write(indexFiles[0].toPath(), index);
+			assertTrue(sharedClassIndex.attach(jarPath, FileSystemHelper.computeFingerprint(jarPath)) == null);
+			byteCodeHunters.forEach(ByteCodeHunter::close);
+			sharedClassIndex.close();
+		});
+	}
+	
+	@Test
+	public void cacheRetentionPolicyTestOne() {
+		ComponentSupplier componentSupplier = getComponentSupplier();
+		String jarPath = Paths.clean(componentSupplier.getPathHelper().getAbsolutePathOfResource("../../src/test/external-resources/spring-core-4.3.4.RELEASE.jar"));
+		testDoesNotThrow(() -> {
+			File folder = FileSystemHelper.createTemporaryFolder("byte-code-hunter-cache-retention-policy-test");
+			String copyOfJarPath = Paths.clean(new File(folder, "spring-core-copy.jar").getAbsolutePath());
+			Files.copy(new File(jarPath).toPath(), new File(copyOfJarPath).toPath(), StandardCopyOption.REPLACE_EXISTING);
+			ByteCodeHunter byteCodeHunter = ByteCodeHunter.create(
+				componentSupplier::getByteCodeHunter,
+				componentSupplier::getClassHunter,
+				componentSupplier.getFileSystemScanner(),
+				componentSupplier.getPathHelper()
+			);
+			byteCodeHunter.setCacheRetentionPolicy(CacheRetentionPolicy.create().maxPaths(1));
+			Integer classesCount = null;
+			//Each path evicts the other one, which is scanned again when searched
+			for (String path : Arrays.asList(jarPath, copyOfJarPath, jarPath)) {
+				try (ByteCodeHunter.SearchResult result = byteCodeHunter.findBy(
+					SearchConfig.forPaths(path).deleteFoundItemsOnClose(false)
+				)) {
+					int count = result.getClassesFlatMap().size();
+					assertTrue(count > 0 && (classesCount == null || classesCount == count));
+					classesCount = count;
+				}
+			}
+			assertTrue(byteCodeHunter.getEvictedPathsCount() == 2);
+			byteCodeHunter.close();
+		});
+	}
+
+	@Test
+	public void cacheRetentionPolicyTestTwo() {
+		ComponentSupplier componentSupplier = getComponentSupplier();
+		String jarPath = Paths.clean(componentSupplier.getPathHelper().getAbsolutePathOfResource("../../src/test/external-resources/spring-core-4.3.4.RELEASE.jar"));
+		testDoesNotThrow(() -> {
+			ByteCodeHunter byteCodeHunter = ByteCodeHunter.create(
+				componentSupplier::getByteCodeHunter,
+				componentSupplier::getClassHunter,
+				componentSupplier.getFileSystemScanner(),
+				componentSupplier.getPathHelper()
+			);
+			byteCodeHunter.setCacheRetentionPolicy(CacheRetentionPolicy.create().timeToIdle(200));
+			try (ByteCodeHunter.SearchResult result = byteCodeHunter.findBy(
+				SearchConfig.forPaths(jarPath).deleteFoundItemsOnClose(false)
+			)) {
+				assertTrue(result.getClassesFlatMap().size() > 0);
+			}
+			//The idle path must be evicted without any further access to the hunter
+			for (int i = 0; i < 50 && byteCodeHunter.getEvictedPathsCount() == 0; i++) {
+				Thread.sleep(100);
+			}
+			assertTrue(byteCodeHunter.getEvictedPathsCount() == 1);
+			assertTrue(byteCodeHunter.getCachedItemsCount() == 0);
+			byteCodeHunter.close();
+		});
+	}
+
 	@Test
 	public void uncachedTestOne() {
 		ComponentSupplier componentSupplier = getComponentSupplier();
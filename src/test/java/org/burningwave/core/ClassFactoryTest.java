@@ -2,13 +2,23 @@ package org.burningwave.core;
 
 import static org.burningwave.core.assembler.StaticComponentContainer.Classes;
 import static org.burningwave.core.assembler.StaticComponentContainer.Constructors;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.File;
 import java.io.InputStream;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import org.burningwave.core.assembler.ComponentContainer;
 import org.burningwave.core.assembler.ComponentSupplier;
@@ -17,6 +27,7 @@ import org.burningwave.core.bean.PojoInterface;
 import org.burningwave.core.classes.ClassFactory;
 import org.burningwave.core.classes.ClassSourceGenerator;
 import org.burningwave.core.classes.FunctionSourceGenerator;
+import org.burningwave.core.classes.MemoryClassLoader;
 import org.burningwave.core.classes.PojoSourceGenerator;
 import org.burningwave.core.classes.StatementSourceGenerator;
 import org.burningwave.core.classes.TypeDeclarationSourceGenerator;
@@ -111,6 +122,373 @@ public class ClassFactoryTest extends BaseTest {
 	}
 	
 	
+	@Test
+	public void buildWithCompilationCacheTestOne() {
+		ComponentSupplier componentSupplier = getComponentSupplier();
+		PathHelper pathHelper = componentSupplier.getPathHelper();
+		UnitSourceGenerator unitSG = UnitSourceGenerator.create("packagename").addClass(
+			ClassSourceGenerator.create(
+				TypeDeclarationSourceGenerator.create("CompilationCacheTest")
+			).addModifier(
+				Modifier.PUBLIC
+			).addInnerClass(
+				ClassSourceGenerator.create(
+					TypeDeclarationSourceGenerator.create("Inner")
+				).addModifier(
+					Modifier.PUBLIC | Modifier.STATIC
+				)
+			)
+		);
+		testDoesNotThrow(() -> {
+			List<Map<String, ByteBuffer>> byteCodes = new ArrayList<>();
+			//The second build is served from the memory and the third one, after clearing the memory, from the temporary folder
+			for (int i = 0; i < 3; i++) {
+				byteCodes.add(componentSupplier.getClassFactory().build(
+					pathHelper.getPaths(PathHelper.MAIN_CLASS_PATHS, PathHelper.MAIN_CLASS_PATHS_EXTENSION),
+					new ArrayList<>(),
+					unitSG
+				));
+				if (i == 1) {
+					componentSupplier.getJavaMemoryCompiler().clearCache();
+				}
+			}
+			assertTrue(byteCodes.get(0).size() == 2 && byteCodes.get(0).equals(byteCodes.get(1)) && byteCodes.get(0).equals(byteCodes.get(2)));
+		});
+	}
+	
+	@Test
+	public void buildWithCompilationCacheTestTwo() {
+		ComponentSupplier componentSupplier = getComponentSupplier();
+		PathHelper pathHelper = componentSupplier.getPathHelper();
+		testDoesNotThrow(() -> {
+			Collection<String> mainClassPaths = pathHelper.getPaths(PathHelper.MAIN_CLASS_PATHS, PathHelper.MAIN_CLASS_PATHS_EXTENSION);
+			File compilationCacheFolder = componentSupplier.getJavaMemoryCompiler().getOrCreateTemporaryFolder("compilation-cache");
+			Supplier<Integer> entriesCounter = () -> compilationCacheFolder.listFiles((dir, name) -> name.endsWith(".entry")).length;
+			int initialEntriesCount = entriesCounter.get();
+			String className = "CompilationCacheTest" + System.nanoTime();
+			componentSupplier.getClassFactory().build(mainClassPaths, new ArrayList<>(), UnitSourceGenerator.create("packagename").addClass(
+				ClassSourceGenerator.create(
+					TypeDeclarationSourceGenerator.create(className + "A")
+				).addModifier(
+					Modifier.PUBLIC
+				)
+			));
+			//The unit that reads the class compiled before from memory is cached too
+			componentSupplier.getClassFactory().build(mainClassPaths, new ArrayList<>(), UnitSourceGenerator.create("packagename").addClass(
+				ClassSourceGenerator.create(
+					TypeDeclarationSourceGenerator.create(className + "B")
+				).addModifier(
+					Modifier.PUBLIC
+				).expands(
+					TypeDeclarationSourceGenerator.create(className + "A")
+				)
+			));
+			assertTrue(entriesCounter.get() == initialEntriesCount + 2);
+		});
+	}
+	
+	@Test
+	public void buildConcurrentlyTestOne() {
+		ComponentSupplier componentSupplier = getComponentSupplier();
+		PathHelper pathHelper = componentSupplier.getPathHelper();
+		testDoesNotThrow(() -> {
+			List<CompletableFuture<Map<String, ByteBuffer>>> builds = new ArrayList<>();
+			for (int i = 0; i < 4; i++) {
+				UnitSourceGenerator unitSG = UnitSourceGenerator.create("packagename").addClass(
+					ClassSourceGenerator.create(
+						TypeDeclarationSourceGenerator.create("ConcurrentBuildTest" + i + "_" + System.nanoTime())
+					).addModifier(
+						Modifier.PUBLIC
+					)
+				);
+				builds.add(CompletableFuture.supplyAsync(() ->
+					componentSupplier.getClassFactory().build(
+						pathHelper.getPaths(PathHelper.MAIN_CLASS_PATHS, PathHelper.MAIN_CLASS_PATHS_EXTENSION),
+						Arrays.asList(pathHelper.getAbsolutePathOfResource("../../src/test/external-resources/spring-core-4.3.4.RELEASE.jar")),
+						unitSG
+					)
+				));
+			}
+			for (CompletableFuture<Map<String, ByteBuffer>> build : builds) {
+				assertTrue(build.join().size() == 1);
+			}
+		});
+	}
+	
+	@Test
+	public void buildWithClassPathIndexTestOne() {
+		ComponentSupplier componentSupplier = getComponentSupplier();
+		PathHelper pathHelper = componentSupplier.getPathHelper();
+		testDoesNotThrow(() -> {
+			String className = "ClassPathIndexTest" + System.nanoTime();
+			long compilationTasksCount = componentSupplier.getJavaMemoryCompiler().getCompilationTasksCount();
+			Map<String, ByteBuffer> byteCodes = componentSupplier.getClassFactory().build(
+				pathHelper.getPaths(PathHelper.MAIN_CLASS_PATHS, PathHelper.MAIN_CLASS_PATHS_EXTENSION),
+				Arrays.asList(pathHelper.getAbsolutePathOfResource("../../src/test/external-resources/spring-core-4.3.4.RELEASE.jar")),
+				"package packagename;\n\n" +
+				"import org.springframework.core.serializer.DefaultSerializer;\n" +
+				"import org.springframework.util.StringUtils;\n\n" +
+				"public class " + className + " {\n" +
+				"\tDefaultSerializer serializer;\n" +
+				"\tStringUtils stringUtils;\n" +
+				"}"
+			);
+			//The class path entries of the imported packages are resolved through the index, so javac is never called again for them
+			assertTrue(byteCodes.size() == 1 && componentSupplier.getJavaMemoryCompiler().getCompilationTasksCount() == compilationTasksCount + 1);
+		});
+	}
+	
+	@Test
+	public void buildInParallelTestOne() {
+		ComponentSupplier componentSupplier = getComponentSupplier();
+		PathHelper pathHelper = componentSupplier.getPathHelper();
+		testDoesNotThrow(() -> {
+			String classNamePrefix = "ParallelBuildTest" + System.nanoTime() + "_";
+			List<UnitSourceGenerator> unitSGs = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				ClassSourceGenerator classSG = ClassSourceGenerator.create(
+					TypeDeclarationSourceGenerator.create(classNamePrefix + i)
+				).addModifier(
+					Modifier.PUBLIC
+				);
+				//Each odd class depends on the previous one so they must be compiled together
+				if (i % 2 == 1) {
+					classSG.expands(TypeDeclarationSourceGenerator.create(classNamePrefix + (i - 1)));
+				}
+				unitSGs.add(UnitSourceGenerator.create("packagename").addClass(classSG));
+			}
+			Map<String, ByteBuffer> byteCodes = componentSupplier.getClassFactory().buildInParallel(
+				pathHelper.getPaths(PathHelper.MAIN_CLASS_PATHS, PathHelper.MAIN_CLASS_PATHS_EXTENSION),
+				new ArrayList<>(),
+				unitSGs.stream().map(UnitSourceGenerator::make).collect(Collectors.toList()),
+				4
+			);
+			for (int i = 0; i < 8; i++) {
+				assertTrue(byteCodes.containsKey("packagename." + classNamePrefix + i));
+			}
+		});
+	}
+	
+	@Test
+	public void buildInParallelTestTwo() {
+		ComponentSupplier componentSupplier = getComponentSupplier();
+		PathHelper pathHelper = componentSupplier.getPathHelper();
+		testDoesNotThrow(() -> {
+			String classNameSuffix = "" + System.nanoTime();
+			long compilationTasksCount = componentSupplier.getJavaMemoryCompiler().getCompilationTasksCount();
+			//The types with the same simple name in different packages are not related: only the subclass is compiled with its superclass
+			Map<String, ByteBuffer> byteCodes = componentSupplier.getClassFactory().buildInParallel(
+				pathHelper.getPaths(PathHelper.MAIN_CLASS_PATHS, PathHelper.MAIN_CLASS_PATHS_EXTENSION),
+				new ArrayList<>(),
+				Arrays.asList(
+					"package packagename.two;\n\npublic class Base" + classNameSuffix + " {}",
+					"package packagename.one;\n\npublic class Base" + classNameSuffix + " {}",
+					"package packagename.two;\n\npublic class Derived" + classNameSuffix + " extends Base" + classNameSuffix + " {}"
+				),
+				3
+			);
+			assertTrue(byteCodes.containsKey("packagename.one.Base" + classNameSuffix) &&
+				byteCodes.containsKey("packagename.two.Base" + classNameSuffix) &&
+				byteCodes.containsKey("packagename.two.Derived" + classNameSuffix) &&
+				componentSupplier.getJavaMemoryCompiler().getCompilationTasksCount() == compilationTasksCount + 2
+			);
+		});
+	}
+	
+	@Test
+	public void buildIncrementallyTestOne() {
+		ComponentSupplier componentSupplier = getComponentSupplier();
+		PathHelper pathHelper = componentSupplier.getPathHelper();
+		testDoesNotThrow(() -> {
+			String classNamePrefix = "IncrementalBuildTest" + System.nanoTime() + "_";
+			Function<String, UnitSourceGenerator> unitCreator = (classSuffix) -> UnitSourceGenerator.create("packagename").addClass(
+				ClassSourceGenerator.create(
+					TypeDeclarationSourceGenerator.create(classNamePrefix + classSuffix)
+				).addModifier(
+					Modifier.PUBLIC
+				)
+			);
+			UnitSourceGenerator unitA = unitCreator.apply("A");
+			UnitSourceGenerator unitB = UnitSourceGenerator.create("packagename").addClass(
+				ClassSourceGenerator.create(
+					TypeDeclarationSourceGenerator.create(classNamePrefix + "B")
+				).addModifier(
+					Modifier.PUBLIC
+				).expands(
+					TypeDeclarationSourceGenerator.create(classNamePrefix + "A")
+				)
+			);
+			UnitSourceGenerator unitC = unitCreator.apply("C");
+			ClassFactory.IncrementalBuilder incrementalBuilder = componentSupplier.getClassFactory().createIncrementalBuilder(
+				pathHelper.getPaths(PathHelper.MAIN_CLASS_PATHS, PathHelper.MAIN_CLASS_PATHS_EXTENSION),
+				new ArrayList<>()
+			);
+			assertTrue(incrementalBuilder.build(unitA, unitB, unitC).size() == 3 && incrementalBuilder.getLastRecompiledUnits().size() == 3);
+			assertTrue(incrementalBuilder.build(unitA, unitB, unitC).size() == 3 && incrementalBuilder.getLastRecompiledUnits().isEmpty());
+			unitC.getAllClasses().values().iterator().next().addField(
+				VariableSourceGenerator.create(TypeDeclarationSourceGenerator.create(String.class), "name")
+			);
+			incrementalBuilder.build(unitA, unitB, unitC);
+			assertTrue(incrementalBuilder.getLastRecompiledUnits().equals(new HashSet<>(Arrays.asList("packagename." + classNamePrefix + "C"))));
+			//The unit B is recompiled because it extends the class of the changed unit A
+			unitA.getAllClasses().values().iterator().next().addField(
+				VariableSourceGenerator.create(TypeDeclarationSourceGenerator.create(String.class), "name")
+			);
+			Map<String, ByteBuffer> byteCodes = incrementalBuilder.build(unitA, unitB, unitC);
+			assertTrue(byteCodes.size() == 3 && incrementalBuilder.getLastRecompiledUnits().equals(
+				new HashSet<>(Arrays.asList("packagename." + classNamePrefix + "A", "packagename." + classNamePrefix + "B"))
+			));
+			incrementalBuilder.close();
+		});
+	}
+	
+	@Test
+	public void buildIncrementallyTestTwo() {
+		ComponentSupplier componentSupplier = getComponentSupplier();
+		PathHelper pathHelper = componentSupplier.getPathHelper();
+		testDoesNotThrow(() -> {
+			String classNamePrefix = "IncrementalBuildTest" + System.nanoTime() + "_";
+			Function<Integer, UnitSourceGenerator> unitACreator = (constantValue) -> UnitSourceGenerator.create("packagename").addClass(
+				ClassSourceGenerator.create(
+					TypeDeclarationSourceGenerator.create(classNamePrefix + "A")
+				).addModifier(
+					Modifier.PUBLIC
+				).addField(
+					VariableSourceGenerator.create(TypeDeclarationSourceGenerator.create(int.class), "CONSTANT")
+					.addModifier(Modifier.PUBLIC | Modifier.STATIC | Modifier.FINAL).setValue(constantValue.toString())
+				)
+			);
+			//The constant is inlined by javac, so the byte code of B has no reference to A
+			UnitSourceGenerator unitB = UnitSourceGenerator.create("packagename").addClass(
+				ClassSourceGenerator.create(
+					TypeDeclarationSourceGenerator.create(classNamePrefix + "B")
+				).addModifier(
+					Modifier.PUBLIC
+				).addMethod(
+					FunctionSourceGenerator.create("getConstant").setReturnType(int.class).addModifier(Modifier.PUBLIC)
+					.addBodyCodeRow("return " + classNamePrefix + "A.CONSTANT;")
+				)
+			);
+			ClassFactory.IncrementalBuilder incrementalBuilder = componentSupplier.getClassFactory().createIncrementalBuilder(
+				pathHelper.getPaths(PathHelper.MAIN_CLASS_PATHS, PathHelper.MAIN_CLASS_PATHS_EXTENSION),
+				new ArrayList<>()
+			);
+			incrementalBuilder.build(unitACreator.apply(1), unitB);
+			incrementalBuilder.build(unitACreator.apply(2), unitB);
+			assertTrue(incrementalBuilder.getLastRecompiledUnits().equals(
+				new HashSet<>(Arrays.asList("packagename." + classNamePrefix + "A", "packagename." + classNamePrefix + "B"))
+			));
+			//The units missing from the build are dropped
+			assertTrue(incrementalBuilder.build(unitACreator.apply(2)).size() == 1);
+			incrementalBuilder.close();
+		});
+	}
+	
+	@Test
+	public void buildIncrementallyTestThree() {
+		ComponentSupplier componentSupplier = getComponentSupplier();
+		PathHelper pathHelper = componentSupplier.getPathHelper();
+		testDoesNotThrow(() -> {
+			String classNamePrefix = "IncrementalBuildTest" + System.nanoTime() + "_";
+			UnitSourceGenerator unitA = UnitSourceGenerator.create("packagename").addClass(
+				ClassSourceGenerator.create(
+					TypeDeclarationSourceGenerator.create(classNamePrefix + "A")
+				).addModifier(
+					Modifier.PUBLIC
+				)
+			);
+			UnitSourceGenerator unitB = UnitSourceGenerator.create("packagename").addClass(
+				ClassSourceGenerator.create(
+					TypeDeclarationSourceGenerator.create(classNamePrefix + "B")
+				).addModifier(
+					Modifier.PUBLIC
+				).expands(
+					TypeDeclarationSourceGenerator.create(classNamePrefix + "A")
+				)
+			);
+			ClassFactory.IncrementalBuilder incrementalBuilder = componentSupplier.getClassFactory().createIncrementalBuilder(
+				pathHelper.getPaths(PathHelper.MAIN_CLASS_PATHS, PathHelper.MAIN_CLASS_PATHS_EXTENSION),
+				new ArrayList<>()
+			);
+			incrementalBuilder.build(unitA, unitB);
+			long compilationTasksCount = componentSupplier.getJavaMemoryCompiler().getCompilationTasksCount();
+			incrementalBuilder.build(unitA, unitB);
+			assertTrue(componentSupplier.getJavaMemoryCompiler().getCompilationTasksCount() == compilationTasksCount);
+			//Only the changed unit B is passed to javac, which resolves the unchanged class A among the classes it has already compiled
+			unitB.getAllClasses().values().iterator().next().addField(
+				VariableSourceGenerator.create(TypeDeclarationSourceGenerator.create(String.class), "name")
+			);
+			Map<String, ByteBuffer> byteCodes = incrementalBuilder.build(unitA, unitB);
+			assertTrue(byteCodes.size() == 2 && incrementalBuilder.getLastRecompiledUnits().equals(
+				new HashSet<>(Arrays.asList("packagename." + classNamePrefix + "B"))
+			));
+			assertTrue(componentSupplier.getJavaMemoryCompiler().getCompilationTasksCount() == compilationTasksCount + 1);
+			incrementalBuilder.close();
+		});
+	}
+	
+	@Test
+	public void buildAgainstClassesInMemoryTestOne() {
+		ComponentSupplier componentSupplier = getComponentSupplier();
+		PathHelper pathHelper = componentSupplier.getPathHelper();
+		testDoesNotThrow(() -> {
+			Collection<String> mainClassPaths = pathHelper.getPaths(PathHelper.MAIN_CLASS_PATHS, PathHelper.MAIN_CLASS_PATHS_EXTENSION);
+			String className = "InMemoryBuildTest" + System.nanoTime();
+			componentSupplier.getClassFactory().build(mainClassPaths, new ArrayList<>(), UnitSourceGenerator.create("packagename").addClass(
+				ClassSourceGenerator.create(
+					TypeDeclarationSourceGenerator.create(className + "A")
+				).addModifier(
+					Modifier.PUBLIC
+				)
+			));
+			//The class is removed from the compiled classes folder so that it can be found only in memory
+			assertTrue(new File(componentSupplier.getJavaMemoryCompiler().getOrCreateTemporaryFolder("compiled"), "packagename/" + className + "A.class").delete());
+			Map<String, ByteBuffer> byteCodes = componentSupplier.getClassFactory().build(mainClassPaths, new ArrayList<>(), UnitSourceGenerator.create("packagename").addClass(
+				ClassSourceGenerator.create(
+					TypeDeclarationSourceGenerator.create(className + "B")
+				).addModifier(
+					Modifier.PUBLIC
+				).expands(
+					TypeDeclarationSourceGenerator.create(className + "A")
+				)
+			));
+			assertTrue(byteCodes.containsKey("packagename." + className + "B"));
+		});
+	}
+	
+	@Test
+	public void buildAgainstClassesOfTargetClassLoaderTestOne() {
+		ComponentSupplier componentSupplier = getComponentSupplier();
+		ClassFactory classFactory = componentSupplier.getClassFactory();
+		String className = "TargetClassLoaderBuildTest" + System.nanoTime();
+		Function<String, UnitSourceGenerator> unitWithMethod = methodName -> UnitSourceGenerator.create("packagename").addClass(
+			ClassSourceGenerator.create(
+				TypeDeclarationSourceGenerator.create(className + "A")
+			).addModifier(
+				Modifier.PUBLIC
+			).addMethod(
+				FunctionSourceGenerator.create(methodName).setReturnType(int.class).addModifier(Modifier.PUBLIC).addBodyCodeRow("return 1;")
+			)
+		);
+		testNotNull(() -> {
+			MemoryClassLoader classLoaderOne = MemoryClassLoader.create(ClassFactoryTest.class.getClassLoader());
+			MemoryClassLoader classLoaderTwo = MemoryClassLoader.create(ClassFactoryTest.class.getClassLoader());
+			classFactory.buildAndLoadOrUploadTo(classLoaderOne, unitWithMethod.apply("one")).get("packagename." + className + "A");
+			//The class compiled last has the same name but not the method called by the next unit
+			classFactory.buildAndLoadOrUploadTo(classLoaderTwo, unitWithMethod.apply("two")).get("packagename." + className + "A");
+			return classFactory.buildAndLoadOrUploadTo(classLoaderOne, UnitSourceGenerator.create("packagename").addClass(
+				ClassSourceGenerator.create(
+					TypeDeclarationSourceGenerator.create(className + "B")
+				).addModifier(
+					Modifier.PUBLIC
+				).addMethod(
+					FunctionSourceGenerator.create("callOne").setReturnType(int.class).addModifier(Modifier.PUBLIC)
+					.addBodyCodeRow("return new " + className + "A().one();")
+				)
+			)).get("packagename." + className + "B");
+		});
+	}
+	
 	@Test
 	public void getOrBuildClassWithExternalClassOne() {
 		ComponentSupplier componentSupplier = getComponentSupplier();
@@ -1,20 +1,31 @@
 package org.burningwave.core;
 
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 import java.io.Closeable;
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.util.AbstractList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.burningwave.core.assembler.ComponentSupplier;
 import org.burningwave.core.bean.Complex;
 import org.burningwave.core.classes.CacheableSearchConfig;
 import org.burningwave.core.classes.ClassCriteria;
+import org.burningwave.core.classes.ClassHierarchy;
 import org.burningwave.core.classes.ClassHunter;
 import org.burningwave.core.classes.ConstructorCriteria;
 import org.burningwave.core.classes.MethodCriteria;
 import org.burningwave.core.classes.SearchConfig;
+import org.burningwave.core.io.FileScanConfigAbst;
 import org.burningwave.core.io.PathHelper;
 import org.junit.jupiter.api.Test;
 
@@ -464,6 +475,243 @@ public class ClassHunterTest extends BaseTest {
 		);
 	}
 	
+	@Test
+	public void findAllSubtypeOfByListenerTestOne() {
+		ComponentSupplier componentSupplier = getComponentSupplier();
+		Collection<Class<?>> classesNotified = ConcurrentHashMap.newKeySet();
+		testNotEmpty(
+			() -> componentSupplier.getClassHunter().findBy(
+				SearchConfig.withoutUsingCache().addPaths(
+					componentSupplier.getPathHelper().getMainClassPaths()
+				).by(
+					ClassCriteria.create().byClasses((uploadedClasses, currentScannedClass) ->
+						uploadedClasses.get(Closeable.class).isAssignableFrom(currentScannedClass)
+					).useClasses(
+						Closeable.class
+					)
+				).waitForSearchEnding(
+					false
+				),
+				(path, cls) -> classesNotified.add(cls)
+			),
+			(result) -> {
+				result.waitForSearchEnding();
+				assertTrue(classesNotified.containsAll(result.getClasses()));
+				return classesNotified;
+			}
+		);
+	}
+	
+	@Test
+	public void findByBatchTestOne() {
+		ComponentSupplier componentSupplier = getComponentSupplier();
+		PathHelper pathHelper = componentSupplier.getPathHelper();
+		String springCore = pathHelper.getAbsolutePathOfResource("../../src/test/external-resources/spring-core-4.3.4.RELEASE.jar");
+		testDoesNotThrow(() -> {
+			List<ClassHunter.SearchResult> results = componentSupplier.getClassHunter().findBy(
+				Arrays.asList(
+					SearchConfig.forPaths(
+						pathHelper.getMainClassPaths()
+					).by(
+						ClassCriteria.create().byClasses((uploadedClasses, currentScannedClass) ->
+							uploadedClasses.get(Closeable.class).isAssignableFrom(currentScannedClass)
+						).useClasses(
+							Closeable.class
+						)
+					).withoutUsingCache(),
+					SearchConfig.forPaths(
+						pathHelper.getMainClassPaths()
+					).by(
+						ClassCriteria.create().byClasses((uploadedClasses, currentScannedClass) ->
+							uploadedClasses.get(Serializable.class).isAssignableFrom(currentScannedClass)
+						).useClasses(
+							Serializable.class
+						)
+					).withoutUsingCache(),
+					SearchConfig.forPaths(springCore)
+				)
+			);
+			assertTrue(results.size() == 3);
+			for (ClassHunter.SearchResult result : results) {
+				assertTrue(!result.getClasses().isEmpty());
+			}
+			assertTrue(results.get(0).getClasses().stream().allMatch(Closeable.class::isAssignableFrom));
+			assertTrue(results.get(1).getClasses().stream().allMatch(Serializable.class::isAssignableFrom));
+			//Classes of the main class paths must not be found by the search on the jar only
+			assertTrue(results.get(2).getClasses().stream().noneMatch(cls -> cls.getName().equals(ClassHunterTest.class.getName())));
+			results.forEach(ClassHunter.SearchResult::close);
+		});
+	}
+	
+	@Test
+	public void findByBatchTestTwo() {
+		ComponentSupplier componentSupplier = getComponentSupplier();
+		PathHelper pathHelper = componentSupplier.getPathHelper();
+		testDoesNotThrow(() -> {
+			List<ClassHunter.SearchResult> results = componentSupplier.getClassHunter().findBy(
+				Arrays.asList(
+					SearchConfig.forPaths(
+						pathHelper.getMainClassPaths()
+					).by(
+						ClassCriteria.create().byClasses((uploadedClasses, currentScannedClass) ->
+							uploadedClasses.get(Closeable.class).isAssignableFrom(currentScannedClass)
+						).useClasses(
+							Closeable.class
+						)
+					),
+					SearchConfig.forPaths(
+						pathHelper.getMainClassPaths()
+					).by(
+						ClassCriteria.create().byClasses((uploadedClasses, currentScannedClass) ->
+							uploadedClasses.get(Serializable.class).isAssignableFrom(currentScannedClass)
+						).useClasses(
+							Serializable.class
+						)
+					),
+					SearchConfig.forPaths(
+						pathHelper.getMainClassPaths()
+					).by(
+						ClassCriteria.create().allThat(currentScannedClass -> currentScannedClass.getName().equals(ClassHunterTest.class.getName()))
+					).checkFileOptions(
+						FileScanConfigAbst.CHECK_FILE_SIGNATURE
+					).withoutUsingCache()
+				)
+			);
+			assertTrue(results.size() == 3);
+			assertTrue(!results.get(0).getClasses().isEmpty() && results.get(0).getClasses().stream().allMatch(Closeable.class::isAssignableFrom));
+			assertTrue(!results.get(1).getClasses().isEmpty() && results.get(1).getClasses().stream().allMatch(Serializable.class::isAssignableFrom));
+			assertTrue(results.get(2).getClasses().size() == 1);
+			results.forEach(ClassHunter.SearchResult::close);
+		});
+	}
+	
+	@Test
+	public void findAllSubtypeOfWithClassHierarchyTestOne() {
+		ComponentSupplier componentSupplier = getComponentSupplier();
+		Collection<String> paths = componentSupplier.getPathHelper().getMainClassPaths();
+		ClassHierarchy classHierarchy = componentSupplier.getClassHierarchy().loadPaths(paths);
+		assertTrue(classHierarchy.isSubtypeOf(ClassHunter.class.getName(), Component.class.getName()));
+		assertTrue(classHierarchy.getAllSubtypeNames(Component.class.getName()).contains(ClassHunter.class.getName()));
+		testNotEmpty(
+			() -> componentSupplier.getClassHunter().findBy(
+				SearchConfig.forPaths(paths).by(
+					ClassCriteria.create().byClasses((uploadedClasses, currentScannedClass) ->
+						uploadedClasses.get(Component.class).isAssignableFrom(currentScannedClass)
+					).useClasses(
+						Component.class
+					)
+				).onlySubtypesOf(classHierarchy, Component.class)
+			),
+			(result) -> {
+				assertTrue(result.getClasses().stream().allMatch(Component.class::isAssignableFrom));
+				return result.getClasses();
+			}
+		);
+	}
+	
+	@Test
+	public void findFirstSubtypeOfTestOne() {
+		ComponentSupplier componentSupplier = getComponentSupplier();
+		testNotEmpty(
+			() -> componentSupplier.getClassHunter().findBy(
+				SearchConfig.withoutUsingCache().addPaths(
+					componentSupplier.getPathHelper().getAllPaths()
+				).by(
+					ClassCriteria.create().byClasses((uploadedClasses, currentScannedClass) ->
+						uploadedClasses.get(Closeable.class).isAssignableFrom(currentScannedClass)
+					).useClasses(
+						Closeable.class
+					)
+				).sortPathsBy(
+					Comparator.comparing((String path) -> !path.endsWith("target/classes"))
+				).findFirst()
+			),
+			(result) -> {
+				assertTrue(result.getClasses().size() == 1);
+				//The paths after the first one are scanned only if nothing has been found in it
+				assertTrue(result.getClassesFlatMap().keySet().stream().allMatch(path -> path.contains("target/classes/")));
+				return result.getClasses();
+			}
+		);
+	}
+	
+	@Test
+	public void findWithLimitInCacheTestOne() {
+		ComponentSupplier componentSupplier = getComponentSupplier();
+		CacheableSearchConfig searchConfig = SearchConfig.forPaths(
+			componentSupplier.getPathHelper().getMainClassPaths()
+		);
+		testNotEmpty(
+			() -> {
+				componentSupplier.getClassHunter().loadInCache(searchConfig).find();
+				return componentSupplier.getClassHunter().findBy(
+					searchConfig.createCopy().by(
+						ClassCriteria.create().allThat(cls -> cls.getPackage() != null)
+					).limit(3)
+				);
+			},
+			(result) -> {
+				assertTrue(result.getClasses().size() == 3);
+				return result.getClasses();
+			}
+		);
+	}
+	
+	@Test
+	public void findWithCachedResultTestOne() {
+		ComponentSupplier componentSupplier = getComponentSupplier();
+		ClassHunter classHunter = componentSupplier.getClassHunter();
+		AtomicInteger testedClassesCount = new AtomicInteger();
+		CacheableSearchConfig searchConfig = SearchConfig.forPaths(
+			componentSupplier.getPathHelper().getMainClassPaths()
+		).by(
+			ClassCriteria.create().allThat(cls -> {
+				testedClassesCount.incrementAndGet();
+				return Closeable.class.isAssignableFrom(cls);
+			})
+		).cacheResultBy("closeables");
+		testDoesNotThrow(() -> {
+			classHunter.loadInCache(searchConfig).find().close();
+			Collection<Class<?>> classesFound;
+			try (ClassHunter.SearchResult result = classHunter.findBy(searchConfig)) {
+				classesFound = new HashSet<>(result.getClasses());
+			}
+			int testedClassesCountAfterFirstSearch = testedClassesCount.get();
+			try (ClassHunter.SearchResult result = classHunter.findBy(searchConfig)) {
+				assertTrue(!classesFound.isEmpty() && classesFound.equals(new HashSet<>(result.getClasses())));
+			}
+			//The second search is served by the cached result so the criteria are not tested again
+			assertTrue(testedClassesCount.get() == testedClassesCountAfterFirstSearch);
+		});
+	}
+	
+	@Test
+	public void loadInCacheAsyncTestOne() {
+		ComponentSupplier componentSupplier = getComponentSupplier();
+		Collection<String> paths = componentSupplier.getPathHelper().getMainClassPaths();
+		ClassHunter.CacheLoading<Class<?>, ClassHunter.SearchResult> cacheLoading = componentSupplier.getClassHunter().loadInCacheAsync(
+			SearchConfig.forPaths(paths)
+		);
+		testNotEmpty(
+			() -> cacheLoading.findBy(
+				SearchConfig.forPaths(paths).by(
+					ClassCriteria.create().byClasses((uploadedClasses, currentScannedClass) ->
+						uploadedClasses.get(Closeable.class).isAssignableFrom(currentScannedClass)
+					).useClasses(
+						Closeable.class
+					)
+				)
+			),
+			(result) -> {
+				cacheLoading.getReadiness().join();
+				for (String path : paths) {
+					assertTrue(cacheLoading.getReadinessOf(path).isDone());
+				}
+				return result.getClasses();
+			}
+		);
+	}
+	
 	@Test
 	public void cacheTestOne() {
 		ComponentSupplier componentSupplier = getComponentSupplier();
@@ -510,6 +758,51 @@ public class ClassHunterTest extends BaseTest {
 		);
 	}
 	
+	@Test
+	public void cacheTestThree() {
+		ComponentSupplier componentSupplier = getComponentSupplier();
+		CacheableSearchConfig searchConfig = SearchConfig.forPaths(
+			componentSupplier.getPathHelper().getMainClassPaths()
+		).minCachedItemsForParallelTesting(16);
+		testNotEmpty(
+			() -> componentSupplier.getClassHunter().loadInCache(searchConfig).find(),
+			(result) -> result.getClasses()
+		);
+		searchConfig.by(
+			ClassCriteria.create().byClasses((uploadedClasses, currentScannedClass) -> 
+				uploadedClasses.get(Closeable.class).isAssignableFrom(currentScannedClass)
+			).and().byMembers(
+				MethodCriteria.forName((name) -> 
+					name.equals("close")
+				)
+			).useClasses(
+				Closeable.class
+			)
+		);
+		testNotEmpty(
+			() -> componentSupplier.getClassHunter().findBy(searchConfig),
+			(result) -> result.getMembers().values()
+		);
+	}
+	
+	@Test
+	public void cacheTestFour() {
+		ComponentSupplier componentSupplier = getComponentSupplier();
+		Collection<String> paths = componentSupplier.getPathHelper().getMainClassPaths();
+		testNotEmpty(() -> {
+			CompletableFuture<ClassHunter.SearchResult> searchOne = CompletableFuture.supplyAsync(() ->
+				componentSupplier.getClassHunter().findBy(SearchConfig.forPaths(paths))
+			);
+			CompletableFuture<ClassHunter.SearchResult> searchTwo = CompletableFuture.supplyAsync(() ->
+				componentSupplier.getClassHunter().findBy(SearchConfig.forPaths(paths))
+			);
+			try (ClassHunter.SearchResult resultOne = searchOne.join(); ClassHunter.SearchResult resultTwo = searchTwo.join()) {
+				assertTrue(resultOne.getClasses().size() == resultTwo.getClasses().size());
+				return resultOne.getClasses();
+			}
+		});
+	}
+	
 	@Test
 	public void findAllBurningWaveClassesByIsolatedClassLoader() {
 		ComponentSupplier componentSupplier = getComponentSupplier();
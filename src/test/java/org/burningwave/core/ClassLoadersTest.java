@@ -1,8 +1,17 @@
 package org.burningwave.core;
 
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.burningwave.core.assembler.StaticComponentContainer.ClassLoaders;
+import static org.burningwave.core.assembler.StaticComponentContainer.Classes;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.burningwave.core.classes.MemoryClassLoader;
+import org.burningwave.core.iterable.Properties;
+import org.burningwave.core.service.ExtendedService;
+import org.burningwave.core.service.Service;
 import org.junit.jupiter.api.Test;
 
 public class ClassLoadersTest extends BaseTest {
@@ -38,4 +47,21 @@ public class ClassLoadersTest extends BaseTest {
 		});
 	}
 	
+	@Test
+	public void loadOrUploadByteCodesTestOne() {
+		testNotEmpty(() -> {
+			Map<String, ByteBuffer> byteCodes = new HashMap<>();
+			for (Class<?> cls : new Class<?>[] {
+				ExtendedService.class, Service.class, Component.class, ManagedLogger.class, Properties.Listener.class
+			}) {
+				byteCodes.put(cls.getName(), Classes.getByteCode(cls));
+			}
+			MemoryClassLoader classLoader = getMemoryClassLoader();
+			Map<String, Class<?>> classes = ClassLoaders.loadOrUploadByteCodes(byteCodes, classLoader);
+			assertTrue(classes.size() == byteCodes.size());
+			assertTrue(classes.get(ExtendedService.class.getName()).getSuperclass().getClassLoader() == classLoader);
+			return classes.values();
+		});
+	}
+	
 }
@@ -1,12 +1,18 @@
 package org.burningwave.core;
 
+import static org.burningwave.core.assembler.StaticComponentContainer.FileSystemHelper;
+import static org.burningwave.core.assembler.StaticComponentContainer.Paths;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.File;
 import java.util.Collection;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import org.burningwave.core.assembler.ComponentSupplier;
 import org.burningwave.core.io.FileSystemScanner.Scan.Configuration;
+import org.burningwave.core.io.FileSystemWatcher;
 import org.junit.jupiter.api.Test;
 
 public class FileSystemScannerTest extends BaseTest {
@@ -25,7 +31,21 @@ public class FileSystemScannerTest extends BaseTest {
 		findAllClassesTest();
 	}
 	
+	@Test
+	public void findAllClassesInParallelTestOne() {
+		int size = findAllClassesTest(config ->
+			config.setMaxParallelScannedPaths(1).setMinArchiveSizeForParallelEntriesScan(0)
+		).size();
+		assertEquals(findAllClassesTest(config ->
+			config.setMaxParallelScannedPaths(4).setMaxParallelScannedArchives(1).setMinArchiveSizeForParallelEntriesScan(1)
+		).size(), size);
+	}
+	
 	public Collection<String> findAllClassesTest() {
+		return findAllClassesTest(config -> config);
+	}
+	
+	public Collection<String> findAllClassesTest(Function<Configuration, Configuration> configurator) {
 		ComponentSupplier componentSupplier = getComponentSupplier();
 		Collection<String> classFileFounds = ConcurrentHashMap.newKeySet();
 		Collection<String> classZipEntryFounds = ConcurrentHashMap.newKeySet();
@@ -62,7 +82,7 @@ public class FileSystemScannerTest extends BaseTest {
 		).setMaxParallelTasks(8);
 		
 		testNotEmpty(() -> {
-			componentSupplier.getFileSystemScanner().scan(config);
+			componentSupplier.getFileSystemScanner().scan(configurator.apply(config));
 			return allClassesByteCodeFounds;
 		});
 		logInfo("class file founds: " + classFileFounds.size());
@@ -183,4 +203,33 @@ public class FileSystemScannerTest extends BaseTest {
 		});
 		
 	}
+	
+	@Test
+	public void fileSystemWatcherTestOne() {
+		testDoesNotThrow(() -> {
+			File folder = FileSystemHelper.createTemporaryFolder("file-system-watcher-test");
+			File subFolder = new File(folder, "sub-folder");
+			subFolder.mkdirs();
+			Collection<String> notifiedPaths = ConcurrentHashMap.newKeySet();
+			FileSystemWatcher fileSystemWatcher = FileSystemWatcher.create();
+			//The sub folder belongs to both the watched trees
+			assertTrue(fileSystemWatcher.register(folder.getAbsolutePath(), notifiedPaths::add));
+			assertTrue(fileSystemWatcher.register(subFolder.getAbsolutePath(), notifiedPaths::add));
+			new File(subFolder, "first.txt").createNewFile();
+			for (int i = 0; i < 100 && notifiedPaths.size() < 2; i++) {
+				Thread.sleep(100);
+			}
+			assertEquals(2, notifiedPaths.size());
+			fileSystemWatcher.unregister(subFolder.getAbsolutePath());
+			assertTrue(!fileSystemWatcher.isWatched(subFolder.getAbsolutePath()));
+			notifiedPaths.clear();
+			new File(subFolder, "second.txt").createNewFile();
+			for (int i = 0; i < 100 && notifiedPaths.isEmpty(); i++) {
+				Thread.sleep(100);
+			}
+			assertTrue(notifiedPaths.contains(Paths.clean(folder.getAbsolutePath())));
+			assertTrue(!notifiedPaths.contains(Paths.clean(subFolder.getAbsolutePath())));
+			fileSystemWatcher.close();
+		});
+	}
 }
@@ -1,6 +1,17 @@
 package org.burningwave.core;
 
+import static org.burningwave.core.assembler.StaticComponentContainer.Cache;
+import static org.burningwave.core.assembler.StaticComponentContainer.Classes;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.burningwave.core.assembler.ComponentSupplier;
 import org.burningwave.core.classes.MemoryClassLoader;
+import org.burningwave.core.classes.PathScannerClassLoader;
+import org.burningwave.core.function.ThrowingRunnable;
+import org.burningwave.core.io.FileScanConfigAbst;
 import org.burningwave.core.reflection.PropertyAccessor;
 import org.junit.jupiter.api.Test;
 
@@ -28,4 +39,109 @@ public class MemoryClassLoaderTest extends BaseTest {
 		);
 	}
 	
+	@Test
+	public void getResourceAsStreamTestTwo() throws ClassNotFoundException {
+		for (MemoryClassLoader.ByteCodesRetention retention : Arrays.asList(
+			MemoryClassLoader.ByteCodesRetention.COMPRESS, MemoryClassLoader.ByteCodesRetention.STORE_ON_DISK
+		)) {
+			MemoryClassLoader memoryClassLoader = getMemoryClassLoader();
+			memoryClassLoader.setLoadedByteCodesRetention(retention);
+			memoryClassLoader.loadOrUploadClass(PropertyAccessor.class);
+			testNotNull(() ->
+				memoryClassLoader.getResourceAsStream(PropertyAccessor.class.getName().replace(".", "/") + ".class")
+			);
+			memoryClassLoader.close();
+		}
+	}
+	
+	@Test
+	public void loadedByteCodesRetentionTestOne() {
+		String className = ThrowingRunnable.class.getName();
+		for (MemoryClassLoader.ByteCodesRetention retention : MemoryClassLoader.ByteCodesRetention.values()) {
+			RetentionInspectingClassLoader memoryClassLoader = new RetentionInspectingClassLoader();
+			memoryClassLoader.setLoadedByteCodesRetention(retention);
+			memoryClassLoader.addByteCode(className, Classes.getByteCode(ThrowingRunnable.class));
+			testNotNull(() ->
+				memoryClassLoader.loadClass(className)
+			);
+			//Only the kept byte code stays in memory as it is while the other retentions release it once the class is defined
+			assertTrue(memoryClassLoader.getNotLoadedByteCodes(className) == null);
+			assertTrue(memoryClassLoader.isLoadedByteCodeKept(className) == (retention == MemoryClassLoader.ByteCodesRetention.KEEP));
+			assertTrue(memoryClassLoader.isLoadedByteCodeCompressed(className) == (retention == MemoryClassLoader.ByteCodesRetention.COMPRESS));
+			assertTrue(
+				(memoryClassLoader.getResourceAsStream(className.replace(".", "/") + ".class") != null) ==
+				(retention != MemoryClassLoader.ByteCodesRetention.DROP)
+			);
+			memoryClassLoader.close();
+		}
+	}
+	
+	@Test
+	public void loadClassAfterNotFoundTestOne() {
+		MemoryClassLoader memoryClassLoader = getMemoryClassLoader();
+		String className = ThrowingRunnable.class.getName();
+		for (int i = 0; i < 2; i++) {
+			assertThrows(ClassNotFoundException.class, () -> memoryClassLoader.loadClass(className));
+		}
+		memoryClassLoader.addByteCode(className, Classes.getByteCode(ThrowingRunnable.class));
+		testNotNull(() ->
+			memoryClassLoader.loadClass(className)
+		);
+		memoryClassLoader.close();
+	}
+	
+	@Test
+	public void loadClassAfterNotFoundTestTwo() {
+		ComponentSupplier componentSupplier = getComponentSupplier();
+		PathScannerClassLoader pathScannerClassLoader = PathScannerClassLoader.create(
+			null, componentSupplier.getPathHelper(), () -> componentSupplier.getByteCodeHunter(), FileScanConfigAbst.CHECK_FILE_EXTENSION
+		);
+		String notFoundClassName = MemoryClassLoaderTest.class.getPackage().getName() + ".NotExistingClass";
+		assertThrows(ClassNotFoundException.class, () -> pathScannerClassLoader.loadClass(notFoundClassName));
+		//Defining or scanning other classes removes from the not found names only the ones that became available
+		testDoesNotThrow(() -> {
+			pathScannerClassLoader.addByteCode(ThrowingRunnable.class.getName(), Classes.getByteCode(ThrowingRunnable.class));
+			pathScannerClassLoader.loadClass(ThrowingRunnable.class.getName());
+			pathScannerClassLoader.scanPathsAndAddAllByteCodesFound(
+				Arrays.asList(componentSupplier.getPathHelper().getPath((path) -> path.endsWith("target/classes"))), false, 4
+			);
+			pathScannerClassLoader.loadClass(PropertyAccessor.class.getName());
+			assertTrue(Cache.classLoaderForNotFoundClassNames.contains(pathScannerClassLoader, notFoundClassName));
+		});
+		pathScannerClassLoader.close();
+	}
+	
+	@Test
+	public void loadClassFromScannedPathsTestOne() {
+		ComponentSupplier componentSupplier = getComponentSupplier();
+		PathScannerClassLoader pathScannerClassLoader = PathScannerClassLoader.create(
+			null, componentSupplier.getPathHelper(), () -> componentSupplier.getByteCodeHunter(), FileScanConfigAbst.CHECK_FILE_EXTENSION
+		);
+		pathScannerClassLoader.scanPathsAndAddAllByteCodesFound(
+			Arrays.asList(componentSupplier.getPathHelper().getPath((path) -> path.endsWith("target/classes"))), false, 4
+		);
+		testNotNull(() -> {
+			Class<?> cls = pathScannerClassLoader.loadClass(PropertyAccessor.class.getName());
+			assertTrue(cls.getClassLoader() == pathScannerClassLoader);
+			return cls;
+		});
+		pathScannerClassLoader.close();
+	}
+	
+	private static class RetentionInspectingClassLoader extends MemoryClassLoader {
+		
+		private RetentionInspectingClassLoader() {
+			super(null);
+		}
+		
+		private boolean isLoadedByteCodeKept(String className) {
+			return loadedByteCodes.containsKey(className);
+		}
+		
+		private boolean isLoadedByteCodeCompressed(String className) {
+			return compressedLoadedByteCodes.containsKey(className);
+		}
+		
+	}
+	
 }
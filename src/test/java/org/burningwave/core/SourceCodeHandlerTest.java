@@ -1,5 +1,30 @@
 package org.burningwave.core;
 
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+
+import org.junit.jupiter.api.Test;
+
 public class SourceCodeHandlerTest extends BaseTest {
-	
+
+	@Test
+	public void extractImportedPackageNamesTestOne() {
+		testDoesNotThrow(() -> {
+			Collection<String> packageNames = getComponentSupplier().getSourceCodeHandler().extractImportedPackageNames(
+				"package packagename;\n\n" +
+				"import java.util.Map;\n" +
+				"import static org.burningwave.core.assembler.StaticComponentContainer.Paths;\n" +
+				"import org.springframework.core.serializer.*;\n" +
+				"import java.util.Map.Entry;\n\n" +
+				"public class ImportsTest {}"
+			);
+			assertTrue(packageNames.equals(new LinkedHashSet<>(Arrays.asList(
+				"java.util", "org.burningwave.core.assembler", "org.springframework.core.serializer"
+			))));
+		});
+	}
+
 }